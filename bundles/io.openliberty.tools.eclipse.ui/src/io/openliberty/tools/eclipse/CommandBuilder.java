@@ -15,6 +15,10 @@ package io.openliberty.tools.eclipse;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.osgi.util.NLS;
 
 import io.openliberty.tools.eclipse.logging.Trace;
@@ -24,21 +28,53 @@ import io.openliberty.tools.eclipse.utils.Utils;
 
 public class CommandBuilder {
 
+    /** Preference key of the Maven install location. */
+    public static final String MVN_PATH_PREFERENCE = "MVNPATH";
+
+    /** Preference key of the Gradle install location. */
+    public static final String GRADLE_PATH_PREFERENCE = "GRADLEPATH";
+
+    /** Preference key of the indicator to run Maven commands through the Maven Daemon (mvnd). */
+    public static final String MVND_ENABLED_PREFERENCE = "MVND_ENABLED";
+
+    /** Preference key of the Maven Daemon (mvnd) install location. */
+    public static final String MVND_PATH_PREFERENCE = "MVNDPATH";
+
+    /** Preference key of the indicator to stop the Maven daemons when the workbench exits. */
+    public static final String MVND_STOP_ON_EXIT_PREFERENCE = "MVND_STOP_ON_EXIT";
+
     private String projectPath;
 
     private String pathEnv;
 
     private boolean isMaven;
 
+    /**
+     * True if the command may be run through the Maven Daemon. The Maven Daemon hosts the build, and the processes it forks, in
+     * the daemon rather than in the client process that Liberty Tools starts, so it is only used for short-lived goals. Dev mode
+     * sessions, whose process tree is tracked and terminated through the client process, are never run through it.
+     */
+    private boolean allowMavenDaemon;
+
     /**
      * @param pathEnv
      * @param isMaven true for Maven, false for Gradle
      */
     private CommandBuilder(String projectPath, String pathEnv, boolean isMaven) {
+        this(projectPath, pathEnv, isMaven, false);
+    }
+
+    /**
+     * @param pathEnv
+     * @param isMaven true for Maven, false for Gradle
+     * @param allowMavenDaemon true if the command may be run through the Maven Daemon
+     */
+    private CommandBuilder(String projectPath, String pathEnv, boolean isMaven, boolean allowMavenDaemon) {
         super();
         this.projectPath = projectPath;
         this.pathEnv = pathEnv;
         this.isMaven = isMaven;
+        this.allowMavenDaemon = allowMavenDaemon;
     }
 
     /**
@@ -80,14 +116,162 @@ public class CommandBuilder {
         return cmdLine;
     }
 
-    private String getCommand() throws CommandBuilder.CommandNotFoundException {
-        String cmd = getCommandFromWrapper();
-        if (cmd == null) {
-            cmd = getCommandFromPreferences();
+    /**
+     * Returns the Maven command of a short-lived goal as an argument vector suitable for direct process creation (no shell
+     * involved). The command is run through the Maven Daemon if it is enabled and the project has no Maven wrapper.
+     *
+     * @param projectPath The project's path.
+     * @param pathEnv The PATH env var
+     * @param cmdArgs The mvn command args. Each entry is passed to the process as a single argument.
+     *
+     * @return The Maven executable, wrapper, or Maven Daemon executable followed by the input arguments.
+     * 
+     * @throws CommandNotFoundException
+     */
+    public static List<String> getMavenCommand(String projectPath, String pathEnv, String... cmdArgs)
+            throws CommandBuilder.CommandNotFoundException {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projectPath, Arrays.toString(cmdArgs) });
         }
-        if (cmd == null) {
-            cmd = getCommandFromPathEnvVar();
+        CommandBuilder builder = new CommandBuilder(projectPath, pathEnv, true, true);
+        List<String> command = builder.getCommandFromArgs(builder.getCommand(), cmdArgs);
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, command);
         }
+        return command;
+    }
+
+    /**
+     * Returns the Gradle command as an argument vector suitable for direct process creation (no shell involved).
+     *
+     * @param projectPath The project's path.
+     * @param pathEnv The PATH env var
+     * @param cmdArgs The gradle command args. Each entry is passed to the process as a single argument.
+     *
+     * @return The Gradle executable or wrapper followed by the input arguments.
+     * 
+     * @throws CommandNotFoundException
+     */
+    public static List<String> getGradleCommand(String projectPath, String pathEnv, String... cmdArgs)
+            throws CommandBuilder.CommandNotFoundException {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projectPath, Arrays.toString(cmdArgs) });
+        }
+        CommandBuilder builder = new CommandBuilder(projectPath, pathEnv, false);
+        List<String> command = builder.getCommandFromArgs(builder.getCommand(), cmdArgs);
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, command);
+        }
+        return command;
+    }
+
+    /**
+     * Returns the Maven Daemon (mvnd) command as an argument vector suitable for direct process creation (no shell involved).
+     *
+     * @param pathEnv The PATH env var
+     * @param cmdArgs The mvnd command args. Each entry is passed to the process as a single argument.
+     *
+     * @return The mvnd executable followed by the input arguments, or null if mvnd could not be found.
+     */
+    public static List<String> getMavenDaemonCommand(String pathEnv, String... cmdArgs) {
+        CommandBuilder builder = new CommandBuilder(null, pathEnv, true);
+        String cmd = builder.getMavenDaemonCommand(getPreferenceString(MVND_PATH_PREFERENCE));
+        return (cmd == null) ? null : builder.getCommandFromArgs(cmd, cmdArgs);
+    }
+
+    /**
+     * Returns true if Maven commands are run through the Maven Daemon (mvnd). False, otherwise.
+     *
+     * @return True if Maven commands are run through the Maven Daemon (mvnd). False, otherwise.
+     */
+    public static boolean isMavenDaemonEnabled() {
+        return LibertyDevPlugin.getDefault().getPreferenceStore().getBoolean(MVND_ENABLED_PREFERENCE);
+    }
+
+    /**
+     * Splits the input command arguments the way the shell that runs the command line does: on whitespace, except within double
+     * quotes and, on platforms other than Windows, within single quotes or after a backslash. The tokens keep their quotes and
+     * escape characters, so joining them with spaces gives back arguments the shell splits the same way.
+     *
+     * @param cmdArgs The command arguments.
+     *
+     * @return The argument tokens. Empty if the input is null or blank.
+     */
+    public static List<String> getArgumentTokens(String cmdArgs) {
+        List<String> tokens = new ArrayList<String>();
+        if (cmdArgs == null) {
+            return tokens;
+        }
+
+        boolean posix = !Utils.isWindows();
+        StringBuilder token = new StringBuilder();
+        char quote = 0;
+        for (int i = 0; i < cmdArgs.length(); i++) {
+            char c = cmdArgs.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else if (posix && c == '\\' && quote == '"' && i + 1 < cmdArgs.length()) {
+                    token.append(c);
+                    c = cmdArgs.charAt(++i);
+                }
+            } else if (Character.isWhitespace(c)) {
+                if (token.length() > 0) {
+                    tokens.add(token.toString());
+                    token.setLength(0);
+                }
+                continue;
+            } else if (c == '"' || (posix && c == '\'')) {
+                quote = c;
+            } else if (posix && c == '\\' && i + 1 < cmdArgs.length()) {
+                token.append(c);
+                c = cmdArgs.charAt(++i);
+            }
+            token.append(c);
+        }
+
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Returns the value the shell passes to the command for the input argument token: the token without its quotes and escape
+     * characters.
+     *
+     * @param token An argument token returned by {@link #getArgumentTokens(String)}.
+     *
+     * @return The value of the argument token.
+     */
+    public static String getArgumentValue(String token) {
+        boolean posix = !Utils.isWindows();
+        StringBuilder value = new StringBuilder();
+        char quote = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (quote != 0 && c == quote) {
+                quote = 0;
+                continue;
+            } else if (quote == 0 && (c == '"' || (posix && c == '\''))) {
+                quote = c;
+                continue;
+            } else if (posix && c == '\\' && quote != '\'' && i + 1 < token.length()) {
+                c = token.charAt(++i);
+            }
+            value.append(c);
+        }
+
+        return value.toString();
+    }
+
+    private String getCommand() throws CommandBuilder.CommandNotFoundException {
+        // Resolved commands are cached. The preference values and the PATH are part of the cache key.
+        String installLocPref = getInstallLocationPreferenceString();
+        String mvndLocPref = (isMaven && allowMavenDaemon && isMavenDaemonEnabled()) ? getPreferenceString(MVND_PATH_PREFERENCE) : null;
+        String cmd = CommandResolutionCache.getInstance().getCommand(projectPath, isMaven,
+                Arrays.asList(installLocPref, String.valueOf(mvndLocPref)), pathEnv, () -> resolveCommand(installLocPref, mvndLocPref));
 
         if (Trace.isEnabled()) {
             Trace.getTracer().trace(Trace.TRACE_TOOLS, "Command = " + cmd);
@@ -113,6 +297,57 @@ public class CommandBuilder {
         return cmd;
     }
 
+    /**
+     * Returns the command found in the project wrapper, in the install location preference, or in the PATH, in that order. When
+     * the command is run through the Maven Daemon, mvnd is looked up after the project wrapper, so that the Maven version the
+     * project pins through its wrapper is always used.
+     * 
+     * @param installLocPref The install location preference value.
+     * @param mvndLocPref The Maven Daemon install location preference value, or null if Maven commands are not run through the
+     *        Maven Daemon.
+     * 
+     * @return The command found, or null if it was not found.
+     */
+    private String resolveCommand(String installLocPref, String mvndLocPref) {
+        String cmd = getCommandFromWrapper();
+        if (cmd == null && mvndLocPref != null) {
+            cmd = getMavenDaemonCommand(mvndLocPref);
+            if (cmd == null && Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "The Maven Daemon is enabled but mvnd was not found. Falling back to Maven.");
+            }
+        }
+        if (cmd == null) {
+            cmd = getCommandFromPreferences(installLocPref);
+        }
+        if (cmd == null) {
+            cmd = getCommandFromPathEnvVar(getExecBaseName());
+        }
+
+        return cmd;
+    }
+
+    /**
+     * Returns the Maven Daemon executable found in the input install location, or in the PATH.
+     * 
+     * @param mvndLocPref The Maven Daemon install location preference value.
+     * 
+     * @return The Maven Daemon executable, or null if it was not found.
+     */
+    private String getMavenDaemonCommand(String mvndLocPref) {
+        String execName = Utils.isWindows() ? "mvnd.cmd" : "mvnd";
+        if (mvndLocPref != null && !mvndLocPref.isBlank()) {
+            File mvndFile = new File(mvndLocPref + File.separator + "bin" + File.separator + execName);
+            if (mvndFile.exists()) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Found mvnd from preference at path: " + mvndFile.getPath());
+                }
+                return mvndFile.getPath();
+            }
+        }
+
+        return getCommandFromPathEnvVar(execName);
+    }
+
     private String getCommandFromWrapper() {
 
         String cmd = null;
@@ -145,9 +380,8 @@ public class CommandBuilder {
         return cmd;
     }
 
-    private String getCommandFromPreferences() throws IllegalStateException {
+    private String getCommandFromPreferences(String installLocPref) throws IllegalStateException {
 
-        String installLocPref = getInstallLocationPreferenceString();
         if (installLocPref == null || installLocPref.isBlank() || installLocPref.isEmpty()) {
             if (Trace.isEnabled()) {
                 Trace.getTracer().trace(Trace.TRACE_TOOLS, "The mvn/gradle preference path: " + installLocPref + " was null, blank, or empty");
@@ -172,13 +406,12 @@ public class CommandBuilder {
     }
 
     /**
-     * @param base name of executable
+     * @param executableBaseName name of executable
      * 
      * @return
      */
-    private String getCommandFromPathEnvVar() throws IllegalStateException {
+    private String getCommandFromPathEnvVar(String executableBaseName) throws IllegalStateException {
 
-        String executableBaseName = getExecBaseName();
         if (Trace.isEnabled()) {
             Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { executableBaseName, pathEnv });
         }
@@ -222,6 +455,14 @@ public class CommandBuilder {
         return sb.toString();
     }
 
+    private List<String> getCommandFromArgs(String cmd, String... cmdArgs) {
+        List<String> command = new ArrayList<String>(cmdArgs.length + 1);
+        command.add(cmd);
+        command.addAll(Arrays.asList(cmdArgs));
+
+        return command;
+    }
+
     private String getExecBaseName() {
         if (Utils.isWindows()) {
             return isMaven ? "mvn.cmd" : "gradle.bat";
@@ -231,11 +472,11 @@ public class CommandBuilder {
     }
 
     private String getInstallLocationPreferenceString() {
-        if (isMaven) {
-            return LibertyDevPlugin.getDefault().getPreferenceStore().getString("MVNPATH");
-        } else {
-            return LibertyDevPlugin.getDefault().getPreferenceStore().getString("GRADLEPATH");
-        }
+        return getPreferenceString(isMaven ? MVN_PATH_PREFERENCE : GRADLE_PATH_PREFERENCE);
+    }
+
+    private static String getPreferenceString(String key) {
+        return LibertyDevPlugin.getDefault().getPreferenceStore().getString(key);
     }
 
     public class CommandNotFoundException extends Exception {
@@ -0,0 +1,167 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Caches the Maven and Gradle executables or wrappers that CommandBuilder resolves. Entries are keyed by build type, project
+ * path, preference values and PATH, so a change to any of them resolves the command again. Entries are dropped when a wrapper
+ * file is added to or removed from the workspace, or when a build command preference changes. A cached command is
+ * resolved again if it no longer exists.
+ */
+public class CommandResolutionCache implements IResourceChangeListener, IPropertyChangeListener {
+
+    /** Names of the files whose presence determines whether a project uses a build tool wrapper. */
+    public static final List<String> WRAPPER_FILE_NAMES = Arrays.asList("mvnw", "mvnw.cmd", "maven-wrapper.properties", "gradlew",
+            "gradlew.bat", "gradle-wrapper.jar", "gradle-wrapper.properties");
+
+    /** Keys of the preferences that the resolution of build commands depends on. */
+    private static final List<String> BUILD_COMMAND_PREFERENCES = Arrays.asList(CommandBuilder.MVN_PATH_PREFERENCE,
+            CommandBuilder.GRADLE_PATH_PREFERENCE, CommandBuilder.MVND_ENABLED_PREFERENCE, CommandBuilder.MVND_PATH_PREFERENCE);
+
+    /** Single instance of this class. */
+    private static CommandResolutionCache instance;
+
+    /** Resolved commands keyed by resolution input. */
+    private final Map<String, String> commands = new ConcurrentHashMap<String, String>();
+
+    /** Incremented on each invalidation so that commands resolved before an invalidation are not cached after it. */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructor. Only the instance returned by {@link #getInstance()} is registered for preference and workspace changes.
+     */
+    public CommandResolutionCache() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized CommandResolutionCache getInstance() {
+        if (instance == null) {
+            instance = new CommandResolutionCache();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns the command resolved for the input data, resolving it with the input resolver if it is not cached.
+     *
+     * @param projectPath The project's path.
+     * @param isMaven True for Maven, false for Gradle.
+     * @param preferenceValues The values of the preferences that the resolution depends on.
+     * @param pathEnv The PATH env var.
+     * @param resolver The resolver of the command. It returns null if the command is not found.
+     *
+     * @return The resolved command, or null if it was not found.
+     */
+    public String getCommand(String projectPath, boolean isMaven, List<String> preferenceValues, String pathEnv,
+            Supplier<String> resolver) {
+        String key = (isMaven ? "maven" : "gradle") + "\0" + projectPath + "\0" + String.join("\0", preferenceValues) + "\0" + pathEnv;
+
+        String cmd = commands.get(key);
+        if (cmd != null) {
+            if (new File(cmd).exists()) {
+                return cmd;
+            }
+
+            commands.remove(key, cmd);
+        }
+
+        long startGeneration = generation.get();
+        cmd = resolver.get();
+        if (cmd != null) {
+            commands.put(key, cmd);
+            if (generation.get() != startGeneration) {
+                commands.remove(key, cmd);
+            }
+        }
+
+        return cmd;
+    }
+
+    /**
+     * Removes all cached commands.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        commands.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+        String property = event.getProperty();
+        if (BUILD_COMMAND_PREFERENCES.contains(property)) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Preference " + property + " changed. Clearing resolved build commands.");
+            }
+            clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+
+        AtomicBoolean wrapperChanged = new AtomicBoolean();
+        try {
+            delta.accept(child -> {
+                IResource resource = child.getResource();
+                if (resource.getType() == IResource.FILE && (child.getKind() & (IResourceDelta.ADDED | IResourceDelta.REMOVED)) != 0
+                        && WRAPPER_FILE_NAMES.contains(resource.getName())) {
+                    wrapperChanged.set(true);
+                }
+                return !wrapperChanged.get();
+            });
+        } catch (CoreException e) {
+            wrapperChanged.set(true);
+        }
+
+        if (wrapperChanged.get()) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "A build tool wrapper was added or removed. Clearing resolved build commands.");
+            }
+            clear();
+        }
+    }
+}
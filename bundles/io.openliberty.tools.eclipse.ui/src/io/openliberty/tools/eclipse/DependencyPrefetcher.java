@@ -0,0 +1,660 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+
+import io.openliberty.tools.eclipse.Project.BuildType;
+import io.openliberty.tools.eclipse.debug.WorkspaceArtifactIndex;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.launch.JRETab;
+import io.openliberty.tools.eclipse.ui.launch.JavaHomeCache;
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher.RuntimeEnv;
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationIndex;
+import io.openliberty.tools.eclipse.utils.ProcessRunner;
+
+/**
+ * Resolves the build and plugin dependencies of Liberty server modules in the background, so that the first dev mode start of a
+ * project does not spend its time downloading them in the terminal. Prefetches run one at a time in low priority jobs, using the
+ * same Maven or Gradle command and Java installation that dev mode uses. When a prefetch succeeds, and the user opted in, dev mode
+ * is started offline once the Liberty runtime of the project is installed.
+ *
+ * A prefetch is scheduled when a project is classified as a Liberty server module, and again when one of its build files
+ * changes. Each prefetch is recorded with its duration and artifact count. A failed prefetch is retried with an increasing delay.
+ *
+ * Offline starts only cover the dependencies declared when the prefetch ran. A dependency added while dev mode runs offline, or a
+ * plugin dependency that is only resolved when a goal first runs, such as a test provider, is not available until dev mode is
+ * restarted.
+ */
+public class DependencyPrefetcher implements IResourceChangeListener, IPropertyChangeListener {
+
+    /** Family used to identify the prefetch jobs. */
+    public static final Object JOB_FAMILY = DependencyPrefetcher.class;
+
+    /** Preference that enables the prefetch of dependencies. */
+    public static final String PREFETCH_PREFERENCE = "PREFETCH_DEPENDENCIES";
+
+    /** Preference that enables offline dev mode starts after a successful prefetch. */
+    public static final String OFFLINE_START_PREFERENCE = "OFFLINE_START_AFTER_PREFETCH";
+
+    /** Maven arguments that resolve the project's dependencies and plugins. */
+    public static final String[] MAVEN_PREFETCH_ARGS = new String[] { "-B", "dependency:go-offline" };
+
+    /** Gradle task, added by the prefetch init script, that downloads the files of the project's dependencies. */
+    public static final String GRADLE_PREFETCH_TASK = "libertyToolsPrefetch";
+
+    /** Prefix of the lines in which the Gradle prefetch task reports a resolved file. */
+    public static final String GRADLE_PREFETCHED_FILE_PREFIX = "Liberty Tools prefetched: ";
+
+    /** Name of the Gradle prefetch init script in the plugin state location. */
+    private static final String GRADLE_INIT_SCRIPT_NAME = "prefetch-init.gradle";
+
+    /**
+     * Gradle init script that adds the prefetch task to all projects. The task resolves the files, not only the metadata, of the
+     * build script classpath and of every resolvable configuration, and fails if any of them cannot be resolved.
+     */
+    private static final String GRADLE_INIT_SCRIPT = String.join("\n", //
+            "allprojects {", //
+            "    tasks.register('" + GRADLE_PREFETCH_TASK + "') {", //
+            "        def configurations = [project.buildscript.configurations.classpath]", //
+            "        configurations.addAll(project.configurations.findAll { it.canBeResolved })", //
+            "        doLast {", //
+            "            def failures = []", //
+            "            configurations.each { configuration ->", //
+            "                def artifacts = configuration.incoming.artifactView { lenient = true }.artifacts", //
+            "                artifacts.artifactFiles.each { println '" + GRADLE_PREFETCHED_FILE_PREFIX + "' + it }", //
+            "                failures.addAll(artifacts.failures)", //
+            "            }", //
+            "            if (!failures.isEmpty()) {", //
+            "                throw new GradleException('Unable to resolve: ' + failures*.message.join(', '))", //
+            "            }", //
+            "        }", //
+            "    }", //
+            "}", //
+            "");
+
+    /** Maven offline argument. */
+    public static final String MAVEN_OFFLINE_ARG = "-o";
+
+    /** Gradle offline argument. */
+    public static final String GRADLE_OFFLINE_ARG = "--offline";
+
+    /** Location of the Liberty runtime installed by the Liberty Maven plugin, relative to the project. */
+    public static final String MAVEN_RUNTIME_PATH = "target/liberty/wlp";
+
+    /** Location of the Liberty runtime installed by the Liberty Gradle plugin, relative to the project. */
+    public static final String GRADLE_RUNTIME_PATH = "build/wlp";
+
+    /** Build files whose changes can affect the dependencies of a project. */
+    private static final Set<String> BUILD_FILE_NAMES = new HashSet<String>();
+
+    static {
+        BUILD_FILE_NAMES.add("pom.xml");
+        BUILD_FILE_NAMES.addAll(Arrays.asList(WorkspaceArtifactIndex.GRADLE_BUILD_FILE_NAMES));
+    }
+
+    /** Maximum time a prefetch may run. */
+    private static final int PREFETCH_TIMEOUT_MINUTES = 30;
+
+    /** Delay before a failed prefetch is retried. The delay doubles with each consecutive failure. */
+    private static final int RETRY_DELAY_MINUTES = 5;
+
+    /** Maximum delay before a failed prefetch is retried. */
+    private static final int MAX_RETRY_DELAY_MINUTES = 240;
+
+    /** Number of output bytes retained from a prefetch. Large enough to count the artifacts of most builds. */
+    private static final int PREFETCH_OUTPUT_CAPACITY = 1024 * 1024;
+
+    /** Maven output line reporting a downloaded artifact. */
+    private static final Pattern MAVEN_DOWNLOAD_PATTERN = Pattern.compile("(?m)^\\[INFO\\] Downloaded from ");
+
+    /** Gradle prefetch task output line reporting a resolved file. */
+    private static final Pattern GRADLE_PREFETCHED_FILE_PATTERN = Pattern
+            .compile("(?m)^" + Pattern.quote(GRADLE_PREFETCHED_FILE_PREFIX) + "(\\S.*?)\\s*$");
+
+    /** Single instance of this class. */
+    private static DependencyPrefetcher instance;
+
+    /** Scheduling rule that runs the prefetches one at a time. */
+    private final ISchedulingRule serialRule = new ISchedulingRule() {
+
+        @Override
+        public boolean contains(ISchedulingRule rule) {
+            return rule == this;
+        }
+
+        @Override
+        public boolean isConflicting(ISchedulingRule rule) {
+            return rule == this;
+        }
+    };
+
+    /** The latest prefetch record of each project, keyed by project name. */
+    private final Map<String, PrefetchRecord> records = new ConcurrentHashMap<String, PrefetchRecord>();
+
+    /** Scheduled or running prefetch jobs, keyed by project name. */
+    private final Map<String, PrefetchJob> jobs = new ConcurrentHashMap<String, PrefetchJob>();
+
+    /**
+     * Constructor.
+     */
+    private DependencyPrefetcher() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized DependencyPrefetcher getInstance() {
+        if (instance == null) {
+            instance = new DependencyPrefetcher();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Schedules the prefetch of the dependencies of the input Liberty server module if prefetching is enabled and its
+     * dependencies were not already prefetched. After a failed prefetch, nothing is scheduled until its retry time.
+     *
+     * @param project The Liberty server module.
+     */
+    public void schedule(Project project) {
+        if (!isEnabled(PREFETCH_PREFERENCE) || !project.isLibertyServerModule()) {
+            return;
+        }
+
+        String projectName = project.getName();
+        PrefetchRecord record = records.get(projectName);
+        if (record != null && (record.isSucceeded() || System.currentTimeMillis() < record.getRetryTime())) {
+            return;
+        }
+
+        jobs.computeIfAbsent(projectName, name -> {
+            PrefetchJob job = new PrefetchJob(project);
+            job.schedule();
+            return job;
+        });
+    }
+
+    /**
+     * Returns the latest prefetch record of the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return The latest prefetch record of the input project, or null if its dependencies were not prefetched.
+     */
+    public PrefetchRecord getRecord(String projectName) {
+        return records.get(projectName);
+    }
+
+    /**
+     * Returns the input start parameters with the offline argument of the project's build tool if offline starts are enabled, the
+     * dependencies of the project were prefetched successfully, and the Liberty runtime of the project is installed. The runtime
+     * is not prefetched, so dev mode must download it online on the first start.
+     *
+     * @param project The project.
+     * @param startParms The start parameters.
+     *
+     * @return The start parameters to use.
+     */
+    public String addOfflineParms(Project project, String startParms) {
+        PrefetchRecord record = records.get(project.getName());
+        if (record == null || !record.isSucceeded() || !isEnabled(OFFLINE_START_PREFERENCE)) {
+            return startParms;
+        }
+
+        boolean maven = project.getBuildType() == BuildType.MAVEN;
+        String runtimePath = maven ? MAVEN_RUNTIME_PATH : GRADLE_RUNTIME_PATH;
+        if (!Files.isDirectory(Paths.get(project.getPath(), runtimePath))) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Starting project " + project.getName()
+                        + " online. The Liberty runtime is not installed at " + runtimePath);
+            }
+            return startParms;
+        }
+
+        String offlineArg = maven ? MAVEN_OFFLINE_ARG : GRADLE_OFFLINE_ARG;
+        for (String token : CommandBuilder.getArgumentTokens(startParms)) {
+            String parm = CommandBuilder.getArgumentValue(token);
+            if (parm.equals(MAVEN_OFFLINE_ARG) || parm.equals(GRADLE_OFFLINE_ARG)) {
+                return startParms;
+            }
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Starting project " + project.getName() + " offline. Prefetch: " + record);
+        }
+
+        return startParms.isEmpty() ? offlineArg : offlineArg + " " + startParms;
+    }
+
+    /**
+     * Cancels the prefetch jobs.
+     */
+    public void cancel() {
+        Job.getJobManager().cancel(JOB_FAMILY);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+        if (!PREFETCH_PREFERENCE.equals(event.getProperty())) {
+            return;
+        }
+
+        if (Boolean.parseBoolean(String.valueOf(event.getNewValue()))) {
+            // Retry failed prefetches right away.
+            records.values().removeIf(record -> !record.isSucceeded());
+            WorkspaceProjectsModel projectModel = DevModeOperations.getInstance().getProjectModel();
+            for (String projectName : projectModel.getSortedDashboardProjectList()) {
+                Project project = projectModel.getProject(projectName);
+                if (project != null) {
+                    schedule(project);
+                }
+            }
+        } else {
+            cancel();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null || records.isEmpty()) {
+            return;
+        }
+
+        // Build files are at the root of the projects, so only the first two levels of the delta are inspected.
+        for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+            IResource resource = projectDelta.getResource();
+            if (resource.getType() != IResource.PROJECT || !records.containsKey(resource.getName())) {
+                continue;
+            }
+
+            boolean buildFileChanged = projectDelta.getKind() == IResourceDelta.REMOVED;
+            for (IResourceDelta fileDelta : projectDelta.getAffectedChildren()) {
+                if (fileDelta.getResource().getType() == IResource.FILE && BUILD_FILE_NAMES.contains(fileDelta.getResource().getName())) {
+                    buildFileChanged = true;
+                    break;
+                }
+            }
+
+            if (buildFileChanged) {
+                // The new dependencies may not be available offline. Prefetch them again.
+                records.remove(resource.getName());
+                Project project = DevModeOperations.getInstance().getProjectModel().getProject(resource.getName());
+                if (project != null && ((IProject) resource).isOpen()) {
+                    schedule(project);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of artifacts reported in the output of a prefetch. For Maven, it is the number of artifacts downloaded.
+     * For Gradle, it is the number of distinct files resolved.
+     *
+     * @param buildType The build type.
+     * @param output The prefetch output.
+     *
+     * @return The number of artifacts reported in the output of a prefetch.
+     */
+    public static int countArtifacts(BuildType buildType, String output) {
+        if (buildType == BuildType.MAVEN) {
+            int count = 0;
+            Matcher matcher = MAVEN_DOWNLOAD_PATTERN.matcher(output);
+            while (matcher.find()) {
+                count++;
+            }
+            return count;
+        }
+
+        Set<String> files = new HashSet<String>();
+        Matcher matcher = GRADLE_PREFETCHED_FILE_PATTERN.matcher(output);
+        while (matcher.find()) {
+            files.add(matcher.group(1));
+        }
+        return files.size();
+    }
+
+    /**
+     * Returns the Gradle prefetch init script, writing it to the plugin state location if it is missing or out of date.
+     *
+     * @return The path of the Gradle prefetch init script.
+     *
+     * @throws IOException
+     */
+    private static synchronized Path getGradleInitScript() throws IOException {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        if (plugin == null) {
+            throw new IOException("The plugin is not active.");
+        }
+
+        Path scriptPath = plugin.getStateLocation().append(GRADLE_INIT_SCRIPT_NAME).toFile().toPath();
+        byte[] script = GRADLE_INIT_SCRIPT.getBytes(StandardCharsets.UTF_8);
+        if (Files.isRegularFile(scriptPath) && Arrays.equals(script, Files.readAllBytes(scriptPath))) {
+            return scriptPath;
+        }
+
+        Path tempPath = scriptPath.resolveSibling(GRADLE_INIT_SCRIPT_NAME + ".tmp");
+        Files.write(tempPath, script);
+        Files.move(tempPath, scriptPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return scriptPath;
+    }
+
+    /**
+     * Returns true if the input boolean preference is set.
+     *
+     * @param preference The preference key.
+     *
+     * @return True if the input boolean preference is set. False, otherwise.
+     */
+    private static boolean isEnabled(String preference) {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return plugin != null && plugin.getPreferenceStore().getBoolean(preference);
+    }
+
+    /**
+     * Result of the prefetch of the dependencies of a project.
+     */
+    public static class PrefetchRecord {
+
+        /** The project name. */
+        private final String projectName;
+
+        /** The time at which the prefetch started. */
+        private final long startTime;
+
+        /** The duration of the prefetch in milliseconds. */
+        private final long durationMs;
+
+        /** The exit value of the build command. -1 if it did not complete. */
+        private final int exitValue;
+
+        /** The number of artifacts reported in the output of the build command. */
+        private final int artifactCount;
+
+        /** The number of consecutive failed prefetches of the project, including this one. 0 if the prefetch succeeded. */
+        private final int failureCount;
+
+        /**
+         * Constructor.
+         *
+         * @param projectName The project name.
+         * @param startTime The time at which the prefetch started.
+         * @param durationMs The duration of the prefetch in milliseconds.
+         * @param exitValue The exit value of the build command. -1 if it did not complete.
+         * @param artifactCount The number of artifacts reported in the output of the build command.
+         * @param failureCount The number of consecutive failed prefetches of the project, including this one.
+         */
+        public PrefetchRecord(String projectName, long startTime, long durationMs, int exitValue, int artifactCount,
+                int failureCount) {
+            this.projectName = projectName;
+            this.startTime = startTime;
+            this.durationMs = durationMs;
+            this.exitValue = exitValue;
+            this.artifactCount = artifactCount;
+            this.failureCount = failureCount;
+        }
+
+        /**
+         * Returns the project name.
+         *
+         * @return The project name.
+         */
+        public String getProjectName() {
+            return projectName;
+        }
+
+        /**
+         * Returns the time at which the prefetch started.
+         *
+         * @return The time at which the prefetch started.
+         */
+        public long getStartTime() {
+            return startTime;
+        }
+
+        /**
+         * Returns the duration of the prefetch in milliseconds.
+         *
+         * @return The duration of the prefetch in milliseconds.
+         */
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        /**
+         * Returns the exit value of the build command.
+         *
+         * @return The exit value of the build command. -1 if it did not complete.
+         */
+        public int getExitValue() {
+            return exitValue;
+        }
+
+        /**
+         * Returns the number of artifacts reported in the output of the build command.
+         *
+         * @return The number of artifacts reported in the output of the build command.
+         */
+        public int getArtifactCount() {
+            return artifactCount;
+        }
+
+        /**
+         * Returns true if the build command completed successfully.
+         *
+         * @return True if the build command completed successfully. False, otherwise.
+         */
+        public boolean isSucceeded() {
+            return exitValue == 0;
+        }
+
+        /**
+         * Returns the number of consecutive failed prefetches of the project, including this one.
+         *
+         * @return The number of consecutive failed prefetches of the project. 0 if the prefetch succeeded.
+         */
+        public int getFailureCount() {
+            return failureCount;
+        }
+
+        /**
+         * Returns the time after which a failed prefetch may be retried. The delay doubles with each consecutive failure.
+         *
+         * @return The time after which a failed prefetch may be retried.
+         */
+        public long getRetryTime() {
+            long delayMinutes = MAX_RETRY_DELAY_MINUTES;
+            if (failureCount < 16) {
+                delayMinutes = Math.min(MAX_RETRY_DELAY_MINUTES, (long) RETRY_DELAY_MINUTES << Math.max(0, failureCount - 1));
+            }
+
+            return startTime + durationMs + TimeUnit.MINUTES.toMillis(delayMinutes);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "Project: " + projectName + ". Start time: " + startTime + ". Duration: " + durationMs + " ms. Exit value: " + exitValue
+                    + ". Artifacts: " + artifactCount + ". Failures: " + failureCount;
+        }
+    }
+
+    /**
+     * Prefetches the dependencies of a project.
+     */
+    private class PrefetchJob extends Job {
+
+        /** The project. */
+        private final Project project;
+
+        PrefetchJob(Project project) {
+            super("Prefetching the dependencies of " + project.getName());
+            this.project = project;
+            setSystem(true);
+            setPriority(Job.DECORATE);
+            setRule(serialRule);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean belongsTo(Object family) {
+            return JOB_FAMILY == family;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            try {
+                prefetch(monitor);
+            } finally {
+                jobs.remove(project.getName(), this);
+            }
+
+            return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+        }
+
+        /**
+         * Runs the build command that resolves the project's dependencies and records the result.
+         *
+         * @param monitor The progress monitor.
+         */
+        private void prefetch(IProgressMonitor monitor) {
+            String projectName = project.getName();
+            String projectPath = project.getPath();
+            long startTime = System.currentTimeMillis();
+            ProcessRunner.Execution execution = null;
+            int exitValue = -1;
+            int artifactCount = 0;
+
+            try {
+                String pathEnv = System.getenv("PATH");
+                List<String> cmd = (project.getBuildType() == BuildType.MAVEN)
+                        ? CommandBuilder.getMavenCommand(projectPath, pathEnv, MAVEN_PREFETCH_ARGS)
+                        : CommandBuilder.getGradleCommand(projectPath, pathEnv, "--console=plain", "--init-script",
+                                getGradleInitScript().toString(), GRADLE_PREFETCH_TASK);
+
+                Map<String, String> env = new HashMap<String, String>();
+                env.put("JAVA_HOME", getJavaHome());
+
+                execution = new ProcessRunner(cmd, new File(projectPath), env, PREFETCH_OUTPUT_CAPACITY).start();
+                long deadline = startTime + TimeUnit.MINUTES.toMillis(PREFETCH_TIMEOUT_MINUTES);
+                ProcessRunner.Result result = null;
+                while (result == null) {
+                    if (monitor.isCanceled() || System.currentTimeMillis() > deadline) {
+                        execution.destroy();
+                        break;
+                    }
+                    try {
+                        result = execution.getCompletion().get(1, TimeUnit.SECONDS);
+                    } catch (TimeoutException e) {
+                        // Check for cancellation and wait again.
+                    }
+                }
+
+                if (result != null) {
+                    exitValue = result.getExitValue();
+                    artifactCount = countArtifacts(project.getBuildType(), result.getOutput());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (execution != null) {
+                    execution.destroy();
+                }
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to prefetch the dependencies of project " + projectName, e);
+                }
+            }
+
+            PrefetchRecord previous = records.get(projectName);
+            int failureCount = 0;
+            if (exitValue != 0) {
+                failureCount = (previous == null || previous.isSucceeded()) ? 1 : previous.getFailureCount() + 1;
+            }
+            PrefetchRecord record = new PrefetchRecord(projectName, startTime, System.currentTimeMillis() - startTime, exitValue,
+                    artifactCount, failureCount);
+            records.put(projectName, record);
+
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Dependency prefetch completed. " + record);
+            }
+        }
+
+        /**
+         * Returns the Java installation that dev mode uses for the project: the JRE of the project's last run Liberty launch
+         * configuration, or the JRE of the project's Java build path if the project was never started.
+         *
+         * @return The Java installation used to run the build command.
+         *
+         * @throws Exception
+         */
+        private String getJavaHome() throws Exception {
+            ILaunchConfiguration configuration = LaunchConfigurationIndex.getInstance().getLastRunConfiguration(project.getName(),
+                    RuntimeEnv.UNKNOWN);
+            if (configuration != null) {
+                return JRETab.resolveJavaHome(configuration);
+            }
+
+            JavaHomeCache javaHomeCache = JavaHomeCache.getInstance();
+            return javaHomeCache.getJavaHome(javaHomeCache.getBuildPathJreContainer(project.getIProject()));
+        }
+    }
+}
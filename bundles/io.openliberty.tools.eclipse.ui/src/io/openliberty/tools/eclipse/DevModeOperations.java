@@ -12,17 +12,18 @@
 *******************************************************************************/
 package io.openliberty.tools.eclipse;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -48,6 +49,7 @@ import org.eclipse.ui.browser.IWorkbenchBrowserSupport;
 import io.openliberty.tools.eclipse.CommandBuilder.CommandNotFoundException;
 import io.openliberty.tools.eclipse.Project.BuildType;
 import io.openliberty.tools.eclipse.debug.DebugModeHandler;
+import io.openliberty.tools.eclipse.debug.DebugPortAllocator;
 import io.openliberty.tools.eclipse.logging.Logger;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
@@ -57,6 +59,7 @@ import io.openliberty.tools.eclipse.ui.terminal.ProjectTab.State;
 import io.openliberty.tools.eclipse.ui.terminal.ProjectTabController;
 import io.openliberty.tools.eclipse.ui.terminal.TerminalListener;
 import io.openliberty.tools.eclipse.utils.ErrorHandler;
+import io.openliberty.tools.eclipse.utils.ProcessRunner;
 
 /**
  * Provides the implementation of all supported dev mode operations.
@@ -78,6 +81,9 @@ public class DevModeOperations {
     public static final String MVN_RUN_APP_LOG_FILE = "io.openliberty.tools.eclipse.mvnlogfilename";
 
     private static final int STOP_TIMEOUT_SECONDS = 60;
+
+    /** Time to wait for the Maven daemons to stop. */
+    public static final int MVND_STOP_TIMEOUT_SECONDS = 10;
     protected static final QualifiedName STOP_JOB_COMPLETION_TIMEOUT = new QualifiedName("io.openliberty.tools.eclipse.ui",
             "stopJobCompletionTimeout");
     protected static final QualifiedName STOP_JOB_COMPLETION_EXIT_CODE = new QualifiedName("io.openliberty.tools.eclipse.ui",
@@ -172,6 +178,11 @@ public class DevModeOperations {
         // Check if the start action has already been issued.
         String projectName = iProject.getName();
 
+        // In debug mode, start each server module of a parent with several of them in its own dev mode session.
+        if (ILaunchManager.DEBUG_MODE.equals(mode) && startServerModules(iProject, parms, javaHomePath, launch, mode)) {
+            return;
+        }
+
         // Check if the start action has already been issued.
         State terminalState = projectTabController.getTerminalState(projectName);
         if (terminalState != null && terminalState == ProjectTab.State.STARTED) {
@@ -222,6 +233,9 @@ public class DevModeOperations {
                 startParms = userParms;
             }
 
+            // Start offline if the project's dependencies were prefetched.
+            startParms = DependencyPrefetcher.getInstance().addOfflineParms(project, startParms);
+
             // Prepare the Liberty plugin container dev mode command.
             String cmd = "";
             BuildType buildType = project.getBuildType();
@@ -247,11 +261,13 @@ public class DevModeOperations {
             if (Trace.isEnabled()) {
                 Trace.getTracer().trace(Trace.TRACE_TOOLS, msg, e);
             }
+            DebugPortAllocator.getInstance().release(projectName);
             return;
         } catch (Exception e) {
             if (Trace.isEnabled()) {
                 Trace.getTracer().trace(Trace.TRACE_TOOLS, "An error was detected during the start request on project " + projectName, e);
             }
+            DebugPortAllocator.getInstance().release(projectName);
             ErrorHandler.processErrorMessage(NLS.bind(Messages.start_general_error, projectName), e, true);
             return;
         }
@@ -261,6 +277,105 @@ public class DevModeOperations {
         }
     }
 
+    /**
+     * Starts each server module of the input project in its own dev mode session if the input project is the parent of more than
+     * one server module. Each session leases its own debug port, and the debugger is attached to all of them concurrently, in the
+     * input launch. The time until all servers can be debugged is then the start time of the slowest server rather than the sum
+     * of the start times of all servers.
+     * 
+     * @param iProject The project instance to associate with this action.
+     * @param parms The configuration parameters to be used when starting dev mode.
+     * @param javaHomePath The configuration java installation home to be set in the terminal running dev mode.
+     * @param launch The launch to which the debug targets are added.
+     * @param mode The configuration mode.
+     * 
+     * @return True if the server modules of the input project were started. False if the input project is not the parent of more
+     *         than one server module.
+     */
+    private boolean startServerModules(IProject iProject, String parms, String javaHomePath, ILaunch launch, String mode) {
+        Project project = projectModel.getProject(iProject.getName());
+        if (project == null || !project.isParentOfServerModule()) {
+            return false;
+        }
+
+        List<Project> serverModules = project.getChildLibertyServerProjects();
+        if (serverModules.size() < 2) {
+            return false;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Starting the server modules of project " + iProject.getName() + " in debug mode: "
+                    + serverModules);
+        }
+
+        String moduleParms = debugModeHandler.removeDebugPortFromStartParms(project, parms);
+        for (Project serverModule : serverModules) {
+            start(serverModule.getIProject(), getServerModuleStartParms(serverModule, moduleParms), javaHomePath, launch, mode);
+        }
+
+        return true;
+    }
+
+    /**
+     * Stops the dev mode sessions of the server modules of the input project, if the input project is the parent of server
+     * modules started by {@link #startServerModules}.
+     * 
+     * @param iProject The parent project.
+     * 
+     * @return True if the sessions of one or more server modules were stopped. False, otherwise.
+     */
+    private boolean stopServerModules(IProject iProject) {
+        Project project = projectModel.getProject(iProject.getName());
+        if (project == null || !project.isParentOfServerModule()) {
+            return false;
+        }
+
+        boolean stopped = false;
+        for (Project serverModule : project.getChildLibertyServerProjects()) {
+            if (projectTabController.getProjectConnector(serverModule.getIProject().getName()) != null) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                            "Stopping server module " + serverModule.getIProject().getName() + " of project " + iProject.getName());
+                }
+                stop(serverModule.getIProject());
+                stopped = true;
+            }
+        }
+
+        return stopped;
+    }
+
+    /**
+     * Returns the start parameters of a server module started by {@link #startServerModules}. A Maven server module is built
+     * through the reactor of its aggregator, from the aggregator POM with -pl and -am, so that the sibling modules it depends on
+     * are resolved from the reactor rather than from the local repository, unless the input parameters already select the POM or
+     * the modules to build. Gradle server modules already run within the build of the root project's settings.
+     * 
+     * @param serverModule The server module.
+     * @param parms The start parameters of the parent project, without the debug port.
+     * 
+     * @return The start parameters of the server module.
+     */
+    private String getServerModuleStartParms(Project serverModule, String parms) {
+        if (serverModule.getBuildType() != BuildType.MAVEN) {
+            return parms;
+        }
+
+        for (String token : CommandBuilder.getArgumentTokens(parms)) {
+            String value = CommandBuilder.getArgumentValue(token);
+            if (value.equals("-f") || value.startsWith("--file") || value.equals("-pl") || value.startsWith("--projects")) {
+                return parms;
+            }
+        }
+
+        String reactorParms = MavenReactorGraph.getInstance().getStartParameters(serverModule.getPath());
+        if (reactorParms == null) {
+            return parms;
+        }
+
+        return (parms == null || parms.trim().isEmpty()) ? reactorParms : reactorParms + " " + parms.trim();
+    }
+
     /**
      * Starts the Liberty server in dev mode in a container.
      * 
@@ -362,6 +477,7 @@ public class DevModeOperations {
             if (Trace.isEnabled()) {
                 Trace.getTracer().trace(Trace.TRACE_TOOLS, msg, e);
             }
+            DebugPortAllocator.getInstance().release(projectName);
             ErrorHandler.processErrorMessage(NLS.bind(Messages.start_container_general_error, projectName), e, true);
             return;
         }
@@ -401,6 +517,11 @@ public class DevModeOperations {
 
         // Check if the stop action has already been issued of if a start action was never issued before.
         if (projectTabController.getProjectConnector(projectName) == null) {
+            // A parent whose server modules were started together has no session of its own. Stop the sessions of its modules.
+            if (stopServerModules(iProject)) {
+                return;
+            }
+
             String msg = NLS.bind(Messages.stop_already_issued, projectName);
             handleStopActionError(projectName, msg);
 
@@ -420,8 +541,14 @@ public class DevModeOperations {
         }
 
         try {
-            // Issue the command on the terminal.
-            projectTabController.writeToTerminalStream(projectName, DEVMODE_COMMAND_EXIT.getBytes());
+            // Issue the command on the terminal. The dev mode process tree is terminated if dev mode does not exit in time (i.e.
+            // exit is ignored while dev mode is starting). Repeated requests for a session already being shut down are ignored.
+            ProjectTab projectTab = projectTabController.getProjectTab(projectName);
+            if (projectTab != null) {
+                projectTabController.exitDevModeOnTerminalTab(projectName, projectTab);
+            } else {
+                projectTabController.writeToTerminalStream(projectName, DEVMODE_COMMAND_EXIT.getBytes());
+            }
 
             // The command to exit dev mode was issued. Set the internal project tab state to STOPPED as
             // indication that the stop command was issued. The project's terminal tab UI will be marked as closed (title and state
@@ -478,6 +605,11 @@ public class DevModeOperations {
 
         // Check if the stop action has already been issued of if a start action was never issued before.
         if (projectTabController.getProjectConnector(projectName) == null) {
+            // A parent whose server modules were started together has no session of its own. Stop the sessions of its modules.
+            if (stopServerModules(iProject)) {
+                return;
+            }
+
             String msg = "No start request was issued first or the stop request was already issued on project " + projectName
                     + ". Issue a start request before you issue the run tests request.";
             if (Trace.isEnabled()) {
@@ -821,14 +953,14 @@ public class DevModeOperations {
             // Of course we'd have to be smart enough to know this were the case in order to issue such a warning
 
             // Build the command.
-            String cmd = "";
+            List<String> cmd;
             String buildTypeName;
             BuildType buildType = project.getBuildType();
             if (buildType == Project.BuildType.MAVEN) {
-                cmd = CommandBuilder.getMavenCommandLine(projectPath, "io.openliberty.tools:liberty-maven-plugin:stop", pathEnv, false);
+                cmd = CommandBuilder.getMavenCommand(projectPath, pathEnv, "io.openliberty.tools:liberty-maven-plugin:stop");
                 buildTypeName = "Maven";
             } else if (buildType == Project.BuildType.GRADLE) {
-                cmd = CommandBuilder.getGradleCommandLine(projectPath, "libertyStop", pathEnv, false);
+                cmd = CommandBuilder.getGradleCommand(projectPath, pathEnv, "libertyStop");
                 buildTypeName = "Gradle";
             } else {
                 throw new Exception("Unexpected project build type: " + buildType + ". Project " + projectName
@@ -836,11 +968,8 @@ public class DevModeOperations {
             }
 
             // Issue the command.
-            String[] cmdParts = cmd.split(" ");
-            ProcessBuilder pb = new ProcessBuilder(cmdParts);
-            pb.directory(new File(projectPath));
-            pb.redirectErrorStream(true);
-            pb.environment().put("JAVA_HOME", JavaRuntime.getDefaultVMInstall().getInstallLocation().getAbsolutePath());
+            ProcessRunner processRunner = new ProcessRunner(cmd, new File(projectPath),
+                    Map.of("JAVA_HOME", JavaRuntime.getDefaultVMInstall().getInstallLocation().getAbsolutePath()));
 
             /*
              * Per: https://stackoverflow.com/questions/29793071/rcp-no-progress-dialog-when-starting-a-job it seems that job.setUser(true)
@@ -848,6 +977,9 @@ public class DevModeOperations {
              */
             Job job = new Job("Stopping server via " + buildTypeName + " plugin") {
 
+                /** The running stop command. */
+                private volatile ProcessRunner.Execution execution;
+
                 @Override
                 protected IStatus run(IProgressMonitor monitor) {
 
@@ -856,37 +988,41 @@ public class DevModeOperations {
                     }
 
                     try {
-                        Process p = pb.start();
-
-                        boolean completed = false;
+                        execution = processRunner.start();
+                        ProcessRunner.Result result = execution.getCompletion().get(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
 
-                        for (int elapsed = 0; completed == false && elapsed < STOP_TIMEOUT_SECONDS; elapsed++) {
-                            if (monitor.isCanceled()) {
-                                p.destroy();
-                                return Status.CANCEL_STATUS;
-                            }
-                            completed = p.waitFor(1, TimeUnit.SECONDS);
+                        if (Trace.isEnabled()) {
+                            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Stop command completed. Result: " + result);
                         }
 
-                        if (!completed) {
-                            setProperty(STOP_JOB_COMPLETION_TIMEOUT, Boolean.TRUE);
-                        } else {
-                            setProperty(STOP_JOB_COMPLETION_EXIT_CODE, p.exitValue());
-                            if (p.exitValue() != 0) {
-                                BufferedReader reader = new BufferedReader(new InputStreamReader(p.getInputStream()));
-                                StringBuilder builder = new StringBuilder();
-                                String line = null;
-                                while ((line = reader.readLine()) != null) {
-                                    builder.append(line);
-                                    builder.append(System.getProperty("line.separator"));
-                                }
-                                setProperty(STOP_JOB_COMPLETION_OUTPUT, builder.toString());
-                            }
+                        setProperty(STOP_JOB_COMPLETION_EXIT_CODE, result.getExitValue());
+                        if (result.getExitValue() != 0) {
+                            setProperty(STOP_JOB_COMPLETION_OUTPUT, result.getOutput());
                         }
+                    } catch (TimeoutException e) {
+                        execution.destroy();
+                        setProperty(STOP_JOB_COMPLETION_TIMEOUT, Boolean.TRUE);
+                    } catch (CancellationException | ExecutionException e) {
+                        if (monitor.isCanceled()) {
+                            return Status.CANCEL_STATUS;
+                        }
+                        ErrorHandler.processErrorMessage(NLS.bind(Messages.plugin_stop_issue_error, null), e, false);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return Status.CANCEL_STATUS;
                     } catch (Exception e) {
                         ErrorHandler.processErrorMessage(NLS.bind(Messages.plugin_stop_issue_error, null), e, false);
                     }
-                    return Status.OK_STATUS;
+
+                    return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+                }
+
+                @Override
+                protected void canceling() {
+                    ProcessRunner.Execution running = execution;
+                    if (running != null) {
+                        running.destroy();
+                    }
                 }
 
             };
@@ -1082,6 +1218,15 @@ public class DevModeOperations {
         }
     }
 
+    /**
+     * Returns the debug mode handler.
+     *
+     * @return The debug mode handler.
+     */
+    public DebugModeHandler getDebugModeHandler() {
+        return debugModeHandler;
+    }
+
     public DashboardView getDashboardView() {
         return dashboardView;
     }
@@ -1137,4 +1282,45 @@ public class DevModeOperations {
         // Cancel will remove job from 'runningJobs' Map
         runningJobs.keySet().forEach(j -> j.cancel());
     }
+
+    /**
+     * Stops the Maven daemons (mvnd) that ran the stop and dependency prefetch commands, and waits for them to exit.
+     * 
+     * @return True if the daemons were stopped. False if mvnd was not found or the stop command did not complete successfully.
+     */
+    public boolean stopMavenDaemons() {
+        List<String> cmd = CommandBuilder.getMavenDaemonCommand(pathEnv, "--stop");
+        if (cmd == null) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "The Maven Daemon (mvnd) executable was not found. No-op.");
+            }
+            return false;
+        }
+
+        ProcessRunner.Execution execution = null;
+        try {
+            execution = new ProcessRunner(cmd, new File(System.getProperty("user.home")), null).start();
+            ProcessRunner.Result result = execution.getCompletion().get(MVND_STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Maven daemon stop command completed. Result: " + result);
+            }
+
+            return result.getExitValue() == 0;
+        } catch (TimeoutException e) {
+            execution.destroy();
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                        "The Maven daemon stop command timed out after " + MVND_STOP_TIMEOUT_SECONDS + " seconds.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to stop the Maven daemons.", e);
+            }
+        }
+
+        return false;
+    }
 }
@@ -0,0 +1,451 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.messages.Messages;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTab;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTabController;
+import io.openliberty.tools.eclipse.utils.LatencyHistogram;
+
+/**
+ * Measures the inner loop latency of projects running in dev mode: the time between a Java source file being saved in the
+ * workspace and the running Liberty server reporting that the application was updated. Samples are kept per project in a fixed
+ * size histogram.
+ */
+public class InnerLoopLatencyTracker implements IResourceChangeListener {
+
+    /** Family used to identify the jobs that wait for application update messages. */
+    public static final Object JOB_FAMILY = InnerLoopLatencyTracker.class;
+
+    /** Liberty message issued when an application is updated. */
+    public static final String APP_UPDATED_MSG_ID = "CWWKZ0003I";
+
+    /** Liberty message issued when an application is started. Dev mode restarts the application on some changes. */
+    public static final String APP_STARTED_MSG_ID = "CWWKZ0001I";
+
+    /** Liberty server messages log file name. */
+    public static final String MESSAGES_LOG_FILE_NAME = "messages.log";
+
+    /** Name of the server directory that holds the server logs. */
+    private static final String LOGS_DIR_NAME = "logs";
+
+    /** Interval between reads of the messages log while an update is pending. */
+    private static final long POLL_INTERVAL_MS = 250;
+
+    /** Time after the last save after which a pending update is discarded (i.e. the change failed to compile). */
+    private static final long PENDING_UPDATE_TIMEOUT_MS = 5 * 60 * 1000;
+
+    /** Single instance of this class. */
+    private static InnerLoopLatencyTracker instance;
+
+    /** Latency histograms keyed by project name. */
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<String, LatencyHistogram>();
+
+    /** Saves waiting for an application update message, keyed by project name. */
+    private final Map<String, PendingUpdate> pendingUpdates = new ConcurrentHashMap<String, PendingUpdate>();
+
+    /**
+     * Constructor.
+     */
+    private InnerLoopLatencyTracker() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized InnerLoopLatencyTracker getInstance() {
+        if (instance == null) {
+            instance = new InnerLoopLatencyTracker();
+        }
+
+        return instance;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+
+        List<Project> runningProjects = getRunningProjects();
+        if (runningProjects.isEmpty()) {
+            return;
+        }
+
+        List<IFile> savedFiles = new ArrayList<IFile>();
+        try {
+            delta.accept(resourceDelta -> {
+                IResource resource = resourceDelta.getResource();
+                if (resource.getType() == IResource.FILE) {
+                    if ("java".equals(resource.getFileExtension()) && (resourceDelta.getKind() == IResourceDelta.ADDED
+                            || (resourceDelta.getKind() == IResourceDelta.CHANGED
+                                    && (resourceDelta.getFlags() & IResourceDelta.CONTENT) != 0))) {
+                        savedFiles.add((IFile) resource);
+                    }
+                    return false;
+                }
+                return true;
+            });
+        } catch (CoreException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to process resource delta: " + delta, e);
+            }
+            return;
+        }
+
+        for (IFile savedFile : savedFiles) {
+            Project project = findRunningProject(runningProjects, savedFile);
+            if (project != null) {
+                long saveTime = savedFile.getLocalTimeStamp();
+                if (saveTime == IResource.NULL_STAMP) {
+                    saveTime = System.currentTimeMillis();
+                }
+                recordSave(project, saveTime);
+            }
+        }
+    }
+
+    /**
+     * Records the save of a source file in a project running in dev mode. The latency sample is recorded when the server
+     * reports the application update. Subsequent saves before the update is reported restart the measurement, as the update
+     * must include the latest change before it is served.
+     *
+     * @param project The project running in dev mode.
+     * @param saveTime The time at which the file was saved.
+     */
+    private void recordSave(Project project, long saveTime) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { project.getName(), saveTime });
+        }
+
+        String projectName = project.getName();
+        PendingUpdate pending = pendingUpdates.get(projectName);
+        if (pending != null) {
+            pending.saveTime = Math.max(pending.saveTime, saveTime);
+        } else {
+            Path messagesLog = getMessagesLogPath(project);
+            if (messagesLog == null) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                            "The messages.log file for project " + projectName + " was not found. The save is not tracked.");
+                }
+                return;
+            }
+
+            pending = new PendingUpdate(messagesLog, messagesLog.toFile().length(), saveTime);
+            pendingUpdates.put(projectName, pending);
+            new UpdateMatcherJob(projectName, pending).schedule();
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, pending);
+        }
+    }
+
+    /**
+     * Returns the latency histogram associated with the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return The latency histogram associated with the input project, or null if no samples were recorded for it.
+     */
+    public LatencyHistogram getHistogram(String projectName) {
+        return histograms.get(projectName);
+    }
+
+    /**
+     * Returns a summary of the latencies recorded for the input project, suitable for display.
+     *
+     * @param projectName The project name.
+     *
+     * @return A summary of the latencies recorded for the input project, or null if no samples were recorded for it.
+     */
+    public String getSummary(String projectName) {
+        LatencyHistogram histogram = histograms.get(projectName);
+        if (histogram == null || histogram.getCount() == 0) {
+            return null;
+        }
+
+        return NLS.bind(Messages.inner_loop_latency_summary, new Object[] { histogram.getCount(), histogram.getPercentile(50),
+                histogram.getPercentile(95), histogram.getPercentile(99) });
+    }
+
+    /**
+     * Cancels all pending latency measurements.
+     */
+    public void cancelPendingUpdates() {
+        pendingUpdates.clear();
+        Job.getJobManager().cancel(JOB_FAMILY);
+    }
+
+    /**
+     * Returns the projects on the dashboard that are currently running in dev mode.
+     *
+     * @return The projects on the dashboard that are currently running in dev mode.
+     */
+    private List<Project> getRunningProjects() {
+        WorkspaceProjectsModel projectModel = DevModeOperations.getInstance().getProjectModel();
+        ProjectTabController tabController = ProjectTabController.getInstance();
+        List<Project> runningProjects = new ArrayList<Project>();
+
+        for (String projectName : projectModel.getSortedDashboardProjectList()) {
+            if (isRunning(tabController, projectName)) {
+                Project project = projectModel.getProject(projectName);
+                if (project != null && project.getPath() != null) {
+                    runningProjects.add(project);
+                }
+            }
+        }
+
+        return runningProjects;
+    }
+
+    /**
+     * Returns true if dev mode is running on a terminal tab associated with the input project. False, otherwise.
+     *
+     * @param tabController The terminal tab controller.
+     * @param projectName The project name.
+     *
+     * @return True if dev mode is running on a terminal tab associated with the input project. False, otherwise.
+     */
+    private static boolean isRunning(ProjectTabController tabController, String projectName) {
+        ProjectTab projectTab = tabController.getProjectTab(projectName);
+        return projectTab != null && projectTab.getState() == ProjectTab.State.STARTED;
+    }
+
+    /**
+     * Returns the running project whose location contains the input file. If more than one does, the innermost project is
+     * returned.
+     *
+     * @param runningProjects The projects running in dev mode.
+     * @param file The saved file.
+     *
+     * @return The running project whose location contains the input file, or null if there is none.
+     */
+    private static Project findRunningProject(List<Project> runningProjects, IFile file) {
+        IPath fileLocation = file.getLocation();
+        if (fileLocation == null) {
+            return null;
+        }
+
+        Path filePath = Paths.get(fileLocation.toOSString());
+        Project match = null;
+        int matchLength = -1;
+        for (Project project : runningProjects) {
+            Path projectPath = Paths.get(project.getPath());
+            if (filePath.startsWith(projectPath) && projectPath.getNameCount() > matchLength) {
+                match = project;
+                matchLength = projectPath.getNameCount();
+            }
+        }
+
+        return match;
+    }
+
+    /**
+     * Returns the path of the messages.log file written by the Liberty server associated with the input project. For multi-module
+     * projects, the server configured by the child server module is used. If more than one log is found, the most recently updated
+     * one is returned.
+     *
+     * @param project The project running in dev mode.
+     *
+     * @return The path of the messages.log file, or null if it was not found.
+     */
+    private static Path getMessagesLogPath(Project project) {
+        // The log is expected under <servers>/<server name>/logs/messages.log.
+        Optional<Path> latest = ServerDirectoryIndex.getInstance().getServers(project).stream()
+                .map(server -> server.getServerPath().resolve(LOGS_DIR_NAME).resolve(MESSAGES_LOG_FILE_NAME)).filter(Files::isRegularFile)
+                .max(Comparator.comparingLong(path -> path.toFile().lastModified()));
+        return latest.orElse(null);
+    }
+
+    /**
+     * Records a latency sample for the input project.
+     *
+     * @param projectName The project name.
+     * @param latency The latency in milliseconds.
+     */
+    private void recordLatency(String projectName, long latency) {
+        LatencyHistogram histogram = histograms.computeIfAbsent(projectName, k -> new LatencyHistogram());
+        histogram.record(latency);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                    "Inner loop latency for project " + projectName + ": " + latency + " ms. Histogram: " + histogram);
+        }
+    }
+
+    /**
+     * A save waiting for the associated application update message.
+     */
+    private static class PendingUpdate {
+
+        /** The messages.log file written by the server. */
+        final Path messagesLog;
+
+        /** The position in the messages.log file from which to read new messages. */
+        long offset;
+
+        /** The time of the latest save included in the pending update. */
+        volatile long saveTime;
+
+        PendingUpdate(Path messagesLog, long offset, long saveTime) {
+            this.messagesLog = messagesLog;
+            this.offset = offset;
+            this.saveTime = saveTime;
+        }
+
+        @Override
+        public String toString() {
+            return "messagesLog: " + messagesLog + ". offset: " + offset + ". saveTime: " + saveTime;
+        }
+    }
+
+    /**
+     * Reads the messages written to the server's messages.log file after a save until the application update message is found.
+     */
+    private class UpdateMatcherJob extends Job {
+
+        /** The project name. */
+        private final String projectName;
+
+        /** The pending update being matched. */
+        private final PendingUpdate pending;
+
+        UpdateMatcherJob(String projectName, PendingUpdate pending) {
+            super("Liberty inner loop latency: " + projectName);
+            this.projectName = projectName;
+            this.pending = pending;
+            setSystem(true);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean belongsTo(Object family) {
+            return JOB_FAMILY == family;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            try {
+                ProjectTabController tabController = ProjectTabController.getInstance();
+                while (!monitor.isCanceled() && isRunning(tabController, projectName)) {
+                    long now = System.currentTimeMillis();
+                    if (readUpdateMessage()) {
+                        recordLatency(projectName, now - pending.saveTime);
+                        break;
+                    }
+
+                    if (now - pending.saveTime > PENDING_UPDATE_TIMEOUT_MS) {
+                        if (Trace.isEnabled()) {
+                            Trace.getTracer().trace(Trace.TRACE_TOOLS, "No application update was reported for project " + projectName
+                                    + " within " + PENDING_UPDATE_TIMEOUT_MS + " ms of the last save. Discarding: " + pending);
+                        }
+                        break;
+                    }
+
+                    Thread.sleep(POLL_INTERVAL_MS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read " + pending.messagesLog, e);
+                }
+            } finally {
+                pendingUpdates.remove(projectName, pending);
+            }
+
+            return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+        }
+
+        /**
+         * Reads the complete lines written to the messages.log file since the last read and returns true if one of them reports
+         * that the application was updated.
+         *
+         * @return True if the application update message was found. False, otherwise.
+         *
+         * @throws IOException
+         */
+        private boolean readUpdateMessage() throws IOException {
+            File logFile = pending.messagesLog.toFile();
+            if (!logFile.exists()) {
+                return false;
+            }
+
+            try (RandomAccessFile raf = new RandomAccessFile(logFile, "r")) {
+                long length = raf.length();
+                if (length < pending.offset) {
+                    // The log was rolled over.
+                    pending.offset = 0;
+                }
+                if (length == pending.offset) {
+                    return false;
+                }
+
+                byte[] bytes = new byte[(int) Math.min(length - pending.offset, Integer.MAX_VALUE)];
+                raf.seek(pending.offset);
+                raf.readFully(bytes);
+
+                // Only consume complete lines. A partially written line is read again on the next pass.
+                int end = bytes.length;
+                while (end > 0 && bytes[end - 1] != '\n') {
+                    end--;
+                }
+                pending.offset += end;
+
+                String content = new String(bytes, 0, end, StandardCharsets.UTF_8);
+                return content.contains(APP_UPDATED_MSG_ID) || content.contains(APP_STARTED_MSG_ID);
+            }
+        }
+    }
+}
@@ -13,11 +13,19 @@
 package io.openliberty.tools.eclipse;
 
 import java.util.Hashtable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.debug.core.JDIDebugModel;
+import org.eclipse.jdt.launching.JavaRuntime;
+import org.eclipse.m2e.core.MavenPlugin;
 import org.eclipse.osgi.service.debug.DebugOptions;
 import org.eclipse.osgi.service.debug.DebugOptionsListener;
 import org.eclipse.swt.custom.CTabFolder;
@@ -37,10 +45,18 @@ import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
 
+import io.openliberty.tools.eclipse.debug.GradleConnectionPool;
+import io.openliberty.tools.eclipse.debug.HotCodeReplaceMonitor;
+import io.openliberty.tools.eclipse.debug.SourceContainerCache;
+import io.openliberty.tools.eclipse.debug.WorkspaceArtifactIndex;
 import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.launch.JavaHomeCache;
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationIndex;
+import io.openliberty.tools.eclipse.ui.launch.LaunchRunTimeJournal;
 import io.openliberty.tools.eclipse.ui.launch.StartTab;
 import io.openliberty.tools.eclipse.ui.terminal.ProjectTab;
 import io.openliberty.tools.eclipse.ui.terminal.ProjectTabController;
+import io.openliberty.tools.eclipse.ui.terminal.ShutdownCoordinator;
 import io.openliberty.tools.eclipse.utils.Utils;
 
 /**
@@ -90,11 +106,33 @@ public class LibertyDevPlugin extends AbstractUIPlugin {
 
         // Register a workspace listener for cleanup.
         registerListeners();
+
+        // Look for Liberty servers left running by dev mode sessions that did not end cleanly.
+        OrphanedServerDetector.getInstance().scheduleScan();
     }
 
     @Override
     public void stop(BundleContext context) throws Exception {
+        // Exit dev mode on the sessions that are still active. Sessions that were already being shut down, for example because
+        // the terminal view was closed, get the same shorter deadline. Sessions that do not exit in time have their process trees
+        // terminated. The Maven daemons are stopped at the same time, if requested. The wait for both is bounded, and UI events
+        // keep being processed while waiting so that shutdown work that needs the UI thread can complete.
+        ShutdownCoordinator.getInstance().shortenShutdowns(ShutdownCoordinator.EXIT_SHUTDOWN_TIMEOUT_SECONDS);
+        ProjectTabController.getInstance().processTerminalViewCleanup(ShutdownCoordinator.EXIT_SHUTDOWN_TIMEOUT_SECONDS);
+        CompletableFuture<Void> exitWork = ShutdownCoordinator.getInstance().getShutdowns();
+        if (CommandBuilder.isMavenDaemonEnabled() && getPreferenceStore().getBoolean(CommandBuilder.MVND_STOP_ON_EXIT_PREFERENCE)) {
+            exitWork = CompletableFuture.allOf(exitWork,
+                    CompletableFuture.runAsync(() -> DevModeOperations.getInstance().stopMavenDaemons()));
+        }
+        Utils.await(exitWork, ShutdownCoordinator.MAX_EXIT_SECONDS, TimeUnit.SECONDS);
+
         DevModeOperations.getInstance().cancelRunningJobs();
+        InnerLoopLatencyTracker.getInstance().cancelPendingUpdates();
+        OrphanedServerDetector.getInstance().cancelJobs();
+        ServerDirectoryIndex.getInstance().close();
+        GradleConnectionPool.getInstance().close();
+        LaunchRunTimeJournal.getInstance().close();
+        LaunchConfigurationIndex.getInstance().dispose();
         unregisterListeners();
         plugin = null;
         super.stop(context);
@@ -145,6 +183,22 @@ public class LibertyDevPlugin extends AbstractUIPlugin {
         IWorkspace iWorkspace = ResourcesPlugin.getWorkspace();
         resourceChangeListener = new LibertyResourceChangeListener();
         iWorkspace.addResourceChangeListener(resourceChangeListener, IResourceChangeEvent.PRE_BUILD);
+        iWorkspace.addResourceChangeListener(InnerLoopLatencyTracker.getInstance(), IResourceChangeEvent.POST_CHANGE);
+        iWorkspace.addResourceChangeListener(SourceContainerCache.getInstance(), IResourceChangeEvent.POST_CHANGE);
+        JavaCore.addElementChangedListener(SourceContainerCache.getInstance(), ElementChangedEvent.POST_CHANGE);
+        iWorkspace.addResourceChangeListener(GradleConnectionPool.getInstance(), IResourceChangeEvent.POST_CHANGE);
+        iWorkspace.addResourceChangeListener(WorkspaceArtifactIndex.getInstance(), IResourceChangeEvent.POST_CHANGE);
+        iWorkspace.addResourceChangeListener(CommandResolutionCache.getInstance(), IResourceChangeEvent.POST_CHANGE);
+        getPreferenceStore().addPropertyChangeListener(CommandResolutionCache.getInstance());
+        iWorkspace.addResourceChangeListener(DependencyPrefetcher.getInstance(), IResourceChangeEvent.POST_CHANGE);
+        getPreferenceStore().addPropertyChangeListener(DependencyPrefetcher.getInstance());
+        MavenPlugin.getMavenProjectRegistry().addMavenProjectChangedListener(WorkspaceArtifactIndex.getInstance());
+        MavenPlugin.getMavenProjectRegistry().addMavenProjectChangedListener(MavenReactorGraph.getInstance());
+        MavenReactorGraph.getInstance().initialize();
+        JDIDebugModel.addHotCodeReplaceListener(HotCodeReplaceMonitor.getInstance());
+        DebugPlugin.getDefault().addDebugEventListener(HotCodeReplaceMonitor.getInstance());
+        JavaRuntime.addVMInstallChangedListener(JavaHomeCache.getInstance());
+        JavaCore.addElementChangedListener(JavaHomeCache.getInstance(), ElementChangedEvent.POST_CHANGE);
 
         if (Trace.isEnabled()) {
             Trace.getTracer().traceExit(Trace.TRACE_TOOLS, resourceChangeListener);
@@ -287,6 +341,27 @@ public class LibertyDevPlugin extends AbstractUIPlugin {
 
         IWorkspace iWorkspace = ResourcesPlugin.getWorkspace();
         iWorkspace.removeResourceChangeListener(resourceChangeListener);
+        iWorkspace.removeResourceChangeListener(InnerLoopLatencyTracker.getInstance());
+        iWorkspace.removeResourceChangeListener(SourceContainerCache.getInstance());
+        JavaCore.removeElementChangedListener(SourceContainerCache.getInstance());
+        SourceContainerCache.getInstance().clear();
+        iWorkspace.removeResourceChangeListener(GradleConnectionPool.getInstance());
+        iWorkspace.removeResourceChangeListener(WorkspaceArtifactIndex.getInstance());
+        MavenPlugin.getMavenProjectRegistry().removeMavenProjectChangedListener(WorkspaceArtifactIndex.getInstance());
+        WorkspaceArtifactIndex.getInstance().clear();
+        MavenPlugin.getMavenProjectRegistry().removeMavenProjectChangedListener(MavenReactorGraph.getInstance());
+        MavenReactorGraph.getInstance().clear();
+        iWorkspace.removeResourceChangeListener(CommandResolutionCache.getInstance());
+        getPreferenceStore().removePropertyChangeListener(CommandResolutionCache.getInstance());
+        CommandResolutionCache.getInstance().clear();
+        iWorkspace.removeResourceChangeListener(DependencyPrefetcher.getInstance());
+        getPreferenceStore().removePropertyChangeListener(DependencyPrefetcher.getInstance());
+        DependencyPrefetcher.getInstance().cancel();
+        JDIDebugModel.removeHotCodeReplaceListener(HotCodeReplaceMonitor.getInstance());
+        DebugPlugin.getDefault().removeDebugEventListener(HotCodeReplaceMonitor.getInstance());
+        JavaRuntime.removeVMInstallChangedListener(JavaHomeCache.getInstance());
+        JavaCore.removeElementChangedListener(JavaHomeCache.getInstance());
+        JavaHomeCache.getInstance().clear();
 
         if (Trace.isEnabled()) {
             Trace.getTracer().traceExit(Trace.TRACE_TOOLS, iWorkspace);
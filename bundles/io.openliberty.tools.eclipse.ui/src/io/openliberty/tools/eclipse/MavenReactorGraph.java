@@ -0,0 +1,520 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Parent;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Graph of the Maven reactors of the workspace, built from the projects registered with m2e. It is used to compute the start
+ * parameters of a server module that is part of a multi-module build: the aggregator POM at the top of the reactor, the module
+ * to build, whether the modules it depends on must also be built, and the number of threads to build them with.
+ *
+ * The modules are read from m2e by a background job, so that queries made on the UI thread never read a project. Until the
+ * job completes, queries return null and callers fall back to their default parameters. After that, only the modules of the
+ * Maven projects that m2e reports as added, changed, or removed, which includes changes to POM files, are read again, on the
+ * thread that m2e notifies listeners on. The graph itself is rebuilt from the modules in memory when it is next queried,
+ * without reading any project.
+ */
+public class MavenReactorGraph implements IMavenProjectChangedListener {
+
+    /** Job family of the jobs scheduled by this class. */
+    public static final Object JOB_FAMILY = MavenReactorGraph.class;
+
+    /** Single instance of this class. */
+    private static MavenReactorGraph instance;
+
+    /** The modules of the Maven projects registered with m2e, keyed by project. Null if they were not read yet. */
+    private Map<IProject, Module> modules;
+
+    /** The current graph. Null if it needs to be built. */
+    private volatile Graph graph;
+
+    /**
+     * Incremented when the graph is cleared or when m2e reports changes before the modules are read, so that a read that was in
+     * progress is not published.
+     */
+    private int generation;
+
+    /** Job that reads the modules of all the Maven projects registered with m2e. */
+    private final Job readModulesJob;
+
+    /**
+     * Constructor.
+     */
+    private MavenReactorGraph() {
+        readModulesJob = new Job("Reading Maven reactor modules") {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                return readModules(this, monitor);
+            }
+
+            @Override
+            public boolean belongsTo(Object family) {
+                return family == JOB_FAMILY;
+            }
+        };
+        readModulesJob.setSystem(true);
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized MavenReactorGraph getInstance() {
+        if (instance == null) {
+            instance = new MavenReactorGraph();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns the dev mode start parameters of the module at the input location.
+     *
+     * @param modulePath The path of the module's directory.
+     *
+     * @return The start parameters, or null if the module is not part of a reactor known to m2e or if the modules were not read
+     *         yet.
+     */
+    public String getStartParameters(String modulePath) {
+        Graph current = getGraph();
+        return (current == null) ? null : current.getStartParameters(Paths.get(modulePath), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Schedules the read of the modules, if they were not read yet, so that they are ready by the time the graph is first
+     * queried.
+     */
+    public synchronized void initialize() {
+        if (modules == null) {
+            readModulesJob.schedule();
+        }
+    }
+
+    /**
+     * Drops the graph and its modules, and cancels the read in progress. They are read again when the graph is next queried.
+     */
+    public synchronized void clear() {
+        generation++;
+        readModulesJob.cancel();
+        modules = null;
+        graph = null;
+    }
+
+    /**
+     * {@inheritDoc} Only the modules of the changed projects are read again.
+     */
+    @Override
+    public void mavenProjectChanged(List<MavenProjectChangedEvent> events, IProgressMonitor monitor) {
+        synchronized (this) {
+            if (modules == null) {
+                // The modules were not read yet. They are read in full by the read job, which reads them again if it was already
+                // in progress.
+                generation++;
+                return;
+            }
+        }
+
+        // Read the changed projects outside the lock so that queries are not blocked while m2e resolves them.
+        Map<IProject, Module> updates = new HashMap<IProject, Module>();
+        for (MavenProjectChangedEvent event : events) {
+            IMavenProjectFacade oldFacade = event.getOldMavenProject();
+            if (oldFacade != null) {
+                updates.put(oldFacade.getProject(), null);
+            }
+
+            // The event of a removed project has no new m2e project.
+            IMavenProjectFacade facade = event.getMavenProject();
+            if (facade != null) {
+                updates.put(facade.getProject(), readModule(facade, monitor));
+            }
+        }
+
+        synchronized (this) {
+            if (modules == null) {
+                return;
+            }
+
+            for (Map.Entry<IProject, Module> update : updates.entrySet()) {
+                if (update.getValue() == null) {
+                    modules.remove(update.getKey());
+                } else {
+                    modules.put(update.getKey(), update.getValue());
+                }
+            }
+            graph = null;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Maven projects changed. Updated the Maven reactor modules of " + updates.keySet());
+        }
+    }
+
+    /**
+     * Returns the current graph, building it from the modules in memory if needed. If the modules were not read yet, schedules
+     * the job that reads them.
+     *
+     * @return The current graph, or null if the modules were not read yet.
+     */
+    private synchronized Graph getGraph() {
+        Graph current = graph;
+        if (current != null) {
+            return current;
+        }
+
+        if (modules == null) {
+            // Do not schedule another read if one is already waiting or running.
+            if (readModulesJob.getState() == Job.NONE) {
+                readModulesJob.schedule();
+            }
+            return null;
+        }
+
+        long startTime = System.currentTimeMillis();
+        current = new Graph(modules.values());
+        graph = current;
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                    "Maven reactor graph built in " + (System.currentTimeMillis() - startTime) + " ms. Modules: " + modules.size());
+        }
+
+        return current;
+    }
+
+    /**
+     * Reads the modules of all the Maven projects registered with m2e and publishes them, unless the graph was cleared or m2e
+     * reported changes in the meantime, in which case the modules are read again.
+     *
+     * @param job The read job.
+     * @param monitor The progress monitor.
+     *
+     * @return The status of the read.
+     */
+    private IStatus readModules(Job job, IProgressMonitor monitor) {
+        int startGeneration;
+        synchronized (this) {
+            if (modules != null) {
+                return Status.OK_STATUS;
+            }
+            startGeneration = generation;
+        }
+
+        long startTime = System.currentTimeMillis();
+        Map<IProject, Module> readModules = new HashMap<IProject, Module>();
+        for (IMavenProjectFacade facade : MavenPlugin.getMavenProjectRegistry().getProjects()) {
+            if (monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+
+            Module module = readModule(facade, monitor);
+            if (module != null) {
+                readModules.put(facade.getProject(), module);
+            }
+        }
+
+        synchronized (this) {
+            if (monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+
+            if (generation != startGeneration) {
+                job.schedule();
+                return Status.OK_STATUS;
+            }
+
+            modules = readModules;
+            graph = null;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Maven reactor modules read in " + (System.currentTimeMillis() - startTime)
+                    + " ms. Modules: " + readModules.size());
+        }
+
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Returns the graph module of the input m2e project.
+     *
+     * @param facade The m2e project.
+     * @param monitor The progress monitor.
+     *
+     * @return The graph module of the input m2e project, or null if the project could not be read.
+     */
+    private static Module readModule(IMavenProjectFacade facade, IProgressMonitor monitor) {
+        try {
+            MavenProject mavenProject = facade.getMavenProject(monitor);
+            if (mavenProject != null && mavenProject.getBasedir() != null) {
+                return toModule(mavenProject);
+            }
+        } catch (Exception e) {
+            // Leave the project out of the graph.
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read Maven project " + facade.getProject().getName(), e);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the graph module of the input Maven project.
+     *
+     * @param mavenProject The Maven project.
+     *
+     * @return The graph module of the input Maven project.
+     */
+    private static Module toModule(MavenProject mavenProject) {
+        Set<String> upstreamKeys = new HashSet<String>();
+        Parent parent = (mavenProject.getModel() == null) ? null : mavenProject.getModel().getParent();
+        if (parent != null) {
+            upstreamKeys.add(getKey(parent.getGroupId(), parent.getArtifactId()));
+        }
+
+        if (mavenProject.getDependencies() != null) {
+            for (Dependency dependency : mavenProject.getDependencies()) {
+                upstreamKeys.add(getKey(dependency.getGroupId(), dependency.getArtifactId()));
+            }
+        }
+
+        List<String> moduleNames = (mavenProject.getModules() == null) ? Collections.<String> emptyList() : mavenProject.getModules();
+        return new Module(mavenProject.getBasedir().toPath(), getKey(mavenProject.getGroupId(), mavenProject.getArtifactId()),
+                moduleNames, upstreamKeys);
+    }
+
+    /**
+     * Returns the graph key of the input coordinates.
+     *
+     * @param groupId The group id.
+     * @param artifactId The artifact id.
+     *
+     * @return The graph key of the input coordinates.
+     */
+    public static String getKey(String groupId, String artifactId) {
+        return groupId + ":" + artifactId;
+    }
+
+    /**
+     * A Maven module of the graph.
+     */
+    public static class Module {
+
+        /** The module's directory. */
+        private final Path dir;
+
+        /** The module's groupId:artifactId key. */
+        private final String key;
+
+        /** The module entries of the module's POM. */
+        private final List<String> moduleNames;
+
+        /** The groupId:artifactId keys of the module's parent and dependencies. */
+        private final Set<String> upstreamKeys;
+
+        /**
+         * Constructor.
+         *
+         * @param dir The module's directory.
+         * @param key The module's groupId:artifactId key.
+         * @param moduleNames The module entries of the module's POM.
+         * @param upstreamKeys The groupId:artifactId keys of the module's parent and dependencies.
+         */
+        public Module(Path dir, String key, List<String> moduleNames, Set<String> upstreamKeys) {
+            this.dir = dir.toAbsolutePath().normalize();
+            this.key = key;
+            this.moduleNames = moduleNames;
+            this.upstreamKeys = upstreamKeys;
+        }
+    }
+
+    /**
+     * Immutable reactor graph.
+     */
+    public static class Graph {
+
+        /** Modules keyed by directory. */
+        private final Map<Path, Module> modulesByDir = new HashMap<Path, Module>();
+
+        /** Modules keyed by groupId:artifactId. */
+        private final Map<String, Module> modulesByKey = new HashMap<String, Module>();
+
+        /** Directories of the aggregators keyed by the directory of the modules they list. */
+        private final Map<Path, Path> aggregatorsByModuleDir = new HashMap<Path, Path>();
+
+        /**
+         * Constructor.
+         *
+         * @param modules The modules of the graph.
+         */
+        public Graph(Collection<Module> modules) {
+            for (Module module : modules) {
+                modulesByDir.put(module.dir, module);
+                modulesByKey.put(module.key, module);
+            }
+
+            for (Module module : modules) {
+                for (String moduleName : module.moduleNames) {
+                    Path moduleDir = module.dir.resolve(moduleName).normalize();
+                    if (moduleDir.getFileName() != null && moduleDir.getFileName().toString().endsWith(".xml")) {
+                        moduleDir = moduleDir.getParent();
+                    }
+                    aggregatorsByModuleDir.put(moduleDir, module.dir);
+                }
+            }
+        }
+
+        /**
+         * Returns the dev mode start parameters of the module at the input location: the aggregator POM at the top of its
+         * reactor, the module itself, -am if it depends on other modules of the reactor, and -T if some of them can be built in
+         * parallel.
+         *
+         * @param moduleDir The module's directory.
+         * @param cores The number of available cores.
+         *
+         * @return The start parameters, or null if the module is not part of a reactor of the graph.
+         */
+        public String getStartParameters(Path moduleDir, int cores) {
+            Path dir = moduleDir.toAbsolutePath().normalize();
+            Module module = modulesByDir.get(dir);
+            if (module == null || !aggregatorsByModuleDir.containsKey(dir)) {
+                return null;
+            }
+
+            // Find the aggregator at the top of the reactor, at any depth.
+            Path rootDir = aggregatorsByModuleDir.get(dir);
+            Set<Path> visited = new HashSet<Path>();
+            while (aggregatorsByModuleDir.containsKey(rootDir) && visited.add(rootDir)) {
+                rootDir = aggregatorsByModuleDir.get(rootDir);
+            }
+
+            Set<Path> reactorDirs = getReactorDirs(rootDir);
+            Map<Module, Integer> depths = new HashMap<Module, Integer>();
+            getDepth(module, reactorDirs, depths, new HashSet<Module>());
+
+            StringBuilder parms = new StringBuilder();
+            parms.append("-f ").append(toParameterPath(dir.relativize(rootDir.resolve("pom.xml"))));
+            if (depths.size() > 1) {
+                parms.append(" -am");
+            }
+            parms.append(" -pl ").append(toParameterPath(rootDir.relativize(dir)));
+
+            // Modules at the same depth do not depend on each other and can be built in parallel.
+            Map<Integer, Integer> widths = new HashMap<Integer, Integer>();
+            int width = 1;
+            for (Integer depth : depths.values()) {
+                width = Math.max(width, widths.merge(depth, 1, Integer::sum));
+            }
+            int threads = Math.min(width, cores);
+            if (threads > 1) {
+                parms.append(" -T ").append(threads);
+            }
+
+            return parms.toString();
+        }
+
+        /**
+         * Returns the directories of the modules of the reactor whose top aggregator is at the input location.
+         *
+         * @param rootDir The directory of the top aggregator.
+         *
+         * @return The directories of the modules of the reactor, including the top aggregator.
+         */
+        private Set<Path> getReactorDirs(Path rootDir) {
+            Set<Path> reactorDirs = new LinkedHashSet<Path>();
+            List<Path> pending = new ArrayList<Path>();
+            pending.add(rootDir);
+            while (!pending.isEmpty()) {
+                Path dir = pending.remove(pending.size() - 1);
+                if (reactorDirs.add(dir)) {
+                    for (Map.Entry<Path, Path> entry : aggregatorsByModuleDir.entrySet()) {
+                        if (entry.getValue().equals(dir)) {
+                            pending.add(entry.getKey());
+                        }
+                    }
+                }
+            }
+
+            return reactorDirs;
+        }
+
+        /**
+         * Returns the length of the longest chain of reactor modules the input module depends on, and records it for the input
+         * module and each of the modules it depends on.
+         *
+         * @param module The module.
+         * @param reactorDirs The directories of the modules of the reactor.
+         * @param depths The depths computed so far.
+         * @param inProgress The modules whose depth is being computed. Used to break dependency cycles.
+         *
+         * @return The depth of the input module. Zero if it does not depend on other modules of the reactor.
+         */
+        private int getDepth(Module module, Set<Path> reactorDirs, Map<Module, Integer> depths, Set<Module> inProgress) {
+            Integer depth = depths.get(module);
+            if (depth != null) {
+                return depth;
+            }
+
+            inProgress.add(module);
+            int maxDepth = 0;
+            for (String upstreamKey : module.upstreamKeys) {
+                Module upstream = modulesByKey.get(upstreamKey);
+                if (upstream != null && upstream != module && reactorDirs.contains(upstream.dir) && !inProgress.contains(upstream)) {
+                    maxDepth = Math.max(maxDepth, getDepth(upstream, reactorDirs, depths, inProgress) + 1);
+                }
+            }
+            inProgress.remove(module);
+
+            depths.put(module, maxDepth);
+            return maxDepth;
+        }
+
+        /**
+         * Returns the input relative path with forward slashes, as used in the start parameters.
+         *
+         * @param path The relative path.
+         *
+         * @return The input relative path with forward slashes.
+         */
+        private static String toParameterPath(Path path) {
+            return path.toString().replace('\\', '/');
+        }
+    }
+}
@@ -0,0 +1,665 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.Launch;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
+
+import io.openliberty.tools.eclipse.ServerDirectoryIndex.ServerEntry;
+import io.openliberty.tools.eclipse.debug.DebugModeHandler;
+import io.openliberty.tools.eclipse.debug.LibertySourceLookupDirector;
+import io.openliberty.tools.eclipse.logging.Logger;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.messages.Messages;
+import io.openliberty.tools.eclipse.ui.dashboard.DashboardView;
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher.RuntimeEnv;
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationHelper;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTab;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTabController;
+import io.openliberty.tools.eclipse.utils.ErrorHandler;
+import io.openliberty.tools.eclipse.utils.ProcessTreeTerminator;
+import io.openliberty.tools.eclipse.utils.ProcessTreeTerminator.TerminationReport;
+
+/**
+ * Detects Liberty servers that were started by dev mode for projects on the dashboard, but are no longer associated with a dev
+ * mode session (i.e. the IDE ended abruptly while dev mode was running). Only servers launched by a dev mode session of the IDE,
+ * as recorded by the terminal tabs while the sessions run, are reported. The debugger can be attached to those servers, or they
+ * can be terminated to reclaim their resources.
+ */
+public class OrphanedServerDetector {
+
+    /** Job family of the jobs scheduled by this class. */
+    public static final Object JOB_FAMILY = OrphanedServerDetector.class;
+
+    /** Name of the directory under the Liberty servers directory where the process IDs of started servers are recorded. */
+    public static final String PID_DIR_NAME = ".pid";
+
+    /** Name of the file in the plugin state location where the processes launched by dev mode sessions are recorded. */
+    public static final String LAUNCHED_PROCESSES_FILE_NAME = "launched-processes.properties";
+
+    /** Name of the jar used to launch the Liberty server JVM. */
+    public static final String SERVER_LAUNCHER_JAR_NAME = "ws-server.jar";
+
+    /** Maven dev mode goals. The Maven process that ran one of these goals owns the server it started. */
+    private static final String[] MAVEN_DEV_MODE_GOALS = new String[] { "liberty:dev", "liberty:devc" };
+
+    /** Single instance of this class. */
+    private static OrphanedServerDetector instance;
+
+    /** Orphaned servers keyed by project name. */
+    private final Map<String, List<OrphanedServer>> orphanedServers = new ConcurrentHashMap<String, List<OrphanedServer>>();
+
+    /**
+     * Start times of the processes launched by dev mode sessions, keyed by process ID. Zero if the start time is not known. Loaded
+     * from the plugin state location when first needed, so that the processes of sessions of a previous IDE instance are known.
+     */
+    private Map<Long, Long> launchedProcesses;
+
+    /**
+     * Constructor.
+     */
+    private OrphanedServerDetector() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized OrphanedServerDetector getInstance() {
+        if (instance == null) {
+            instance = new OrphanedServerDetector();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Schedules a background scan of the Liberty server directories of the projects on the dashboard. The dashboard is refreshed
+     * once the scan completes.
+     */
+    public void scheduleScan() {
+        Job job = new Job("Searching for orphaned Liberty servers") {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                scan(monitor);
+                if (monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+
+                refreshDashboard();
+                return Status.OK_STATUS;
+            }
+
+            @Override
+            public boolean belongsTo(Object family) {
+                return family == JOB_FAMILY;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+    }
+
+    /**
+     * Cancels the scans and terminations in progress.
+     */
+    public void cancelJobs() {
+        Job.getJobManager().cancel(JOB_FAMILY);
+    }
+
+    /**
+     * Returns the orphaned servers found for the input project. Servers of projects that are currently running in dev mode are not
+     * reported.
+     *
+     * @param projectName The project name.
+     *
+     * @return The orphaned servers found for the input project. The list is empty if there are none.
+     */
+    public List<OrphanedServer> getOrphanedServers(String projectName) {
+        List<OrphanedServer> servers = (projectName == null) ? null : orphanedServers.get(projectName);
+        if (servers == null || isRunning(projectName)) {
+            return Collections.emptyList();
+        }
+
+        return servers;
+    }
+
+    /**
+     * Returns true if orphaned servers were found for the input project. False, otherwise.
+     *
+     * @param projectName The project name.
+     *
+     * @return True if orphaned servers were found for the input project. False, otherwise.
+     */
+    public boolean hasOrphanedServers(String projectName) {
+        return !getOrphanedServers(projectName).isEmpty();
+    }
+
+    /**
+     * Returns a description of the orphaned servers found for the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return A description of the orphaned servers found for the input project, or null if there are none.
+     */
+    public String getSummary(String projectName) {
+        List<OrphanedServer> servers = getOrphanedServers(projectName);
+        if (servers.isEmpty()) {
+            return null;
+        }
+
+        return servers.stream().map(server -> NLS.bind(Messages.orphaned_server_summary, server.getServerName(), server.getPidString()))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    /**
+     * Attaches the debugger to the orphaned servers of the input project that have a debug port configured.
+     *
+     * @param iProject The project.
+     */
+    public void attachDebugger(IProject iProject) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, iProject);
+        }
+
+        String projectName = iProject.getName();
+        List<OrphanedServer> servers = getOrphanedServers(projectName).stream().filter(server -> server.getDebugPort() != null)
+                .collect(Collectors.toList());
+        if (servers.isEmpty()) {
+            ErrorHandler.processErrorMessage(NLS.bind(Messages.orphaned_server_no_debug_port, projectName), true);
+            return;
+        }
+
+        DevModeOperations devModeOps = DevModeOperations.getInstance();
+        Project project = devModeOps.getProjectModel().getProject(projectName);
+        if (project == null) {
+            return;
+        }
+
+        try {
+            ILaunchConfiguration configuration = LaunchConfigurationHelper.getInstance().getLaunchConfiguration(iProject,
+                    ILaunchManager.DEBUG_MODE, RuntimeEnv.LOCAL);
+            DebugModeHandler debugModeHandler = devModeOps.getDebugModeHandler();
+
+            for (OrphanedServer server : servers) {
+                LibertySourceLookupDirector sourceLocator = new LibertySourceLookupDirector();
+                sourceLocator.initializeDefaults(configuration);
+                ILaunch launch = new Launch(configuration, ILaunchManager.DEBUG_MODE, sourceLocator);
+                DebugPlugin.getDefault().getLaunchManager().addLaunch(launch);
+                debugModeHandler.startDebugAttacher(project, launch, server.getDebugPort());
+            }
+        } catch (Exception e) {
+            String msg = "An error was detected while attaching the debugger to the orphaned servers of project " + projectName;
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, msg, e);
+            }
+            ErrorHandler.processErrorMessage(NLS.bind(Messages.orphaned_server_attach_error, projectName), e, true);
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, servers);
+        }
+    }
+
+    /**
+     * Terminates the orphaned servers of the input project in the background. For servers started by Maven dev mode, the Maven
+     * process that is still waiting on the server is terminated as well.
+     *
+     * @param iProject The project.
+     */
+    public void terminate(IProject iProject) {
+        String projectName = iProject.getName();
+        List<OrphanedServer> servers = getOrphanedServers(projectName);
+        if (servers.isEmpty()) {
+            return;
+        }
+
+        Job job = new Job("Terminating orphaned Liberty servers of project " + projectName) {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                for (OrphanedServer server : servers) {
+                    ProcessHandle process = server.getProcess();
+                    if (process == null) {
+                        ErrorHandler.processErrorMessage(NLS.bind(Messages.orphaned_server_process_unknown, server.getServerName(),
+                                projectName), false);
+                        continue;
+                    }
+
+                    List<ProcessHandle> processTree = ProcessTreeTerminator.getProcessTree(getOwningProcess(process));
+                    TerminationReport report = ProcessTreeTerminator.terminate(processTree,
+                            ProcessTreeTerminator.GRACEFUL_TERMINATION_TIMEOUT_MS);
+                    String memory = (report.getResidentMemoryKb() >= 0) ? Long.toString(report.getResidentMemoryKb() / 1024)
+                            : Messages.process_tree_memory_unknown;
+                    Logger.logInfo(NLS.bind(Messages.orphaned_server_terminated,
+                            new Object[] { server.getServerName(), projectName, report.getProcessCount(), memory }));
+                }
+
+                orphanedServers.remove(projectName);
+                refreshDashboard();
+                return Status.OK_STATUS;
+            }
+
+            @Override
+            public boolean belongsTo(Object family) {
+                return family == JOB_FAMILY;
+            }
+        };
+        job.schedule();
+    }
+
+    /**
+     * Searches the Liberty server directories of the projects on the dashboard for servers that are running without a dev mode
+     * session.
+     *
+     * @param monitor The progress monitor.
+     */
+    private void scan(IProgressMonitor monitor) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS);
+        }
+
+        WorkspaceProjectsModel projectModel = DevModeOperations.getInstance().getProjectModel();
+        Map<String, List<OrphanedServer>> found = new ConcurrentHashMap<String, List<OrphanedServer>>();
+
+        // Take a single snapshot of the running server processes for all server directories.
+        List<ProcessHandle> serverProcesses = ProcessHandle.allProcesses()
+                .filter(process -> process.info().commandLine().map(c -> c.contains(SERVER_LAUNCHER_JAR_NAME)).orElse(false))
+                .collect(Collectors.toList());
+
+        for (String projectName : projectModel.getSortedDashboardProjectList()) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+
+            Project project = projectModel.getProject(projectName);
+            if (project == null || isRunning(projectName)) {
+                continue;
+            }
+
+            List<OrphanedServer> servers = findLiveServers(projectName, ServerDirectoryIndex.getInstance().getServers(project),
+                    serverProcesses);
+
+            if (!servers.isEmpty()) {
+                found.put(projectName, servers);
+                for (OrphanedServer server : servers) {
+                    Logger.logInfo(NLS.bind(Messages.orphaned_server_detected,
+                            new Object[] { server.getServerName(), projectName, server.getPidString() }));
+                }
+            }
+        }
+
+        orphanedServers.clear();
+        orphanedServers.putAll(found);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, found);
+        }
+    }
+
+    /**
+     * Returns the input servers that are running and were launched by a dev mode session of the IDE. Servers started from the
+     * command line or by other tools are not reported.
+     *
+     * @param projectName The name of the project on the dashboard that owns the servers.
+     * @param serverEntries The servers of the project.
+     * @param serverProcesses The running server processes.
+     *
+     * @return The input servers that are running and were launched by a dev mode session of the IDE.
+     */
+    private List<OrphanedServer> findLiveServers(String projectName, List<ServerEntry> serverEntries,
+            List<ProcessHandle> serverProcesses) {
+        List<OrphanedServer> servers = new ArrayList<OrphanedServer>();
+        for (ServerEntry serverEntry : serverEntries) {
+            Path serverPath = serverEntry.getServerPath();
+            ProcessHandle process = findServerProcess(serverPath.getParent(), serverEntry.getServerName(), serverProcesses);
+            if (process == null || !isLaunchedByDevMode(process)) {
+                continue;
+            }
+
+            servers.add(new OrphanedServer(projectName, serverEntry.getServerName(), serverPath, process, serverEntry.getDebugPort()));
+        }
+
+        return servers;
+    }
+
+    /**
+     * Returns the process of the input server. The process ID recorded when the server started is used if it still identifies the
+     * server process. Otherwise, the input server processes are searched for the server launcher. The server's lock file is not
+     * probed, so a server that is starting is never blocked by the search.
+     *
+     * @param serversPath The Liberty servers directory.
+     * @param serverName The server name.
+     * @param serverProcesses The running server processes.
+     *
+     * @return The process of the input server, or null if it was not found.
+     */
+    private ProcessHandle findServerProcess(Path serversPath, String serverName, List<ProcessHandle> serverProcesses) {
+        Path pidPath = serversPath.resolve(PID_DIR_NAME).resolve(serverName + ".pid");
+        if (Files.isRegularFile(pidPath)) {
+            try {
+                long pid = Long.parseLong(new String(Files.readAllBytes(pidPath), StandardCharsets.UTF_8).trim());
+                Optional<ProcessHandle> process = ProcessHandle.of(pid).filter(ProcessHandle::isAlive);
+                if (process.isPresent()) {
+                    Optional<String> commandLine = process.get().info().commandLine();
+                    // The process ID may have been reused. If the command line is not visible, rely on the launch records instead.
+                    if (commandLine.isPresent() ? isServerCommandLine(commandLine.get(), serversPath, serverName)
+                            : isLaunchedByDevMode(process.get())) {
+                        return process.get();
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the process ID file " + pidPath, e);
+                }
+            }
+        }
+
+        return serverProcesses.stream().filter(process -> process.isAlive()
+                && isServerCommandLine(process.info().commandLine().orElse(""), serversPath, serverName)).findFirst().orElse(null);
+    }
+
+    /**
+     * Records the input processes as launched by a dev mode session. Records of processes that are no longer running are dropped.
+     *
+     * @param processes The processes launched by a dev mode session.
+     */
+    public synchronized void recordLaunchedProcesses(Collection<ProcessHandle> processes) {
+        Map<Long, Long> records = getLaunchedProcesses();
+        int size = records.size();
+        records.keySet().removeIf(pid -> !ProcessHandle.of(pid).filter(ProcessHandle::isAlive).isPresent());
+        boolean changed = records.size() != size;
+
+        for (ProcessHandle process : processes) {
+            Long startTime = getStartTime(process);
+            // A process whose start time is not known cannot be told apart from a later process reusing its ID.
+            if (startTime == 0) {
+                continue;
+            }
+            if (!startTime.equals(records.put(process.pid(), startTime))) {
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            writeLaunchedProcesses(records);
+        }
+    }
+
+    /**
+     * Returns true if the input process, or one of its ancestors, was recorded as launched by a dev mode session. False, otherwise.
+     * A server whose ancestors exited is matched through its own record, which is taken while the dev mode session runs. Records
+     * only match a process with the same start time, so a process whose start time is not known is never matched.
+     *
+     * @param process The process.
+     *
+     * @return True if the input process, or one of its ancestors, was launched by a dev mode session. False, otherwise.
+     */
+    private synchronized boolean isLaunchedByDevMode(ProcessHandle process) {
+        Map<Long, Long> records = getLaunchedProcesses();
+        for (Optional<ProcessHandle> current = Optional.of(process); current.isPresent(); current = current.get().parent()) {
+            Long startTime = records.get(current.get().pid());
+            // Ignore records of reused process IDs.
+            if (startTime != null && startTime != 0 && startTime.equals(getStartTime(current.get()))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the start time of the input process in milliseconds.
+     *
+     * @param process The process.
+     *
+     * @return The start time of the input process in milliseconds, or zero if it is not known.
+     */
+    private static Long getStartTime(ProcessHandle process) {
+        return process.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+    }
+
+    /**
+     * Returns the records of the processes launched by dev mode sessions, loading them from the plugin state location if needed.
+     *
+     * @return The start times of the processes launched by dev mode sessions, keyed by process ID.
+     */
+    private Map<Long, Long> getLaunchedProcesses() {
+        if (launchedProcesses != null) {
+            return launchedProcesses;
+        }
+
+        launchedProcesses = new ConcurrentHashMap<Long, Long>();
+        Path recordsPath = getLaunchedProcessesPath();
+        if (recordsPath != null && Files.isRegularFile(recordsPath)) {
+            Properties records = new Properties();
+            try (InputStream in = Files.newInputStream(recordsPath)) {
+                records.load(in);
+                for (String pid : records.stringPropertyNames()) {
+                    launchedProcesses.put(Long.valueOf(pid), Long.valueOf(records.getProperty(pid)));
+                }
+            } catch (IOException | NumberFormatException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the launched process records " + recordsPath, e);
+                }
+            }
+        }
+
+        return launchedProcesses;
+    }
+
+    /**
+     * Replaces the content of the launched process records file with the input records.
+     *
+     * @param records The start times of the processes launched by dev mode sessions, keyed by process ID.
+     */
+    private static void writeLaunchedProcesses(Map<Long, Long> records) {
+        Path recordsPath = getLaunchedProcessesPath();
+        if (recordsPath == null) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        for (Map.Entry<Long, Long> entry : records.entrySet()) {
+            properties.setProperty(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+        }
+
+        try {
+            Path tempPath = recordsPath.resolveSibling(LAUNCHED_PROCESSES_FILE_NAME + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempPath)) {
+                properties.store(out, null);
+            }
+            Files.move(tempPath, recordsPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to write the launched process records " + recordsPath, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the path of the launched process records file.
+     *
+     * @return The path of the launched process records file, or null if the plugin is not active.
+     */
+    private static Path getLaunchedProcessesPath() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return (plugin == null) ? null : plugin.getStateLocation().append(LAUNCHED_PROCESSES_FILE_NAME).toFile().toPath();
+    }
+
+    /**
+     * Returns true if the input command line launches the input server. False, otherwise. The server name must be a whole argument,
+     * or a whole segment of the server directory path, so that a server name is not matched inside a longer one.
+     *
+     * @param commandLine The process command line.
+     * @param serversPath The Liberty servers directory.
+     * @param serverName The server name.
+     *
+     * @return True if the input command line launches the input server. False, otherwise.
+     */
+    private static boolean isServerCommandLine(String commandLine, Path serversPath, String serverName) {
+        // The servers directory is <wlp>/usr/servers, and the launcher is <wlp>/bin/tools/ws-server.jar.
+        Path wlpPath = serversPath.getParent().getParent();
+        if (!commandLine.contains(SERVER_LAUNCHER_JAR_NAME) || !commandLine.contains(wlpPath.toString())) {
+            return false;
+        }
+
+        Pattern serverArgument = Pattern.compile("(?:^|[\\s\"'])" + Pattern.quote(serverName) + "(?=[\\s\"']|$)|"
+                + Pattern.quote(serversPath.resolve(serverName).toString()) + "(?=[\\\\/\\s\"']|$)");
+        return serverArgument.matcher(commandLine).find();
+    }
+
+    /**
+     * Returns the Maven dev mode process that started the input server process if it is still running. Otherwise, the input server
+     * process is returned.
+     *
+     * @param serverProcess The server process.
+     *
+     * @return The process that owns the input server process.
+     */
+    private static ProcessHandle getOwningProcess(ProcessHandle serverProcess) {
+        Optional<ProcessHandle> parent = serverProcess.parent().filter(ProcessHandle::isAlive);
+        if (parent.isPresent()) {
+            String commandLine = parent.get().info().commandLine().orElse("");
+            for (String goal : MAVEN_DEV_MODE_GOALS) {
+                if (commandLine.contains(goal)) {
+                    return parent.get();
+                }
+            }
+        }
+
+        return serverProcess;
+    }
+
+    /**
+     * Returns true if dev mode is running on a terminal tab associated with the input project. False, otherwise.
+     *
+     * @param projectName The project name.
+     *
+     * @return True if dev mode is running on a terminal tab associated with the input project. False, otherwise.
+     */
+    private static boolean isRunning(String projectName) {
+        ProjectTab projectTab = ProjectTabController.getInstance().getProjectTab(projectName);
+        return projectTab != null && projectTab.getState() == ProjectTab.State.STARTED;
+    }
+
+    /**
+     * Refreshes the dashboard entries so that orphaned servers are shown.
+     */
+    private static void refreshDashboard() {
+        if (!PlatformUI.isWorkbenchRunning()) {
+            return;
+        }
+
+        Display display = PlatformUI.getWorkbench().getDisplay();
+        display.asyncExec(() -> {
+            DashboardView dashboardView = DevModeOperations.getInstance().getDashboardView();
+            if (dashboardView != null) {
+                dashboardView.refreshEntries();
+            }
+        });
+    }
+
+    /**
+     * A Liberty server running without a dev mode session.
+     */
+    public static class OrphanedServer {
+
+        /** The name of the project on the dashboard that owns the server. */
+        private final String projectName;
+
+        /** The server name. */
+        private final String serverName;
+
+        /** The server directory. */
+        private final Path serverPath;
+
+        /** The server process, or null if it could not be found. */
+        private final ProcessHandle process;
+
+        /** The debug port configured for the server, or null if there is none. */
+        private final String debugPort;
+
+        OrphanedServer(String projectName, String serverName, Path serverPath, ProcessHandle process, String debugPort) {
+            this.projectName = projectName;
+            this.serverName = serverName;
+            this.serverPath = serverPath;
+            this.process = process;
+            this.debugPort = debugPort;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public String getServerName() {
+            return serverName;
+        }
+
+        public Path getServerPath() {
+            return serverPath;
+        }
+
+        public ProcessHandle getProcess() {
+            return process;
+        }
+
+        public String getDebugPort() {
+            return debugPort;
+        }
+
+        /**
+         * Returns the server process ID as a string.
+         *
+         * @return The server process ID, or a placeholder if the server process could not be found.
+         */
+        public String getPidString() {
+            return (process == null) ? Messages.orphaned_server_pid_unknown : Long.toString(process.pid());
+        }
+
+        @Override
+        public String toString() {
+            return "projectName: " + projectName + ". serverName: " + serverName + ". serverPath: " + serverPath + ". process: "
+                    + process + ". debugPort: " + debugPort;
+        }
+    }
+}
@@ -0,0 +1,476 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.openliberty.tools.eclipse.debug.DebugModeHandler;
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Index of the Liberty server directories that dev mode creates under the build output of the projects on the dashboard. For
+ * each server, the index holds the server name, its directory, and the debug address set in its server.env file. A servers
+ * directory is scanned once, the first time it is queried, and it is then kept up to date by a watch service. Watch events can
+ * arrive late (the polling watch service on macOS reports changes after several seconds), so each query also compares the
+ * modification times of the servers directory and of the server.env files with the indexed ones, and reads the files that
+ * changed directly.
+ */
+public class ServerDirectoryIndex {
+
+    /** Server directories keyed by server name, keyed by the servers directory that contains them. */
+    private final Map<Path, Map<String, ServerEntry>> index = new ConcurrentHashMap<Path, Map<String, ServerEntry>>();
+
+    /** Modification time of each indexed servers directory when it was last scanned. */
+    private final Map<Path, Long> scanTimes = new ConcurrentHashMap<Path, Long>();
+
+    /** Watched directories keyed by their watch key. */
+    private final Map<WatchKey, Path> watchedDirs = new ConcurrentHashMap<WatchKey, Path>();
+
+    /** Single instance of this class. */
+    private static ServerDirectoryIndex instance;
+
+    /** Watch service notified of changes in the indexed directories. Created on first use. */
+    private WatchService watchService;
+
+    /**
+     * Constructor. Only the instance returned by {@link #getInstance()} is closed when the plugin stops.
+     */
+    public ServerDirectoryIndex() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized ServerDirectoryIndex getInstance() {
+        if (instance == null) {
+            instance = new ServerDirectoryIndex();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns the Liberty servers directory used by dev mode for the input project.
+     *
+     * @param project The project.
+     *
+     * @return The Liberty servers directory used by dev mode for the input project, or null if the build type is not supported.
+     */
+    public static Path getServersPath(Project project) {
+        String projectPath = project.getPath();
+        if (projectPath == null) {
+            return null;
+        }
+
+        switch (project.getBuildType()) {
+            case MAVEN:
+                return Paths.get(projectPath, "target", "liberty", "wlp", "usr", "servers");
+            case GRADLE:
+                return Paths.get(projectPath, "build", "wlp", "usr", "servers");
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the servers of the input project and of its child Liberty server modules.
+     *
+     * @param project The project.
+     *
+     * @return The servers of the input project and of its child Liberty server modules.
+     */
+    public List<ServerEntry> getServers(Project project) {
+        List<Project> serverProjects = new ArrayList<Project>();
+        serverProjects.add(project);
+        serverProjects.addAll(project.getChildLibertyServerProjects());
+
+        List<ServerEntry> servers = new ArrayList<ServerEntry>();
+        for (Project serverProject : serverProjects) {
+            Path serversPath = getServersPath(serverProject);
+            if (serversPath != null) {
+                servers.addAll(getServers(serversPath));
+            }
+        }
+
+        return servers;
+    }
+
+    /**
+     * Returns the servers under the input Liberty servers directory.
+     *
+     * @param serversPath The Liberty servers directory.
+     *
+     * @return The servers under the input Liberty servers directory. The collection is empty if the directory does not exist.
+     */
+    public Collection<ServerEntry> getServers(Path serversPath) {
+        Map<String, ServerEntry> servers = index.get(serversPath);
+        if (servers == null) {
+            servers = indexServersDirectory(serversPath);
+        } else {
+            refreshServersDirectory(serversPath, servers);
+        }
+
+        return Collections.unmodifiableCollection(servers.values());
+    }
+
+    /**
+     * Returns the server of the input project whose debug address dev mode set most recently. Projects configuring several servers
+     * are supported: servers with a debug address are preferred, and among them, the one whose server.env file was updated last is
+     * selected.
+     *
+     * @param project The project.
+     *
+     * @return The selected server, or null if the project has no servers.
+     */
+    public ServerEntry selectServer(Project project) {
+        List<ServerEntry> servers = getServers(project);
+        if (servers.size() <= 1) {
+            return servers.isEmpty() ? null : servers.get(0);
+        }
+
+        ServerEntry selected = servers.stream().max(Comparator.comparing((ServerEntry server) -> server.getDebugPort() != null)
+                .thenComparingLong(ServerEntry::getServerEnvLastModified)).get();
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Multiple servers were found for project " + project.getName() + ". Selected: "
+                    + selected + ". Servers: " + servers);
+        }
+
+        return selected;
+    }
+
+    /**
+     * Stops watching the indexed directories and clears the index.
+     */
+    public synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Error while closing the server directory watch service.", e);
+                }
+            }
+            watchService = null;
+        }
+
+        watchedDirs.clear();
+        index.clear();
+        scanTimes.clear();
+    }
+
+    /**
+     * Scans the input Liberty servers directory and starts watching it and the server directories it contains.
+     *
+     * @param serversPath The Liberty servers directory.
+     *
+     * @return The servers under the input directory keyed by server name.
+     */
+    private synchronized Map<String, ServerEntry> indexServersDirectory(Path serversPath) {
+        Map<String, ServerEntry> servers = index.get(serversPath);
+        if (servers != null) {
+            return servers;
+        }
+
+        servers = new ConcurrentHashMap<String, ServerEntry>();
+        if (!Files.isDirectory(serversPath)) {
+            // Not created yet. It is scanned again on the next query.
+            return servers;
+        }
+
+        // Start watching before scanning so that no change is missed.
+        if (!watch(serversPath)) {
+            return servers;
+        }
+        index.put(serversPath, servers);
+        scanServersDirectory(serversPath, servers);
+
+        return servers;
+    }
+
+    /**
+     * Reads the servers directory and the server.env files whose modification time does not match the index. This covers the
+     * changes whose watch events were not processed yet.
+     *
+     * @param serversPath The Liberty servers directory.
+     * @param servers The servers under the input directory keyed by server name.
+     */
+    private synchronized void refreshServersDirectory(Path serversPath, Map<String, ServerEntry> servers) {
+        Long scanTime = scanTimes.get(serversPath);
+        if (scanTime == null || scanTime.longValue() != serversPath.toFile().lastModified()) {
+            scanServersDirectory(serversPath, servers);
+        }
+
+        for (ServerEntry server : new ArrayList<ServerEntry>(servers.values())) {
+            if (server.getServerEnvPath().toFile().lastModified() == server.getServerEnvLastModified()) {
+                continue;
+            }
+
+            if (Files.isDirectory(server.getServerPath())) {
+                updateServer(servers, server.getServerPath());
+            } else {
+                servers.remove(server.getServerName());
+            }
+        }
+    }
+
+    /**
+     * Replaces the servers in the input map with the server directories under the input Liberty servers directory.
+     *
+     * @param serversPath The Liberty servers directory.
+     * @param servers The servers under the input directory keyed by server name.
+     */
+    private void scanServersDirectory(Path serversPath, Map<String, ServerEntry> servers) {
+        // Record the modification time before listing, so that a change made while listing triggers another scan.
+        scanTimes.put(serversPath, serversPath.toFile().lastModified());
+        try (Stream<Path> children = Files.list(serversPath)) {
+            List<Path> serverPaths = children.filter(ServerDirectoryIndex::isServerDirectory).collect(Collectors.toList());
+            servers.keySet().retainAll(serverPaths.stream().map(path -> path.getFileName().toString()).collect(Collectors.toSet()));
+            for (Path serverPath : serverPaths) {
+                if (!servers.containsKey(serverPath.getFileName().toString())) {
+                    addServer(servers, serverPath);
+                }
+            }
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to list the servers under " + serversPath, e);
+            }
+        }
+    }
+
+    /**
+     * Adds the input server directory to the input map and starts watching it.
+     *
+     * @param servers The servers keyed by server name.
+     * @param serverPath The server directory.
+     */
+    private void addServer(Map<String, ServerEntry> servers, Path serverPath) {
+        watch(serverPath);
+        updateServer(servers, serverPath);
+    }
+
+    /**
+     * Reads the server.env file of the input server directory and updates its entry in the input map.
+     *
+     * @param servers The servers keyed by server name.
+     * @param serverPath The server directory.
+     */
+    private void updateServer(Map<String, ServerEntry> servers, Path serverPath) {
+        Path serverEnvPath = serverPath.resolve(DebugModeHandler.WLP_SERVER_ENV_FILE_NAME);
+        String debugPort = null;
+        long lastModified = 0;
+        try {
+            debugPort = DebugModeHandler.readDebugPortFromServerEnv(serverEnvPath.toFile());
+            lastModified = serverEnvPath.toFile().lastModified();
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read " + serverEnvPath, e);
+            }
+        }
+
+        String serverName = serverPath.getFileName().toString();
+        servers.put(serverName, new ServerEntry(serverName, serverPath, debugPort, lastModified));
+    }
+
+    /**
+     * Registers the input directory with the watch service. The watch service and the thread that processes its events are
+     * created on first use.
+     *
+     * @param dir The directory to watch.
+     *
+     * @return True if the directory is watched. False, otherwise.
+     */
+    private synchronized boolean watch(Path dir) {
+        try {
+            if (watchService == null) {
+                watchService = FileSystems.getDefault().newWatchService();
+                WatchService service = watchService;
+                Thread watcher = new Thread(() -> processEvents(service), "Liberty Tools server directory watcher");
+                watcher.setDaemon(true);
+                watcher.start();
+            }
+
+            WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            watchedDirs.put(key, dir);
+            return true;
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to watch directory " + dir, e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Processes the events of the input watch service until it is closed.
+     *
+     * @param service The watch service.
+     */
+    private void processEvents(WatchService service) {
+        while (true) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                return;
+            }
+
+            Path dir = watchedDirs.get(key);
+            if (dir != null) {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    processEvent(dir, event);
+                }
+            }
+
+            // The key is no longer valid when the directory was deleted (i.e. the build output was cleaned).
+            if (!key.reset()) {
+                watchedDirs.remove(key);
+                if (dir != null) {
+                    removeDirectory(dir);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the index according to the input event.
+     *
+     * @param dir The watched directory in which the event occurred.
+     * @param event The event.
+     */
+    private synchronized void processEvent(Path dir, WatchEvent<?> event) {
+        Map<String, ServerEntry> servers = index.get(dir);
+        if (servers != null) {
+            // A server directory was created or deleted under a servers directory.
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                scanServersDirectory(dir, servers);
+                return;
+            }
+
+            Path serverPath = dir.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                servers.remove(serverPath.getFileName().toString());
+            } else if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && isServerDirectory(serverPath)) {
+                addServer(servers, serverPath);
+            }
+            return;
+        }
+
+        // A file changed in a server directory. Only server.env matters.
+        servers = index.get(dir.getParent());
+        if (servers != null && (event.kind() == StandardWatchEventKinds.OVERFLOW
+                || DebugModeHandler.WLP_SERVER_ENV_FILE_NAME.equals(String.valueOf(event.context())))) {
+            if (Files.isDirectory(dir)) {
+                updateServer(servers, dir);
+            }
+        }
+    }
+
+    /**
+     * Removes the input directory, which no longer exists, from the index.
+     *
+     * @param dir The directory.
+     */
+    private synchronized void removeDirectory(Path dir) {
+        scanTimes.remove(dir);
+        if (index.remove(dir) == null) {
+            Map<String, ServerEntry> servers = index.get(dir.getParent());
+            if (servers != null) {
+                servers.remove(dir.getFileName().toString());
+            }
+        }
+    }
+
+    /**
+     * Returns true if the input path is a server directory. False, otherwise. Liberty keeps internal data in hidden directories
+     * under the servers directory (i.e. .pid, .logs).
+     *
+     * @param path The path to check.
+     *
+     * @return True if the input path is a server directory. False, otherwise.
+     */
+    private static boolean isServerDirectory(Path path) {
+        return Files.isDirectory(path) && !path.getFileName().toString().startsWith(".");
+    }
+
+    /**
+     * An indexed Liberty server directory.
+     */
+    public static class ServerEntry {
+
+        /** The server name. */
+        private final String serverName;
+
+        /** The server directory. */
+        private final Path serverPath;
+
+        /** The debug port set in server.env, or null if there is none. */
+        private final String debugPort;
+
+        /** The time server.env was last modified, or zero if it does not exist. */
+        private final long serverEnvLastModified;
+
+        ServerEntry(String serverName, Path serverPath, String debugPort, long serverEnvLastModified) {
+            this.serverName = serverName;
+            this.serverPath = serverPath;
+            this.debugPort = debugPort;
+            this.serverEnvLastModified = serverEnvLastModified;
+        }
+
+        public String getServerName() {
+            return serverName;
+        }
+
+        public Path getServerPath() {
+            return serverPath;
+        }
+
+        public Path getServerEnvPath() {
+            return serverPath.resolve(DebugModeHandler.WLP_SERVER_ENV_FILE_NAME);
+        }
+
+        public String getDebugPort() {
+            return debugPort;
+        }
+
+        public long getServerEnvLastModified() {
+            return serverEnvLastModified;
+        }
+
+        @Override
+        public String toString() {
+            return "serverName: " + serverName + ". serverPath: " + serverPath + ". debugPort: " + debugPort;
+        }
+    }
+}
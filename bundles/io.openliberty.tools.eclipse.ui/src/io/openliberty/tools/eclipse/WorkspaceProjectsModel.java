@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022, 2023 IBM Corporation and others.
+ * Copyright (c) 2022, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -139,6 +139,7 @@ public class WorkspaceProjectsModel {
                     if (iProject.isOpen()) {
                         Project project = projectsByName.get(iProject.getName());
                         project.classifyAsLibertyNature();
+                        DependencyPrefetcher.getInstance().schedule(project);
                     }
                 }
             }
@@ -228,7 +229,8 @@ public class WorkspaceProjectsModel {
      * @param iProject
      * 
      * @return start parameters to serve as default populating something like a Run Configuration, depending on whether this looks
-     *         like there is a multi-module relationship or not
+     *         like there is a multi-module relationship or not. Never null: an empty string if the project needs no default start
+     *         parameters
      */
     public String getDefaultStartParameters(IProject iProject) {
 
@@ -239,8 +241,13 @@ public class WorkspaceProjectsModel {
         String retVal = null;
 
         Project proj = projectsByName.get(iProject.getName());
-        if (proj.getBuildType() == Project.BuildType.MAVEN && proj.isAggregated()) {
-            retVal = "-f ../pom.xml -am -pl " + getModuleNameSegment(iProject);
+        if (proj.getBuildType() == Project.BuildType.MAVEN) {
+            // Use the reactor graph to find the top aggregator at any depth. If the module is not part of a reactor known to m2e,
+            // assume that it is a module of the project in its parent directory.
+            retVal = MavenReactorGraph.getInstance().getStartParameters(proj.getPath());
+            if (retVal == null) {
+                retVal = proj.isAggregated() ? "-f ../pom.xml -am -pl " + getModuleNameSegment(iProject) : "";
+            }
         } else {
             retVal = "";
         }
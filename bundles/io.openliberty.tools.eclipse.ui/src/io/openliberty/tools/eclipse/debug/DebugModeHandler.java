@@ -17,17 +17,15 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.net.ConnectException;
-import java.net.ServerSocket;
 import java.net.Socket;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -37,14 +35,17 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.model.IDebugTarget;
 import org.eclipse.jdi.Bootstrap;
 import org.eclipse.jdi.TimeoutException;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
 import org.eclipse.jdt.launching.JavaRuntime;
-import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IViewPart;
 import org.eclipse.ui.IWorkbench;
@@ -58,13 +59,14 @@ import com.sun.jdi.connect.Connector;
 import com.sun.jdi.connect.Connector.Argument;
 import com.sun.jdi.connect.IllegalConnectorArgumentsException;
 
+import io.openliberty.tools.eclipse.CommandBuilder;
 import io.openliberty.tools.eclipse.DevModeOperations;
 import io.openliberty.tools.eclipse.LibertyDevPlugin;
 import io.openliberty.tools.eclipse.Project;
 import io.openliberty.tools.eclipse.Project.BuildType;
 import io.openliberty.tools.eclipse.logging.Trace;
-import io.openliberty.tools.eclipse.messages.Messages;
 import io.openliberty.tools.eclipse.ui.dashboard.DashboardView;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTab;
 import io.openliberty.tools.eclipse.ui.terminal.ProjectTabController;
 import io.openliberty.tools.eclipse.ui.terminal.TerminalListener;
 import io.openliberty.tools.eclipse.utils.ErrorHandler;
@@ -95,6 +97,20 @@ public class DebugModeHandler {
     /** Job status return code indicating that an error took place while attempting to attach the debugger to the JVM. */
     public static int JOB_STATUS_DEBUGGER_CONN_ERROR = 1;
 
+    /** Time to wait before attaching the debugger to a JVM that dev mode is restarting. */
+    private static final long REATTACH_DELAY_MS = 1000;
+
+    /** Preference key: True to step into the Liberty runtime and generated proxy classes while debugging. */
+    public static final String PREF_STEP_INTO_LIBERTY_RUNTIME = "STEP_INTO_LIBERTY_RUNTIME";
+
+    /**
+     * Step filters for the Liberty runtime and for proxy classes generated by the JDK and CDI. Application code reached through
+     * them, for example resource methods called by the JAX-RS runtime, is still stepped into.
+     */
+    public static final String[] LIBERTY_STEP_FILTERS = new String[] { "com.ibm.ws.*", "com.ibm.wsspi.*", "com.ibm.websphere.*",
+            "io.openliberty.*", "org.eclipse.osgi.*", "org.apache.felix.*", "org.jboss.weld.*", "jdk.proxy*", "com.sun.proxy.*",
+            "*$$_WeldClientProxy", "*$$_WeldSubclass" };
+
     /** DevModeOperations instance. */
     private DevModeOperations devModeOps;
 
@@ -182,21 +198,27 @@ public class DebugModeHandler {
         }
 
         if (inputParms.contains(searchKey)) {
-            String[] parts = inputParms.split("\\s+");
-            for (String part : parts) {
-                if (part.contains(searchKey)) {
-                    String[] debugParts = part.split("=");
+            for (String part : CommandBuilder.getArgumentTokens(inputParms)) {
+                String value = CommandBuilder.getArgumentValue(part);
+                if (value.startsWith(searchKey)) {
+                    String[] debugParts = value.split("=");
                     debugPort = debugParts[1].trim();
                     break;
                 }
             }
         }
 
-        // 2. Get a random port.
+        // 2. Lease a port from the workspace-wide reserved range. A port specified by the user is recorded as leased so that it is
+        // not handed out to other sessions.
+        String projectName = project.getIProject().getName();
+        DebugPortAllocator portAllocator = DebugPortAllocator.getInstance();
         if (debugPort == null) {
-            try (ServerSocket socket = new ServerSocket(0)) {
-                int randomPort = socket.getLocalPort();
-                debugPort = String.valueOf(randomPort);
+            debugPort = String.valueOf(portAllocator.lease(projectName));
+        } else {
+            try {
+                portAllocator.lease(projectName, Integer.parseInt(debugPort));
+            } catch (NumberFormatException e) {
+                portAllocator.release(projectName);
             }
         }
 
@@ -218,9 +240,34 @@ public class DebugModeHandler {
      * @throws Exception
      */
     public void startDebugAttacher(Project project, ILaunch launch, String debugPort) {
+        scheduleDebugAttacher(project, launch, debugPort, false);
+    }
+
+    /**
+     * Starts the job that will attempt to connect the debugger with the server's JVM after dev mode restarted it. The new debug
+     * target is added to the launch that held the debug target of the JVM that exited.
+     * 
+     * @param project The project for which the debugger needs to be attached.
+     * @param launch The launch to which the debug target will be added.
+     * @param debugPort The debug port to use to attach the debugger to.
+     */
+    void reattachDebugger(Project project, ILaunch launch, String debugPort) {
+        scheduleDebugAttacher(project, launch, debugPort, true);
+    }
+
+    /**
+     * Schedules the job that will attempt to connect the debugger with the server's JVM. Once connected, the debug target is
+     * supervised so that the debugger is attached again if dev mode restarts the JVM.
+     * 
+     * @param project The project for which the debugger needs to be attached.
+     * @param launch The launch to which the debug target will be added.
+     * @param debugPort The debug port to use to attach the debugger to.
+     * @param reattach True if the debugger is being attached to a JVM that dev mode restarted. False, otherwise.
+     */
+    private void scheduleDebugAttacher(Project project, ILaunch launch, String debugPort, boolean reattach) {
         String projectName = project.getIProject().getName();
 
-        Job job = new Job("Attaching Debugger to JVM...") {
+        Job job = new Job(reattach ? "Attaching Debugger to restarted JVM..." : "Attaching Debugger to JVM...") {
             @Override
             protected IStatus run(IProgressMonitor monitor) {
                 try {
@@ -228,7 +275,7 @@ public class DebugModeHandler {
                         return Status.CANCEL_STATUS;
                     }
 
-                    String portToConnect = waitForSocketActivation(project, DEFAULT_ATTACH_HOST, debugPort, monitor);
+                    String portToConnect = waitForSocketActivation(project, DEFAULT_ATTACH_HOST, debugPort, reattach, monitor);
                     if (portToConnect == null) {
                         return Status.CANCEL_STATUS;
                     }
@@ -239,6 +286,8 @@ public class DebugModeHandler {
                     IDebugTarget debugTarget = createRemoteJDTDebugTarget(launch, Integer.parseInt(portToConnect), DEFAULT_ATTACH_HOST,
                             connector, map);
 
+                    new DebugSessionSupervisor(DebugModeHandler.this, project, launch, portToConnect, debugTarget).start();
+                    HotCodeReplaceMonitor.getInstance().register(projectName, debugTarget);
                     launch.addDebugTarget(debugTarget);
 
                 } catch (Exception e) {
@@ -273,6 +322,11 @@ public class DebugModeHandler {
                 Display display = workbench.getDisplay();
 
                 if (result.isOK()) {
+                    // The debug perspective was already opened when the debugger was first attached.
+                    if (reattach) {
+                        return;
+                    }
+
                     display.syncExec(new Runnable() {
                         public void run() {
                             openDebugPerspective();
@@ -292,7 +346,51 @@ public class DebugModeHandler {
             }
         });
 
-        job.schedule();
+        // When the JVM is being restarted, give it time to release the debug port before probing it.
+        job.schedule(reattach ? REATTACH_DELAY_MS : 0);
+    }
+
+    /**
+     * Adds the Liberty step filters to the step filters of the input debug target, unless the user chose to step into the Liberty
+     * runtime. The active step filters of the workspace are kept. Step filters only take effect while step filtering is enabled.
+     *
+     * JDT sets the active step filters of the workspace on a Java debug target when it handles the target's creation event, which
+     * replaces any filter set before. The Liberty step filters are therefore added once the creation event was dispatched to all
+     * debug event listeners.
+     *
+     * @param debugTarget The debug target.
+     */
+    static void applyLibertyStepFilters(IDebugTarget debugTarget) {
+        if (!(debugTarget instanceof IJavaDebugTarget)
+                || LibertyDevPlugin.getDefault().getPreferenceStore().getBoolean(PREF_STEP_INTO_LIBERTY_RUNTIME)) {
+            return;
+        }
+
+        IJavaDebugTarget javaDebugTarget = (IJavaDebugTarget) debugTarget;
+        javaDebugTarget.setStepFilters(mergeStepFilters(javaDebugTarget.getStepFilters(), LIBERTY_STEP_FILTERS));
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Step filters of debug target " + debugTarget + ": "
+                    + Arrays.toString(javaDebugTarget.getStepFilters()) + ". Enabled: " + javaDebugTarget.isStepFiltersEnabled());
+        }
+    }
+
+    /**
+     * Returns the input step filters followed by the added step filters that they do not already contain.
+     *
+     * @param stepFilters The current step filters. May be null.
+     * @param addedStepFilters The step filters to add.
+     *
+     * @return The merged step filters.
+     */
+    public static String[] mergeStepFilters(String[] stepFilters, String[] addedStepFilters) {
+        Set<String> merged = new LinkedHashSet<String>();
+        if (stepFilters != null) {
+            merged.addAll(Arrays.asList(stepFilters));
+        }
+        merged.addAll(Arrays.asList(addedStepFilters));
+
+        return merged.toArray(new String[merged.size()]);
     }
 
     private AttachingConnector getAttachingConnector() {
@@ -351,7 +449,17 @@ public class DebugModeHandler {
             throw new CoreException(
                     new Status(IStatus.ERROR, this.getClass(), IJavaLaunchConfigurationConstants.ERR_CONNECTION_FAILED, "", ex));
         }
-        debugTarget = JDIDebugModel.newDebugTarget(launch, remoteVM, hostName + ":" + remoteDebugPortNum, null, true, false, true);
+        // The server process records whether the user terminated the debug target, so that it is not attached again.
+        String name = hostName + ":" + remoteDebugPortNum;
+        RemoteServerProcess process = new RemoteServerProcess(launch, name);
+        StepFilterInstaller stepFilterInstaller = new StepFilterInstaller(process);
+        DebugPlugin.getDefault().addDebugEventListener(stepFilterInstaller);
+        try {
+            debugTarget = JDIDebugModel.newDebugTarget(launch, remoteVM, name, process, true, false, true);
+        } catch (RuntimeException e) {
+            DebugPlugin.getDefault().removeDebugEventListener(stepFilterInstaller);
+            throw e;
+        }
         return debugTarget;
     }
 
@@ -460,67 +568,6 @@ public class DebugModeHandler {
         }
     }
 
-    /**
-     * Returns the default path of the server.env file after Liberty server deployment.
-     * 
-     * @param project The project for which this operations is being performed.
-     * 
-     * @return The default path of the server.env file after Liberty server deployment.
-     * 
-     * @throws Exception
-     */
-    private Path getServerEnvPath(Project project) throws Exception {
-        Path basePath = null;
-        Project serverProj = getLibertyServerProject(project);
-        String projectPath = serverProj.getPath();
-        String projectName = serverProj.getName();
-        BuildType buildType = serverProj.getBuildType();
-
-        if (buildType == Project.BuildType.MAVEN) {
-            basePath = Paths.get(projectPath, "target", "liberty", "wlp", "usr", "servers");
-        } else if (buildType == Project.BuildType.GRADLE) {
-            basePath = Paths.get(projectPath, "build", "wlp", "usr", "servers");
-        } else {
-            throw new Exception("Unexpected project build type: " + buildType + ". Project" + projectName
-                    + "does not appear to be a Maven or Gradle built project.");
-        }
-
-        // Make sure the base path exists. If not return null.
-        File basePathFile = new File(basePath.toString());
-        if (!basePathFile.exists()) {
-            return null;
-        }
-
-        try (Stream<Path> matchedStream = Files.find(basePath, 2, (path, basicFileAttribute) -> {
-            if (basicFileAttribute.isRegularFile()) {
-                return path.getFileName().toString().equalsIgnoreCase(WLP_SERVER_ENV_FILE_NAME);
-            }
-            return false;
-        });) {
-            List<Path> matchedPaths = matchedStream.collect(Collectors.toList());
-            int numberOfFilesFound = matchedPaths.size();
-
-            if (numberOfFilesFound != 1) {
-                if (numberOfFilesFound == 0) {
-                    String msg = "Unable to find the server.env file for project " + projectName + ".";
-                    if (Trace.isEnabled()) {
-                        Trace.getTracer().trace(Trace.TRACE_UI, msg);
-                    }
-                    return null;
-                } else {
-                    String msg = "More than one server.env file was found for project " + projectName
-                            + ". Unable to determine which server.env file to use.";
-                    if (Trace.isEnabled()) {
-                        Trace.getTracer().trace(Trace.TRACE_UI, msg);
-                    }
-                    ErrorHandler.processErrorMessage(NLS.bind(Messages.multiple_server_env, projectName), false);
-                    throw new Exception(msg);
-                }
-            }
-            return matchedPaths.get(0);
-        }
-    }
-
     /**
      * Returns the port value associated with the WLP_DEBUG_ADDRESS entry in server.env. Null if not found. If there are multiple
      * WLP_DEBUG_ADDRESS entries, the last entry is returned.
@@ -532,7 +579,7 @@ public class DebugModeHandler {
      * 
      * @throws Exception
      */
-    public String readDebugPortFromServerEnv(File serverEnv) throws Exception {
+    public static String readDebugPortFromServerEnv(File serverEnv) throws Exception {
         String port = null;
 
         if (serverEnv.exists()) {
@@ -554,18 +601,39 @@ public class DebugModeHandler {
         return port;
     }
 
+    /**
+     * Returns true if the dev mode session of the input project is running: it was not stopped and the process of its terminal
+     * has not ended. False, otherwise.
+     * 
+     * @param projectName The project name.
+     * 
+     * @return True if the dev mode session of the input project is running. False, otherwise.
+     */
+    static boolean isDevModeRunning(String projectName) {
+        ProjectTab projectTab = ProjectTabController.getInstance().getProjectTab(projectName);
+        if (projectTab == null || projectTab.getState() != ProjectTab.State.STARTED) {
+            return false;
+        }
+
+        ProcessHandle process = projectTab.getProcessHandle();
+        return process == null || process.isAlive();
+    }
+
     /**
      * Waits for the JDWP socket on the JVM to start listening for connections.
      * 
      * @param host The host to connect to.
      * @param port The port to connect to.
+     * @param reattach True if the JVM is expected to be restarted by a running dev mode session. The wait ends as soon as the
+     *            session stops.
      * @param monitor The progress monitor instance.
      * 
      * @returns The port that the debugger actually connected to.
      * 
      * @throws Exception
      */
-    private String waitForSocketActivation(Project project, String host, String port, IProgressMonitor monitor) throws Exception {
+    private String waitForSocketActivation(Project project, String host, String port, boolean reattach, IProgressMonitor monitor)
+            throws Exception {
 
         // This is the first of several timeout mechanisms during the debugger connection. This method
         // will attempt a write to the debug port of the target VM (Liberty server) once every second for
@@ -585,6 +653,11 @@ public class DebugModeHandler {
                 return null;
             }
 
+            // A JVM that dev mode was expected to restart will not come back once the dev mode session is stopping.
+            if (reattach && !isDevModeRunning(project.getIProject().getName())) {
+                return null;
+            }
+
             // Check if the terminal was marked as closed, but to reduce contention on the UI thread,
             // not every time through the loop. We don't have a clean callback/notification that the
             // terminal session has been marked closed; we're actually going to read the UI element text
@@ -618,31 +691,86 @@ public class DebugModeHandler {
     }
 
     /**
-     * Returns the liberty server module project associated with the input project.
+     * Returns the Liberty server module projects associated with the input project. If the input project is the parent of server
+     * modules, its child server module projects are returned. Otherwise, the input project is returned.
      * 
      * @param project The project to process.
      * 
-     * @return The liberty server module project associated with the input project.
+     * @return The Liberty server module projects associated with the input project.
      * 
      * @throws Exception
      */
-    private Project getLibertyServerProject(Project project) throws Exception {
+    public List<Project> getLibertyServerProjects(Project project) throws Exception {
         if (project.isParentOfServerModule()) {
             List<Project> mmps = project.getChildLibertyServerProjects();
-            switch (mmps.size()) {
-                case 0:
-                    throw new Exception("Unable to find a child project that contains the Liberty server configuration.");
-                case 1:
-                    return mmps.get(0);
-                default:
-                    throw new Exception("Multiple child projects containing Liberty server configuration were found.");
+            if (mmps.isEmpty()) {
+                throw new Exception("Unable to find a child project that contains the Liberty server configuration.");
             }
+
+            return mmps;
         }
 
-        return project;
+        return Collections.singletonList(project);
+    }
+
+    /**
+     * Returns the input configuration parameters without the debug port argument. Server modules started together each lease
+     * their own debug port, so a debug port specified for all of them is not used.
+     * 
+     * @param project The project associated with this call.
+     * @param configParms The input parameters from the Run configuration's dialog.
+     * 
+     * @return The input configuration parameters without the debug port argument.
+     */
+    public String removeDebugPortFromStartParms(Project project, String configParms) {
+        String searchKey = (project.getBuildType() == BuildType.GRADLE) ? GRADLE_DEVMODE_DEBUG_PORT_PARM : MAVEN_DEVMODE_DEBUG_PORT_PARM;
+        if (configParms == null || !configParms.contains(searchKey)) {
+            return configParms;
+        }
+
+        StringBuilder startParms = new StringBuilder();
+        for (String part : CommandBuilder.getArgumentTokens(configParms)) {
+            if (!CommandBuilder.getArgumentValue(part).startsWith(searchKey)) {
+                startParms.append(startParms.length() == 0 ? "" : " ").append(part);
+            }
+        }
+
+        return startParms.toString();
     }
 
     private class DataHolder {
         boolean closed;
     }
+
+    /**
+     * Adds the Liberty step filters to the debug target of a server process once the creation event of the target was dispatched
+     * to all debug event listeners, including the one through which JDT sets the active step filters of the workspace.
+     */
+    private static class StepFilterInstaller implements IDebugEventSetListener {
+
+        /** The server process of the debug target. */
+        private final RemoteServerProcess process;
+
+        StepFilterInstaller(RemoteServerProcess process) {
+            this.process = process;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void handleDebugEvents(DebugEvent[] events) {
+            for (DebugEvent event : events) {
+                if (event.getKind() == DebugEvent.CREATE && event.getSource() instanceof IJavaDebugTarget
+                        && ((IJavaDebugTarget) event.getSource()).getProcess() == process) {
+                    DebugPlugin.getDefault().removeDebugEventListener(this);
+
+                    // Runs after the current event set was dispatched to the remaining listeners.
+                    IJavaDebugTarget debugTarget = (IJavaDebugTarget) event.getSource();
+                    DebugPlugin.getDefault().asyncExec(() -> applyLibertyStepFilters(debugTarget));
+                    return;
+                }
+            }
+        }
+    }
 }
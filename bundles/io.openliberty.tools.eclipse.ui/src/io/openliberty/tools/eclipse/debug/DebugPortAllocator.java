@@ -0,0 +1,171 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.debug;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Leases debug ports to dev mode sessions started in debug mode. Ports are handed out from a reserved range outside of the
+ * ranges that operating systems use for ephemeral ports, so a port that was found to be free is not taken by an unrelated
+ * outbound connection before dev mode binds it. Ports leased to a session are never handed out again until the session ends, and
+ * ports are handed out in rotation so that a port released by a session that just ended is not reused while its server is
+ * still shutting down.
+ */
+public class DebugPortAllocator {
+
+    /** The first port of the default reserved range. */
+    public static final int DEFAULT_FIRST_PORT = 28100;
+
+    /** The number of ports in the default reserved range. */
+    public static final int DEFAULT_PORT_COUNT = 200;
+
+    /** Single instance of this class. */
+    private static DebugPortAllocator instance;
+
+    /** The first port of the reserved range. */
+    private final int firstPort;
+
+    /** The number of ports in the reserved range. */
+    private final int portCount;
+
+    /** Leased ports keyed by project name. */
+    private final Map<String, Integer> leases = new HashMap<String, Integer>();
+
+    /** Offset in the reserved range at which the search for the next free port starts. */
+    private int nextOffset;
+
+    /**
+     * Constructor.
+     *
+     * @param firstPort The first port of the reserved range.
+     * @param portCount The number of ports in the reserved range.
+     */
+    public DebugPortAllocator(int firstPort, int portCount) {
+        this.firstPort = firstPort;
+        this.portCount = portCount;
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized DebugPortAllocator getInstance() {
+        if (instance == null) {
+            instance = new DebugPortAllocator(DEFAULT_FIRST_PORT, DEFAULT_PORT_COUNT);
+        }
+
+        return instance;
+    }
+
+    /**
+     * Leases a free port from the reserved range to the input project. A port previously leased to the project is released.
+     *
+     * @param projectName The name of the project whose dev mode session uses the port.
+     *
+     * @return The leased port.
+     *
+     * @throws Exception If no port of the reserved range is free.
+     */
+    public synchronized int lease(String projectName) throws Exception {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projectName, leases });
+        }
+
+        leases.remove(projectName);
+
+        for (int i = 0; i < portCount; i++) {
+            int offset = (nextOffset + i) % portCount;
+            int port = firstPort + offset;
+            if (leases.containsValue(port) || !isAvailable(port)) {
+                continue;
+            }
+
+            leases.put(projectName, port);
+            nextOffset = (offset + 1) % portCount;
+
+            if (Trace.isEnabled()) {
+                Trace.getTracer().traceExit(Trace.TRACE_TOOLS, port);
+            }
+
+            return port;
+        }
+
+        throw new Exception("No debug port is available in the range " + firstPort + "-" + (firstPort + portCount - 1) + ".");
+    }
+
+    /**
+     * Records the input port, which was chosen by the user, as leased to the input project. A port previously leased to the project
+     * is released.
+     *
+     * @param projectName The name of the project whose dev mode session uses the port.
+     * @param port The port.
+     */
+    public synchronized void lease(String projectName, int port) {
+        leases.remove(projectName);
+
+        if (leases.containsValue(port) && Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                    "Debug port " + port + " requested for project " + projectName + " is already leased. Leases: " + leases);
+        }
+
+        leases.put(projectName, port);
+    }
+
+    /**
+     * Releases the port leased to the input project, if any.
+     *
+     * @param projectName The project name.
+     */
+    public synchronized void release(String projectName) {
+        Integer port = leases.remove(projectName);
+
+        if (port != null && Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Released debug port " + port + " leased to project " + projectName);
+        }
+    }
+
+    /**
+     * Returns the port leased to the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return The port leased to the input project, or null if there is none.
+     */
+    public synchronized Integer getLeasedPort(String projectName) {
+        return leases.get(projectName);
+    }
+
+    /**
+     * Returns true if nothing is listening on the input port. False, otherwise.
+     *
+     * @param port The port to check.
+     *
+     * @return True if nothing is listening on the input port. False, otherwise.
+     */
+    private static boolean isAvailable(int port) {
+        try (ServerSocket socket = new ServerSocket()) {
+            socket.setReuseAddress(false);
+            socket.bind(new InetSocketAddress(port));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
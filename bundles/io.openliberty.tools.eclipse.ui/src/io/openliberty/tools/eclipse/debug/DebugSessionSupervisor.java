@@ -0,0 +1,157 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.debug;
+
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.model.IDebugTarget;
+import org.eclipse.debug.core.model.IProcess;
+
+import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.Project;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTab;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTabController;
+import io.openliberty.tools.eclipse.ui.terminal.TerminalListener;
+
+/**
+ * Watches the debug target attached to the Liberty server JVM of a dev mode session. Dev mode restarts the server JVM when the
+ * server configuration, build file or features change. When that happens, the JVM exits, and the debug target terminates while
+ * the dev mode session is still running. The supervisor then attaches the debugger to the restarted JVM through the same port
+ * and into the same launch. Breakpoints are managed by the workspace, so they are installed on the new debug target.
+ */
+public class DebugSessionSupervisor implements IDebugEventSetListener, TerminalListener {
+
+    /** The debug mode handler used to attach the debugger. */
+    private final DebugModeHandler debugModeHandler;
+
+    /** The project running in dev mode. */
+    private final Project project;
+
+    /** The launch the debug target belongs to. */
+    private final ILaunch launch;
+
+    /** The debug port of the server JVM. */
+    private final String debugPort;
+
+    /** The supervised debug target. */
+    private final IDebugTarget debugTarget;
+
+    /**
+     * Constructor.
+     *
+     * @param debugModeHandler The debug mode handler used to attach the debugger.
+     * @param project The project running in dev mode.
+     * @param launch The launch the debug target belongs to.
+     * @param debugPort The debug port of the server JVM.
+     * @param debugTarget The debug target to supervise.
+     */
+    DebugSessionSupervisor(DebugModeHandler debugModeHandler, Project project, ILaunch launch, String debugPort,
+            IDebugTarget debugTarget) {
+        this.debugModeHandler = debugModeHandler;
+        this.project = project;
+        this.launch = launch;
+        this.debugPort = debugPort;
+        this.debugTarget = debugTarget;
+    }
+
+    /**
+     * Starts supervising the debug target. Supervision ends when the debug target terminates, when the process of the dev mode
+     * terminal ends, or when the dev mode session ends.
+     */
+    void start() {
+        DebugPlugin.getDefault().addDebugEventListener(this);
+        DevModeOperations.getInstance().registerTerminalListener(getProjectName(), this);
+
+        ProjectTab projectTab = ProjectTabController.getInstance().getProjectTab(getProjectName());
+        ProcessHandle process = (projectTab == null) ? null : projectTab.getProcessHandle();
+        if (process != null) {
+            process.onExit().thenRun(this::stop);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleDebugEvents(DebugEvent[] events) {
+        for (DebugEvent event : events) {
+            if (event.getKind() == DebugEvent.TERMINATE && event.getSource() == debugTarget) {
+                stop();
+
+                if (isServerRestart()) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "The server JVM of project " + getProjectName()
+                                + " exited while dev mode is running. Attaching the debugger again on port " + debugPort);
+                    }
+
+                    launch.removeDebugTarget(debugTarget);
+                    debugModeHandler.reattachDebugger(project, launch, debugPort);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Called when the dev mode session ends.
+     */
+    @Override
+    public void cleanup() {
+        DebugPlugin.getDefault().removeDebugEventListener(this);
+    }
+
+    /**
+     * Ends supervision.
+     */
+    private void stop() {
+        cleanup();
+        DevModeOperations.getInstance().unregisterTerminalListener(getProjectName(), this);
+    }
+
+    /**
+     * Returns true if the debug target terminated because the server JVM exited while the dev mode session is still running.
+     * False, otherwise. A debug target that the user terminated or disconnected, either directly or through its launch, and a
+     * launch that the user removed are not re-attached. If dev mode is stopping, the re-attach attempt ends as soon as the dev
+     * mode process ends.
+     *
+     * @return True if the debug target terminated because the server JVM exited while the dev mode session is still running.
+     */
+    private boolean isServerRestart() {
+        if (debugTarget.isDisconnected() || !DebugPlugin.getDefault().getLaunchManager().isRegistered(launch)) {
+            return false;
+        }
+
+        IProcess process = debugTarget.getProcess();
+        if (process instanceof RemoteServerProcess && ((RemoteServerProcess) process).isTerminateRequested()) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                        "The debug target of project " + getProjectName() + " was terminated by the user. It is not attached again.");
+            }
+            return false;
+        }
+
+        return DebugModeHandler.isDevModeRunning(getProjectName());
+    }
+
+    /**
+     * Returns the name of the project running in dev mode.
+     *
+     * @return The name of the project running in dev mode.
+     */
+    private String getProjectName() {
+        return project.getIProject().getName();
+    }
+}
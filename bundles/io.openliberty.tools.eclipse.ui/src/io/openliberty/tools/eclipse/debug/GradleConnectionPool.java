@@ -0,0 +1,402 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.debug;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.gradle.tooling.BuildException;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.ProjectConnection;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.utils.Utils;
+
+/**
+ * Pool of Gradle tooling API connections keyed by project directory. Opening a connection and requesting a model contacts or
+ * starts a Gradle daemon and runs the configuration phase of the build, so connections are kept open between requests, and the
+ * models they return are cached until one of the Gradle build files of the project, its version catalog or its buildSrc build
+ * logic changes. Connections that are not used for {@link #IDLE_TIMEOUT_MS} are closed.
+ */
+public class GradleConnectionPool implements IResourceChangeListener {
+
+    /** The family of the idle connection eviction job. */
+    public static final Object JOB_FAMILY = GradleConnectionPool.class;
+
+    /** Time after which a connection that was not used is closed. */
+    public static final long IDLE_TIMEOUT_MS = 5 * 60 * 1000;
+
+    /**
+     * Gradle distribution that supports Java 21.
+     * Gradle version 8.4+ supports Java 21.
+     */
+    public static final String GRADLE_DISTRIBUTION_VERSION = "8.8";
+
+    /** Gradle build files whose changes invalidate the cached models. */
+    public static final String[] GRADLE_BUILD_FILE_NAMES = WorkspaceArtifactIndex.GRADLE_BUILD_FILE_NAMES;
+
+    /** Location of the default Gradle version catalog relative to the root of a build. */
+    public static final String VERSION_CATALOG_PATH = "gradle/libs.versions.toml";
+
+    /** Directory of the build logic that Gradle compiles before configuring the build. */
+    public static final String BUILD_SRC_DIR_NAME = "buildSrc";
+
+    /** Directories of buildSrc that hold the output of Gradle builds. Their changes do not invalidate the cached models. */
+    static final String[] BUILD_SRC_OUTPUT_DIR_NAMES = new String[] { "build", ".gradle" };
+
+    /** Single instance of this class. */
+    private static GradleConnectionPool instance;
+
+    /** Pooled connections keyed by project directory. */
+    private final Map<File, PooledConnection> connections = new ConcurrentHashMap<File, PooledConnection>();
+
+    /**
+     * Project directories whose builds require the fallback Gradle distribution. The decision outlives the connections, so that an
+     * evicted connection is not opened again with the distribution that failed.
+     */
+    private final Map<File, Boolean> fallbackDistributionDirs = new ConcurrentHashMap<File, Boolean>();
+
+    /** Closes the connections that were not used for {@link #IDLE_TIMEOUT_MS}. */
+    private final Job evictionJob;
+
+    /**
+     * Constructor.
+     */
+    private GradleConnectionPool() {
+        evictionJob = new Job("Closing idle Gradle connections") {
+
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                evictIdleConnections();
+
+                if (!connections.isEmpty() && !monitor.isCanceled()) {
+                    schedule(IDLE_TIMEOUT_MS);
+                }
+
+                return Status.OK_STATUS;
+            }
+
+            @Override
+            public boolean belongsTo(Object family) {
+                return family == JOB_FAMILY;
+            }
+        };
+        evictionJob.setSystem(true);
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized GradleConnectionPool getInstance() {
+        if (instance == null) {
+            instance = new GradleConnectionPool();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns the model of the input type built for the input Gradle project. The model is cached until one of the Gradle build
+     * files of the project changes.
+     *
+     * @param <T> The model type.
+     * @param project The Gradle project.
+     * @param modelType The model type.
+     *
+     * @return The model of the input type built for the input Gradle project.
+     */
+    public <T> T getModel(IProject project, Class<T> modelType) {
+        File projectDir = project.getLocation().toFile();
+        T model = null;
+
+        // A connection that is evicted while it is being obtained returns no model, and is replaced.
+        while (model == null) {
+            model = connections.computeIfAbsent(projectDir, PooledConnection::new).getModel(modelType);
+        }
+
+        if (evictionJob.getState() == Job.NONE) {
+            evictionJob.schedule(IDLE_TIMEOUT_MS);
+        }
+
+        return model;
+    }
+
+    /**
+     * Closes all connections and discards the cached models.
+     */
+    public void close() {
+        evictionJob.cancel();
+
+        for (File projectDir : new ArrayList<File>(connections.keySet())) {
+            PooledConnection pooledConnection = connections.remove(projectDir);
+            if (pooledConnection != null) {
+                pooledConnection.evict();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null || connections.isEmpty()) {
+            return;
+        }
+
+        // Build files are at the root of the projects, so only the first two levels of the delta are inspected, in addition to
+        // the version catalog and the buildSrc directory.
+        for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+            if (projectDelta.getKind() == IResourceDelta.REMOVED || (projectDelta.getFlags() & IResourceDelta.OPEN) != 0) {
+                invalidate(projectDelta.getResource());
+                continue;
+            }
+
+            if (projectDelta.findMember(new Path(VERSION_CATALOG_PATH)) != null
+                    || isBuildSrcChange(projectDelta.findMember(new Path(BUILD_SRC_DIR_NAME)))) {
+                invalidate(projectDelta.getResource());
+                continue;
+            }
+
+            for (IResourceDelta fileDelta : projectDelta.getAffectedChildren()) {
+                if (fileDelta.getResource().getType() == IResource.FILE
+                        && Arrays.asList(GRADLE_BUILD_FILE_NAMES).contains(fileDelta.getResource().getName())) {
+                    invalidate(projectDelta.getResource());
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if the input buildSrc delta reports a change to the build logic. False, otherwise. Changes to the output that
+     * Gradle writes when it compiles buildSrc are ignored.
+     *
+     * @param buildSrcDelta The delta of the buildSrc directory, or null if it did not change.
+     *
+     * @return True if the input buildSrc delta reports a change to the build logic. False, otherwise.
+     */
+    static boolean isBuildSrcChange(IResourceDelta buildSrcDelta) {
+        if (buildSrcDelta == null) {
+            return false;
+        }
+
+        if (buildSrcDelta.getKind() != IResourceDelta.CHANGED) {
+            return true;
+        }
+
+        for (IResourceDelta childDelta : buildSrcDelta.getAffectedChildren()) {
+            if (!Arrays.asList(BUILD_SRC_OUTPUT_DIR_NAMES).contains(childDelta.getResource().getName())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Discards the models cached for the input project and for the projects nested in it or enclosing it. A change to the build
+     * files of a parent project affects the models of its subprojects, and the other way around.
+     *
+     * @param project The project whose build changed.
+     */
+    private void invalidate(IResource project) {
+        if (project.getLocation() == null) {
+            return;
+        }
+
+        File changedDir = project.getLocation().toFile();
+        for (Map.Entry<File, PooledConnection> entry : connections.entrySet()) {
+            File projectDir = entry.getKey();
+            if (projectDir.toPath().startsWith(changedDir.toPath()) || changedDir.toPath().startsWith(projectDir.toPath())) {
+                entry.getValue().clearModels();
+            }
+        }
+    }
+
+    /**
+     * Closes the connections that were not used for {@link #IDLE_TIMEOUT_MS}.
+     */
+    private void evictIdleConnections() {
+        long now = System.currentTimeMillis();
+
+        for (Map.Entry<File, PooledConnection> entry : connections.entrySet()) {
+            PooledConnection pooledConnection = entry.getValue();
+            if (now - pooledConnection.lastUsed >= IDLE_TIMEOUT_MS && connections.remove(entry.getKey(), pooledConnection)) {
+                pooledConnection.evict();
+
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Closed idle Gradle connection to " + entry.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * A connection to the Gradle build of a project directory, with the models it returned.
+     */
+    private class PooledConnection {
+
+        /** The project directory. */
+        private final File projectDir;
+
+        /** Models keyed by type. */
+        private final Map<Class<?>, Object> models = new HashMap<Class<?>, Object>();
+
+        /** The connection, or null if it is not open. */
+        private ProjectConnection connection;
+
+        /** Time the connection was last used. */
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        /** True if the connection was removed from the pool. */
+        private boolean evicted;
+
+        PooledConnection(File projectDir) {
+            this.projectDir = projectDir;
+        }
+
+        /**
+         * Returns the model of the input type, building it if it is not cached.
+         *
+         * @param <T> The model type.
+         * @param modelType The model type.
+         *
+         * @return The model of the input type, or null if the connection was removed from the pool.
+         */
+        synchronized <T> T getModel(Class<T> modelType) {
+            if (evicted) {
+                return null;
+            }
+
+            lastUsed = System.currentTimeMillis();
+
+            Object model = models.get(modelType);
+            if (model != null) {
+                return modelType.cast(model);
+            }
+
+            long startTime = System.currentTimeMillis();
+            T newModel;
+
+            try {
+                newModel = getConnection().getModel(modelType);
+            } catch (BuildException e) {
+                // When using Eclipse IDE 2024-06, this exception could have been caused by the
+                // Gradle tooling API using a Gradle distribution that does not support Java 21.
+                //
+                // Per the GradleConnector documentation, if no Gradle version is defined for the
+                // build (Gradle wrapper properties file), the connection will use the tooling API's
+                // version as the Gradle version to run the build.
+                // Therefore, if a Gradle version is not defined for the build and given that the
+                // tooling version currently being used is 8.1.1, Gradle 8.1.1
+                // is downloaded and used by the connector. Gradle 8.1.1 does not support Java 21,
+                // which causes runtime issues (Unsupported class file major version 65).
+                // As a workaround, specify a Java 21 compatible Gradle version that the tooling
+                // can use (i.e. 8.4+). Note that since it is preferable to use the default version
+                // provided by the tooling API, setting the version can be revised at a later time.
+                Throwable rootCause = Utils.findRootCause(e);
+                String message = (rootCause instanceof IllegalArgumentException) ? rootCause.getMessage() : null;
+                if (message == null || !message.contains("Unsupported class file major version 65")
+                        || fallbackDistributionDirs.containsKey(projectDir)) {
+                    throw e;
+                }
+
+                // Remember the decision, so that later connections to this build use the fallback distribution right away.
+                fallbackDistributionDirs.put(projectDir, Boolean.TRUE);
+                close();
+                newModel = getConnection().getModel(modelType);
+            }
+
+            models.put(modelType, newModel);
+
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Built Gradle model " + modelType.getSimpleName() + " of " + projectDir + " in "
+                        + (System.currentTimeMillis() - startTime) + " ms. Fallback distribution: "
+                        + fallbackDistributionDirs.containsKey(projectDir));
+            }
+
+            return newModel;
+        }
+
+        /**
+         * Returns the connection, opening it if needed.
+         *
+         * @return The connection.
+         */
+        private ProjectConnection getConnection() {
+            if (connection == null) {
+                GradleConnector connector = GradleConnector.newConnector();
+
+                if (fallbackDistributionDirs.containsKey(projectDir)) {
+                    connector.useGradleVersion(GRADLE_DISTRIBUTION_VERSION);
+                }
+
+                connector.forProjectDirectory(projectDir);
+                connection = connector.connect();
+            }
+
+            return connection;
+        }
+
+        /**
+         * Discards the cached models.
+         */
+        synchronized void clearModels() {
+            models.clear();
+        }
+
+        /**
+         * Closes the connection after it was removed from the pool.
+         */
+        synchronized void evict() {
+            evicted = true;
+            close();
+        }
+
+        /**
+         * Closes the connection and discards the cached models.
+         */
+        synchronized void close() {
+            models.clear();
+
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (Exception e) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to close the Gradle connection to " + projectDir, e);
+                    }
+                }
+                connection = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.debug;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.IDebugEventSetListener;
+import org.eclipse.debug.core.model.IDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaHotCodeReplaceListener;
+import org.eclipse.osgi.util.NLS;
+
+import io.openliberty.tools.eclipse.logging.Logger;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.messages.Messages;
+
+/**
+ * Records the outcome of the hot code replace attempts that JDT makes on the debug targets attached to dev mode servers. When the
+ * debugger is attached, a Java change built by the workspace is applied to the server JVM right away through JDI class
+ * redefinition. Dev mode also recompiles the change and updates the application, which is how changes that the JVM rejects, such
+ * as added methods or fields, are applied.
+ *
+ * The outcomes are recorded per debug target, so that each debug session starts from zero, and are dropped when the debug target
+ * terminates.
+ */
+public class HotCodeReplaceMonitor implements IJavaHotCodeReplaceListener, IDebugEventSetListener {
+
+    /** Single instance of this class. */
+    private static HotCodeReplaceMonitor instance;
+
+    /** Hot code replace outcomes keyed by the monitored debug target. */
+    private final Map<IJavaDebugTarget, Outcomes> outcomes = new ConcurrentHashMap<IJavaDebugTarget, Outcomes>();
+
+    /**
+     * Constructor.
+     */
+    private HotCodeReplaceMonitor() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized HotCodeReplaceMonitor getInstance() {
+        if (instance == null) {
+            instance = new HotCodeReplaceMonitor();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Starts recording the hot code replace outcomes of the input debug target.
+     *
+     * @param projectName The name of the project whose dev mode server the debug target is attached to.
+     * @param debugTarget The debug target.
+     */
+    public void register(String projectName, IDebugTarget debugTarget) {
+        // Terminate events can be missed if the debug target terminated before it was registered.
+        outcomes.keySet().removeIf(IJavaDebugTarget::isTerminated);
+
+        if (debugTarget instanceof IJavaDebugTarget && !debugTarget.isTerminated()) {
+            outcomes.put((IJavaDebugTarget) debugTarget, new Outcomes(projectName));
+        }
+    }
+
+    /**
+     * Returns a summary of the hot code replace outcomes of the debug session of the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return A summary of the hot code replace outcomes of the input project, or null if no debug target is attached to its
+     *         server or if there were no attempts.
+     */
+    public String getSummary(String projectName) {
+        int succeeded = 0;
+        int rejected = 0;
+        for (Outcomes targetOutcomes : outcomes.values()) {
+            if (targetOutcomes.projectName.equals(projectName)) {
+                succeeded += targetOutcomes.succeeded.get();
+                rejected += targetOutcomes.rejected.get();
+            }
+        }
+
+        if (succeeded == 0 && rejected == 0) {
+            return null;
+        }
+
+        return NLS.bind(Messages.hot_code_replace_summary, succeeded, rejected);
+    }
+
+    /**
+     * {@inheritDoc} Drops the outcomes of the monitored debug targets that terminated.
+     */
+    @Override
+    public void handleDebugEvents(DebugEvent[] events) {
+        for (DebugEvent event : events) {
+            if (event.getKind() == DebugEvent.TERMINATE && event.getSource() instanceof IJavaDebugTarget) {
+                Outcomes targetOutcomes = outcomes.remove(event.getSource());
+                if (targetOutcomes != null && Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                            "Debug target of the server of project " + targetOutcomes.projectName + " terminated. Dropped its outcomes.");
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void hotCodeReplaceSucceeded(IJavaDebugTarget target) {
+        Outcomes targetOutcomes = outcomes.get(target);
+        if (targetOutcomes == null) {
+            return;
+        }
+
+        int count = targetOutcomes.succeeded.incrementAndGet();
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Hot code replace succeeded on the server of project " + targetOutcomes.projectName
+                    + ". Succeeded attempts: " + count);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void hotCodeReplaceFailed(IJavaDebugTarget target, DebugException exception) {
+        Outcomes targetOutcomes = outcomes.get(target);
+        if (targetOutcomes == null) {
+            return;
+        }
+
+        targetOutcomes.rejected.incrementAndGet();
+
+        String reason = (exception != null) ? exception.getMessage() : null;
+        Logger.logInfo(NLS.bind(Messages.hot_code_replace_rejected, targetOutcomes.projectName, reason));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void obsoleteMethods(IJavaDebugTarget target) {
+        Outcomes targetOutcomes = outcomes.get(target);
+        if (targetOutcomes != null && Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                    "Hot code replace left obsolete methods on the stack of the server of project " + targetOutcomes.projectName);
+        }
+    }
+
+    /**
+     * Hot code replace outcome counts of a debug target.
+     */
+    private static class Outcomes {
+
+        /** Name of the project whose dev mode server the debug target is attached to. */
+        private final String projectName;
+
+        /** Number of attempts that succeeded. */
+        private final AtomicInteger succeeded = new AtomicInteger();
+
+        /** Number of attempts that the JVM rejected. */
+        private final AtomicInteger rejected = new AtomicInteger();
+
+        /**
+         * Constructor.
+         *
+         * @param projectName The name of the project whose dev mode server the debug target is attached to.
+         */
+        private Outcomes(String projectName) {
+            this.projectName = projectName;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2023 IBM Corporation and others.
+* Copyright (c) 2023, 2024 IBM Corporation and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -13,14 +13,47 @@
 package io.openliberty.tools.eclipse.debug;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.debug.core.sourcelookup.AbstractSourceLookupDirector;
+import org.eclipse.debug.core.sourcelookup.ISourceContainer;
 import org.eclipse.debug.core.sourcelookup.ISourceLookupParticipant;
 import org.eclipse.jdt.launching.sourcelookup.containers.JavaSourceLookupParticipant;
 
+import io.openliberty.tools.eclipse.logging.Trace;
+
 public class LibertySourceLookupDirector extends AbstractSourceLookupDirector {
 
+    /** Maximum number of source names whose lookup results are cached. */
+    public static final int MAX_CACHED_SOURCE_NAMES = 512;
+
+    /**
+     * Source elements found for a source name, in least recently used order. Stepping through frames looks up the same types
+     * repeatedly, and each lookup searches all source containers of the launch.
+     */
+    private final Map<String, List<Object>> sourceElementCache = new LinkedHashMap<String, List<Object>>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<Object>> eldest) {
+            return size() > MAX_CACHED_SOURCE_NAMES;
+        }
+    };
+
+    /** Number of lookups served from the cache. */
+    private final AtomicLong cacheHits = new AtomicLong();
+
+    /** Number of lookups that searched the source containers. */
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    /** Time spent searching the source containers, in nanoseconds. */
+    private final AtomicLong lookupNanos = new AtomicLong();
+
     @Override
     public void initializeParticipants() {
         final List<ISourceLookupParticipant> participants = new ArrayList<>();
@@ -29,4 +62,147 @@ public class LibertySourceLookupDirector extends AbstractSourceLookupDirector {
 
         addParticipants(participants.toArray(new ISourceLookupParticipant[participants.size()]));
     }
+
+    /**
+     * Returns the source elements found for the input element. Results are cached by source name until the source containers
+     * change. Lookups that find nothing are not cached, so that source added to the workspace later is found.
+     *
+     * @param element The debug artifact, for example a stack frame.
+     *
+     * @return The source elements found for the input element.
+     */
+    @Override
+    protected List<Object> doSourceLookup(Object element) {
+        String sourceName = getSourceName(element);
+        if (sourceName != null) {
+            List<Object> cached = getCachedSourceElements(sourceName);
+            if (cached != null) {
+                cacheHits.incrementAndGet();
+                return new ArrayList<Object>(cached);
+            }
+        }
+
+        long startTime = System.nanoTime();
+        List<Object> sourceElements = super.doSourceLookup(element);
+        lookupNanos.addAndGet(System.nanoTime() - startTime);
+        cacheMisses.incrementAndGet();
+
+        if (sourceName != null && sourceElements != null && !sourceElements.isEmpty()) {
+            synchronized (sourceElementCache) {
+                sourceElementCache.put(sourceName, new ArrayList<Object>(sourceElements));
+            }
+        }
+
+        return sourceElements;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSourceContainers(ISourceContainer[] containers) {
+        clearSourceElementCache();
+        super.setSourceContainers(containers);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clearSourceElements(Object element) {
+        clearSourceElementCache();
+        super.clearSourceElements(element);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void dispose() {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Source lookup statistics of launch configuration " + getLaunchConfiguration()
+                    + ": hits: " + cacheHits.get() + ", misses: " + cacheMisses.get() + ", hit rate: "
+                    + String.format("%.2f", getCacheHitRate()) + ", average lookup time: "
+                    + String.format("%.3f", getAverageLookupMillis()) + " ms.");
+        }
+
+        clearSourceElementCache();
+        super.dispose();
+    }
+
+    /**
+     * Returns the fraction of source lookups served from the cache.
+     *
+     * @return The fraction of source lookups served from the cache, or 0 if there were no lookups.
+     */
+    public double getCacheHitRate() {
+        long hits = cacheHits.get();
+        long total = hits + cacheMisses.get();
+        return (total == 0) ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Returns the average time spent searching the source containers for a lookup that was not served from the cache.
+     *
+     * @return The average time spent searching the source containers, in milliseconds, or 0 if there were no such lookups.
+     */
+    public double getAverageLookupMillis() {
+        long misses = cacheMisses.get();
+        return (misses == 0) ? 0 : lookupNanos.get() / (misses * 1000000.0);
+    }
+
+    /**
+     * Returns the cached source elements of the input source name, dropping them if any of them was removed from the workspace.
+     *
+     * @param sourceName The source name.
+     *
+     * @return The cached source elements of the input source name, or null if there are none.
+     */
+    private List<Object> getCachedSourceElements(String sourceName) {
+        synchronized (sourceElementCache) {
+            List<Object> cached = sourceElementCache.get(sourceName);
+            if (cached == null) {
+                return null;
+            }
+
+            for (Object sourceElement : cached) {
+                if (sourceElement instanceof IResource && !((IResource) sourceElement).exists()) {
+                    sourceElementCache.remove(sourceName);
+                    return null;
+                }
+            }
+
+            return cached;
+        }
+    }
+
+    /**
+     * Returns the name of the source file of the input element.
+     *
+     * @param element The debug artifact.
+     *
+     * @return The name of the source file of the input element, or null if it cannot be determined.
+     */
+    private String getSourceName(Object element) {
+        for (ISourceLookupParticipant participant : getParticipants()) {
+            if (participant instanceof JavaSourceLookupParticipant) {
+                try {
+                    return ((JavaSourceLookupParticipant) participant).getSourceName(element);
+                } catch (CoreException e) {
+                    return null;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes all cached source elements.
+     */
+    private void clearSourceElementCache() {
+        synchronized (sourceElementCache) {
+            sourceElementCache.clear();
+        }
+    }
 }
@@ -12,17 +12,29 @@
 *******************************************************************************/
 package io.openliberty.tools.eclipse.debug;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.project.MavenProject;
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.sourcelookup.ISourceContainer;
 import org.eclipse.debug.core.sourcelookup.ISourcePathComputerDelegate;
@@ -31,35 +43,28 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.launching.IRuntimeClasspathEntry;
 import org.eclipse.jdt.launching.JavaRuntime;
 import org.eclipse.m2e.core.MavenPlugin;
-import org.eclipse.m2e.core.project.IMavenProjectFacade;
-import org.eclipse.m2e.core.project.IMavenProjectRegistry;
-import org.gradle.tooling.BuildException;
-import org.gradle.tooling.GradleConnector;
-import org.gradle.tooling.ProjectConnection;
 import org.gradle.tooling.model.ExternalDependency;
 import org.gradle.tooling.model.GradleModuleVersion;
 import org.gradle.tooling.model.eclipse.EclipseProject;
+import org.gradle.tooling.model.eclipse.EclipseProjectDependency;
 
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.LibertyDevPlugin;
 import io.openliberty.tools.eclipse.Project;
+import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.ui.launch.StartTab;
-import io.openliberty.tools.eclipse.utils.Utils;
 
 public class LibertySourcePathComputer implements ISourcePathComputerDelegate {
 
     /**
-     * Gradle distribution that supports Java 21.
-     * Gradle version 8.4+ supports Java 21. 
+     * Maximum number of base projects resolved concurrently. Resolution mostly waits on m2e and the Gradle daemon, so the bound
+     * keeps large multi-module projects from flooding them with requests.
      */
-    private static String GRADLE_DISTRIBUTION_VERISION = "8.8";
-    
-    ArrayList<IRuntimeClasspathEntry> unresolvedClasspathEntries;
+    private static final int MAX_RESOLUTION_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
 
     @Override
     public ISourceContainer[] computeSourceContainers(ILaunchConfiguration configuration, IProgressMonitor monitor) throws CoreException {
 
-        unresolvedClasspathEntries = new ArrayList<IRuntimeClasspathEntry>();
-
         /*
          * This method computes the default source lookup paths for a particular launch configuration. We are doing this in two ways:
          * .
@@ -67,9 +72,9 @@ public class LibertySourcePathComputer implements ISourcePathComputerDelegate {
          * .
          * 2. We are finding any project dependencies that are also present in the current Eclipse workspace and adding those projects.
          * . For this step we are using m2e and gradle/buildship APIs to get lists of the dependency artifacts and then checking if those
-         * . artifact coordinates map to any existing projects in the workspace. At the moment, the dependency projects must be Maven
-         * . projects. M2e offers APIs to lookup Maven projects in the workspace based on artifact coordinates,
-         * . but Gradle/Buildship does not offer similar capabilities for Gradle projects.
+         * . artifact coordinates map to any existing projects in the workspace. Artifact coordinates are mapped to Maven projects
+         * . through m2e, and to Gradle projects through the publications they declare (see WorkspaceArtifactIndex). Dependencies
+         * . on other projects of the same Gradle build are mapped through their project directory.
          */
 
         // Get current project
@@ -80,27 +85,35 @@ public class LibertySourcePathComputer implements ISourcePathComputerDelegate {
         // Get full list of projects (multi-mod, children, siblings, etc)
         List<Project> baseProjects = getBaseProjects(project);
 
-        // Loop through each
-        for (Project baseProject : baseProjects) {
-
-            addRuntimeDependencies(baseProject.getIProject());
+        // Reuse the source lookup path computed by a previous launch if nothing it depends on changed.
+        long startTime = System.currentTimeMillis();
+        SourceContainerCache cache = SourceContainerCache.getInstance();
+        List<Object> fingerprint = SourceContainerCache.computeFingerprint(configuration, baseProjects);
+        IRuntimeClasspathEntry[] resolvedClasspathDependencies = cache.get(projectName, fingerprint);
+        boolean cached = resolvedClasspathDependencies != null;
 
-            // Get project dependencies that are open in the same workspace
-            List<IProject> projectDependencies = getProjectDependencies(baseProject);
+        if (!cached) {
+            Set<String> projectNames = new HashSet<String>();
 
-            // Create the classpath entry for the project dependencies found
-            for (IProject dependencyProject : projectDependencies) {
+            // Keeps the order in which entries are found and drops duplicates in constant time.
+            Set<IRuntimeClasspathEntry> unresolvedClasspathEntries = new LinkedHashSet<IRuntimeClasspathEntry>();
 
-                if (dependencyProject.isNatureEnabled(JavaCore.NATURE_ID)) {
-                    IJavaProject dependencyJavaProject = JavaCore.create(dependencyProject);
-                    unresolvedClasspathEntries.add(JavaRuntime.newDefaultProjectClasspathEntry(dependencyJavaProject));
-                }
+            // Resolve the base projects concurrently, and merge their entries in base project order
+            for (BaseProjectResolution resolution : resolveBaseProjects(projectName, baseProjects)) {
+                projectNames.addAll(resolution.projectNames);
+                unresolvedClasspathEntries.addAll(resolution.classpathEntries);
             }
+
+            // Resolve and get final list of source containers
+            resolvedClasspathDependencies = JavaRuntime.resolveSourceLookupPath(
+                    unresolvedClasspathEntries.toArray(new IRuntimeClasspathEntry[unresolvedClasspathEntries.size()]), configuration);
+            cache.put(projectName, fingerprint, projectNames, resolvedClasspathDependencies);
         }
 
-        // Resolve and get final list of source containers
-        IRuntimeClasspathEntry[] resolvedClasspathDependencies = JavaRuntime.resolveSourceLookupPath(
-                unresolvedClasspathEntries.toArray(new IRuntimeClasspathEntry[unresolvedClasspathEntries.size()]), configuration);
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Source lookup path of project " + projectName + " computed in "
+                    + (System.currentTimeMillis() - startTime) + " ms. Cached: " + cached);
+        }
 
         ArrayList<ISourceContainer> containersList = new ArrayList<ISourceContainer>();
 
@@ -112,6 +125,108 @@ public class LibertySourcePathComputer implements ISourcePathComputerDelegate {
         return containers;
     }
 
+    /**
+     * Returns the classpath entries and the workspace project dependencies of each of the input base projects. Base projects are
+     * resolved concurrently on a bounded number of threads.
+     *
+     * @param projectName The name of the launched project.
+     * @param baseProjects The base projects.
+     *
+     * @return The resolution of each base project, in the order of the input list.
+     *
+     * @throws CoreException
+     */
+    private List<BaseProjectResolution> resolveBaseProjects(String projectName, List<Project> baseProjects) throws CoreException {
+        long startTime = System.currentTimeMillis();
+        List<BaseProjectResolution> resolutions = new ArrayList<BaseProjectResolution>(baseProjects.size());
+        int threadCount = Math.max(1, Math.min(MAX_RESOLUTION_THREADS, baseProjects.size()));
+
+        if (threadCount == 1) {
+            for (Project baseProject : baseProjects) {
+                resolutions.add(resolveBaseProject(baseProject));
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+                Thread thread = new Thread(runnable, "Liberty Tools source lookup path resolver");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            try {
+                List<Future<BaseProjectResolution>> futures = new ArrayList<Future<BaseProjectResolution>>(baseProjects.size());
+                for (Project baseProject : baseProjects) {
+                    futures.add(executor.submit(() -> resolveBaseProject(baseProject)));
+                }
+
+                for (Future<BaseProjectResolution> future : futures) {
+                    resolutions.add(future.get());
+                }
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CoreException) {
+                    throw (CoreException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new CoreException(new Status(IStatus.ERROR, LibertyDevPlugin.PLUGIN_ID, cause.getMessage(), cause));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CoreException(new Status(IStatus.CANCEL, LibertyDevPlugin.PLUGIN_ID, e.getMessage(), e));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        if (Trace.isEnabled()) {
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            long sequentialTime = 0;
+            for (BaseProjectResolution resolution : resolutions) {
+                sequentialTime += resolution.elapsedTime;
+            }
+            Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                    "Resolved " + baseProjects.size() + " base projects of project " + projectName + " on " + threadCount
+                            + " threads in " + elapsedTime + " ms. Time spent resolving each project: " + sequentialTime
+                            + " ms. Speedup: " + String.format("%.2f", (double) sequentialTime / Math.max(1, elapsedTime)));
+        }
+
+        return resolutions;
+    }
+
+    /**
+     * Returns the runtime classpath entries of the input base project followed by the classpath entries of its project
+     * dependencies that are open in the workspace.
+     *
+     * @param baseProject The base project.
+     *
+     * @return The resolution of the input base project.
+     *
+     * @throws CoreException
+     */
+    private BaseProjectResolution resolveBaseProject(Project baseProject) throws CoreException {
+        long startTime = System.currentTimeMillis();
+        BaseProjectResolution resolution = new BaseProjectResolution();
+
+        resolution.projectNames.add(baseProject.getIProject().getName());
+        resolution.classpathEntries.addAll(getRuntimeDependencies(baseProject.getIProject()));
+
+        // Get project dependencies that are open in the same workspace
+        List<IProject> projectDependencies = getProjectDependencies(baseProject);
+
+        // Create the classpath entry for the project dependencies found
+        for (IProject dependencyProject : projectDependencies) {
+
+            resolution.projectNames.add(dependencyProject.getName());
+            if (dependencyProject.isNatureEnabled(JavaCore.NATURE_ID)) {
+                IJavaProject dependencyJavaProject = JavaCore.create(dependencyProject);
+                resolution.classpathEntries.add(JavaRuntime.newDefaultProjectClasspathEntry(dependencyJavaProject));
+            }
+        }
+
+        resolution.elapsedTime = System.currentTimeMillis() - startTime;
+        return resolution;
+    }
+
     private List<Project> getBaseProjects(Project project) {
         List<Project> baseProjects = new ArrayList<Project>();
 
@@ -134,127 +249,90 @@ public class LibertySourcePathComputer implements ISourcePathComputerDelegate {
 
             for (Artifact artifact : artifacts) {
 
-                IProject localProject = getLocalProject(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion());
+                IProject localProject = getLocalProject(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(), false);
                 if (localProject != null) {
                     projectDependencies.add(localProject);
                 }
             }
         } else {
-            ProjectConnection connection = getProjectGradleConnection(project.getIProject(), null);
+            EclipseProject eclipseProject = GradleConnectionPool.getInstance().getModel(project.getIProject(), EclipseProject.class);
 
-            try {
-                EclipseProject eclipseProject = null;
-
-                try {
-                    eclipseProject = connection.getModel(EclipseProject.class);
-                } catch(BuildException e) {
-                    // When using Eclipse IDE 2024-06, this exception could have been caused by the 
-                    // Gradle tooling API using a Gradle distribution that does not support Java 21.
-                    //
-                    // Per the GradleConnector documentation, if no Gradle version is defined for the 
-                    // build (Gradle wrapper properties file), the connection will use the tooling API's 
-                    // version as the Gradle version to run the build.
-                    // Therefore, if a Gradle version is not defined for the build and given that the 
-                    // tooling version currently being used is 8.1.1, Gradle 8.1.1 
-                    // is downloaded and used by the connector. Gradle 8.1.1 does not support Java 21, 
-                    // which causes runtime issues (Unsupported class file major version 65).
-                    // As a workaround, specify a Java 21 compatible Gradle version that the tooling
-                    // can use (i.e. 8.4+). Note that since it is preferable to use the default version 
-                    // provided by the tooling API, setting the version can be revised at a later time.
-                    Throwable rootCause = Utils.findRootCause(e);
-                    if (rootCause != null && rootCause instanceof IllegalArgumentException) {
-                         String message = rootCause.getMessage();
-                         
-                         if (message != null && message.contains("Unsupported class file major version 65")) {
-                             connection = getProjectGradleConnection(project.getIProject(), GRADLE_DISTRIBUTION_VERISION);
-                             eclipseProject = connection.getModel(EclipseProject.class);
-                         }
-                    } else {
-                        throw e;
-                    }
+            for (ExternalDependency externalDependency : eclipseProject.getClasspath()) {
+
+                GradleModuleVersion gradleModuleVersion = externalDependency.getGradleModuleVersion();
+                if (gradleModuleVersion == null) {
+                    // File dependencies have no coordinates.
+                    continue;
                 }
 
-                for (ExternalDependency externalDependency : eclipseProject.getClasspath()) {
+                IProject localProject = getLocalProject(gradleModuleVersion.getGroup(), gradleModuleVersion.getName(),
+                        gradleModuleVersion.getVersion(), true);
+                if (localProject != null) {
+                    projectDependencies.add(localProject);
+                }
+            }
 
-                    GradleModuleVersion gradleModuleVersion = externalDependency.getGradleModuleVersion();
+            // Dependencies on other projects of the same Gradle build are not reported as external dependencies
+            for (EclipseProjectDependency projectDependency : eclipseProject.getProjectDependencies()) {
 
-                    IProject localProject = getLocalProject(gradleModuleVersion.getGroup(), gradleModuleVersion.getName(),
-                            gradleModuleVersion.getVersion());
-                    if (localProject != null) {
-                        projectDependencies.add(localProject);
-                    }
+                File projectDirectory = projectDependency.getTargetProject().getProjectDirectory();
+                IContainer container = ResourcesPlugin.getWorkspace().getRoot()
+                        .getContainerForLocation(Path.fromOSString(projectDirectory.getAbsolutePath()));
+                if (container instanceof IProject && container.isAccessible()) {
+                    projectDependencies.add((IProject) container);
                 }
-            } finally {
-                connection.close();
             }
         }
 
         return projectDependencies;
     }
 
-    /**
-     * Returns a connection to the input gradle project.
-     * 
-     * @param project The Gradle project.
-     * @param gradleDistVersion The gradle distribution version to be used by the
-     *                          Gradle API tooling.
-     * 
-     * @return A connection to the input gradle project.
-     */
-    private ProjectConnection getProjectGradleConnection(IProject project, String gradleDistVersion) {
-        GradleConnector connector = GradleConnector.newConnector();
-
-        if (gradleDistVersion != null) {
-            connector.useGradleVersion(gradleDistVersion);
-        }
-
-        connector.forProjectDirectory(project.getLocation().toFile());
-        return connector.connect();
-    }
-
     /**
      * Get project if found in local workspace based on artifact coordinates
      * 
      * @param groupId
      * @param artifactId
      * @param version
+     * @param awaitGradleIndex True to wait for the Gradle projects that are still being indexed. Only Gradle launches wait, so
+     *            that the source lookup of Maven projects is not delayed by unrelated Gradle builds.
      * 
      * @return
      */
-    private IProject getLocalProject(String groupId, String artifactId, String version) {
-
-        // Check Maven projects
-        IMavenProjectRegistry mavenProjectRegistry = MavenPlugin.getMavenProjectRegistry();
-
-        IMavenProjectFacade mavenProjectFacade = mavenProjectRegistry.getMavenProject(groupId, artifactId, version);
-
-        if (mavenProjectFacade != null) {
-            return mavenProjectFacade.getProject();
-        }
-
-        // TODO: Check Gradle projects
-
-        return null;
+    private IProject getLocalProject(String groupId, String artifactId, String version, boolean awaitGradleIndex) {
+        return WorkspaceArtifactIndex.getInstance().getProject(groupId, artifactId, version, awaitGradleIndex);
     }
 
     /**
-     * Adds classpath entries for runtime dependencies to the unresolved classpath entries list
+     * Returns the classpath entries for runtime dependencies of the input project.
      * 
      * @param project
      * 
+     * @return The unresolved runtime classpath entries of the project, or an empty list if it is not a Java project.
+     * 
      * @throws CoreException
      */
-    private void addRuntimeDependencies(IProject project) throws CoreException {
+    private List<IRuntimeClasspathEntry> getRuntimeDependencies(IProject project) throws CoreException {
 
         // If the project is a java project, get classpath entries for runtime dependencies
         if (project.isNatureEnabled(JavaCore.NATURE_ID)) {
-            List<IRuntimeClasspathEntry> runtimeDependencies = Arrays
-                    .asList(JavaRuntime.computeUnresolvedRuntimeClasspath(JavaCore.create(project)));
-            for (IRuntimeClasspathEntry runtimeDependency : runtimeDependencies) {
-                if (!unresolvedClasspathEntries.contains(runtimeDependency)) {
-                    unresolvedClasspathEntries.add(runtimeDependency);
-                }
-            }
+            return Arrays.asList(JavaRuntime.computeUnresolvedRuntimeClasspath(JavaCore.create(project)));
         }
+
+        return new ArrayList<IRuntimeClasspathEntry>();
+    }
+
+    /**
+     * Classpath entries and workspace project names found for a single base project.
+     */
+    private static class BaseProjectResolution {
+
+        /** Runtime classpath entries of the base project, followed by those of its workspace project dependencies. */
+        private final List<IRuntimeClasspathEntry> classpathEntries = new ArrayList<IRuntimeClasspathEntry>();
+
+        /** Names of the base project and of its workspace project dependencies. */
+        private final Set<String> projectNames = new HashSet<String>();
+
+        /** Time spent resolving the base project, in milliseconds. */
+        private long elapsedTime;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.debug;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.PlatformObject;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.model.IProcess;
+import org.eclipse.debug.core.model.IStreamsProxy;
+
+/**
+ * The Liberty server JVM a debug target is attached to. The JVM is started and owned by dev mode, so this process is not added
+ * to the launch and has no streams. The debug target terminates it when the user terminates the debug target, or the launch
+ * that holds it, which allows a termination requested by the user to be told apart from the JVM exiting on its own.
+ */
+class RemoteServerProcess extends PlatformObject implements IProcess {
+
+    /** The launch the debug target belongs to. */
+    private final ILaunch launch;
+
+    /** The process label. */
+    private final String label;
+
+    /** The process attributes. */
+    private final Map<String, String> attributes = new HashMap<String, String>();
+
+    /** Indicates whether or not the user requested the termination of the process. */
+    private volatile boolean terminateRequested;
+
+    /**
+     * Constructor.
+     *
+     * @param launch The launch the debug target belongs to.
+     * @param label The process label.
+     */
+    RemoteServerProcess(ILaunch launch, String label) {
+        this.launch = launch;
+        this.label = label;
+    }
+
+    /**
+     * Returns true if the user requested the termination of the process through the debug target or its launch. False,
+     * otherwise.
+     *
+     * @return True if the user requested the termination of the process. False, otherwise.
+     */
+    boolean isTerminateRequested() {
+        return terminateRequested;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ILaunch getLaunch() {
+        return launch;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStreamsProxy getStreamsProxy() {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setAttribute(String key, String value) {
+        attributes.put(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String getAttribute(String key) {
+        return attributes.get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getExitValue() throws DebugException {
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canTerminate() {
+        return !terminateRequested;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTerminated() {
+        return terminateRequested;
+    }
+
+    /**
+     * {@inheritDoc} The debug target already asked the JVM to exit, so the request is only recorded.
+     */
+    @Override
+    public void terminate() throws DebugException {
+        terminateRequested = true;
+    }
+}
@@ -0,0 +1,313 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.debug;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
+import org.eclipse.jdt.launching.IRuntimeClasspathEntry;
+
+import io.openliberty.tools.eclipse.Project;
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Cache of the source lookup path computed for debug launches. Computing the path reads the Maven or Gradle model of every
+ * project involved and resolves their runtime classpath, which can take a long time for large multi-module projects.
+ *
+ * An entry is keyed by project name and is only used if the fingerprint of the launch still matches: the JRE of the launch
+ * configuration, the raw classpath of the base projects, and the modification stamps of their build files, Gradle version
+ * catalog and buildSrc build logic. Entries are also invalidated when the classpath of any project involved changes, when one of
+ * their build files, version catalog or buildSrc files changes, and when one of them is closed or removed. All entries are
+ * dropped when a project is added or opened, because dependencies that were resolved from the local repository may now resolve
+ * to the new project.
+ *
+ * The resolved classpath entries are cached rather than the source containers themselves, because source containers are bound to
+ * the source lookup director of a single launch and are disposed with it.
+ */
+public class SourceContainerCache implements IElementChangedListener, IResourceChangeListener {
+
+    /** Build files whose changes can affect the source lookup path. */
+    public static final String[] BUILD_FILE_NAMES = new String[] { "pom.xml", "build.gradle", "build.gradle.kts", "settings.gradle",
+            "settings.gradle.kts" };
+
+    /** Single instance of this class. */
+    private static SourceContainerCache instance;
+
+    /** Cache entries keyed by project name. */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+    /**
+     * Constructor.
+     */
+    private SourceContainerCache() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized SourceContainerCache getInstance() {
+        if (instance == null) {
+            instance = new SourceContainerCache();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns the fingerprint of a launch of the input configuration for the input base projects.
+     *
+     * @param configuration The launch configuration.
+     * @param baseProjects The projects whose source lookup path is computed.
+     *
+     * @return The fingerprint of a launch of the input configuration for the input base projects.
+     *
+     * @throws CoreException
+     */
+    public static List<Object> computeFingerprint(ILaunchConfiguration configuration, List<Project> baseProjects) throws CoreException {
+        List<Object> fingerprint = new ArrayList<Object>();
+        fingerprint.add(configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_JRE_CONTAINER_PATH, ""));
+
+        for (Project baseProject : baseProjects) {
+            IProject iProject = baseProject.getIProject();
+            fingerprint.add(iProject.getName());
+
+            for (String buildFileName : BUILD_FILE_NAMES) {
+                IFile buildFile = iProject.getFile(buildFileName);
+                fingerprint.add(buildFile.exists() ? buildFile.getModificationStamp() : IResource.NULL_STAMP);
+            }
+
+            IFile versionCatalog = iProject.getFile(GradleConnectionPool.VERSION_CATALOG_PATH);
+            fingerprint.add(versionCatalog.exists() ? versionCatalog.getModificationStamp() : IResource.NULL_STAMP);
+            fingerprint.add(getBuildSrcStamps(iProject.getFolder(GradleConnectionPool.BUILD_SRC_DIR_NAME)));
+
+            if (iProject.isNatureEnabled(JavaCore.NATURE_ID)) {
+                fingerprint.add(Arrays.asList(JavaCore.create(iProject).getRawClasspath()));
+            }
+        }
+
+        return fingerprint;
+    }
+
+    /**
+     * Returns the modification stamps of the build logic files under the input buildSrc directory. The output that Gradle writes
+     * when it compiles buildSrc is skipped.
+     *
+     * @param buildSrc The buildSrc directory.
+     *
+     * @return The modification stamps of the build logic files keyed by project relative path. Empty if there is no buildSrc.
+     *
+     * @throws CoreException
+     */
+    private static Map<String, Long> getBuildSrcStamps(IFolder buildSrc) throws CoreException {
+        Map<String, Long> stamps = new TreeMap<String, Long>();
+        if (!buildSrc.exists()) {
+            return stamps;
+        }
+
+        buildSrc.accept(resource -> {
+            if (resource.getParent().equals(buildSrc)
+                    && Arrays.asList(GradleConnectionPool.BUILD_SRC_OUTPUT_DIR_NAMES).contains(resource.getName())) {
+                return false;
+            }
+            if (resource.getType() == IResource.FILE) {
+                stamps.put(resource.getProjectRelativePath().toString(), resource.getModificationStamp());
+            }
+            return true;
+        });
+
+        return stamps;
+    }
+
+    /**
+     * Returns the resolved source lookup path cached for the input project, if the cached fingerprint matches the input one.
+     *
+     * @param projectName The name of the launched project.
+     * @param fingerprint The fingerprint of the launch.
+     *
+     * @return The resolved source lookup path, or null if there is no valid cache entry.
+     */
+    public IRuntimeClasspathEntry[] get(String projectName, List<Object> fingerprint) {
+        Entry entry = entries.get(projectName);
+        if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+            return null;
+        }
+
+        return entry.resolvedEntries;
+    }
+
+    /**
+     * Caches the resolved source lookup path of the input project.
+     *
+     * @param projectName The name of the launched project.
+     * @param fingerprint The fingerprint of the launch.
+     * @param projectNames The names of all workspace projects the source lookup path was computed from.
+     * @param resolvedEntries The resolved source lookup path.
+     */
+    public void put(String projectName, List<Object> fingerprint, Set<String> projectNames, IRuntimeClasspathEntry[] resolvedEntries) {
+        entries.put(projectName, new Entry(fingerprint, projectNames, resolvedEntries));
+    }
+
+    /**
+     * Removes the cache entries computed from the input project.
+     *
+     * @param projectName The project name.
+     */
+    public void invalidate(String projectName) {
+        Collection<Entry> values = entries.values();
+        if (values.removeIf(entry -> entry.projectNames.contains(projectName)) && Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Source lookup path cache entries invalidated by project " + projectName);
+        }
+    }
+
+    /**
+     * Removes all cache entries, because the input project was added to the workspace or opened. Dependencies of other projects
+     * may resolve to it from now on.
+     *
+     * @param projectName The name of the project that was added or opened.
+     */
+    private void invalidateAll(String projectName) {
+        if (!entries.isEmpty()) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Source lookup path cache cleared. Project added or opened: " + projectName);
+            }
+            clear();
+        }
+    }
+
+    /**
+     * Removes all cache entries.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        processJavaDelta(event.getDelta());
+    }
+
+    /**
+     * Invalidates the cache entries of the projects whose classpath changed, or that were closed or removed. All entries are
+     * invalidated when a project is added or opened.
+     *
+     * @param delta The Java element delta.
+     */
+    private void processJavaDelta(IJavaElementDelta delta) {
+        IJavaElement element = delta.getElement();
+        if (element.getElementType() == IJavaElement.JAVA_MODEL) {
+            for (IJavaElementDelta child : delta.getAffectedChildren()) {
+                processJavaDelta(child);
+            }
+            return;
+        }
+
+        if (element.getElementType() == IJavaElement.JAVA_PROJECT) {
+            int flags = delta.getFlags();
+            if (delta.getKind() == IJavaElementDelta.ADDED || (flags & IJavaElementDelta.F_OPENED) != 0) {
+                invalidateAll(element.getElementName());
+            } else if (delta.getKind() == IJavaElementDelta.REMOVED || (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED
+                    | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_CLOSED)) != 0) {
+                invalidate(element.getElementName());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null || entries.isEmpty()) {
+            return;
+        }
+
+        // Build files are at the root of the projects, so only the first two levels of the delta are inspected, in addition to
+        // the version catalog and the buildSrc directory.
+        for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+            String projectName = projectDelta.getResource().getName();
+            if (projectDelta.getKind() == IResourceDelta.ADDED
+                    || ((projectDelta.getFlags() & IResourceDelta.OPEN) != 0 && projectDelta.getResource().isAccessible())) {
+                invalidateAll(projectName);
+                continue;
+            }
+
+            if (projectDelta.getKind() == IResourceDelta.REMOVED || (projectDelta.getFlags() & IResourceDelta.OPEN) != 0) {
+                invalidate(projectName);
+                continue;
+            }
+
+            if (projectDelta.findMember(new Path(GradleConnectionPool.VERSION_CATALOG_PATH)) != null
+                    || GradleConnectionPool.isBuildSrcChange(projectDelta.findMember(new Path(GradleConnectionPool.BUILD_SRC_DIR_NAME)))) {
+                invalidate(projectName);
+                continue;
+            }
+
+            for (IResourceDelta fileDelta : projectDelta.getAffectedChildren()) {
+                if (fileDelta.getResource().getType() == IResource.FILE
+                        && Arrays.asList(BUILD_FILE_NAMES).contains(fileDelta.getResource().getName())) {
+                    invalidate(projectName);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * A cached source lookup path.
+     */
+    private static class Entry {
+
+        /** The fingerprint of the launch the path was computed for. */
+        private final List<Object> fingerprint;
+
+        /** The names of all workspace projects the path was computed from. */
+        private final Set<String> projectNames;
+
+        /** The resolved source lookup path. */
+        private final IRuntimeClasspathEntry[] resolvedEntries;
+
+        Entry(List<Object> fingerprint, Set<String> projectNames, IRuntimeClasspathEntry[] resolvedEntries) {
+            this.fingerprint = fingerprint;
+            this.projectNames = projectNames;
+            this.resolvedEntries = resolvedEntries;
+        }
+    }
+}
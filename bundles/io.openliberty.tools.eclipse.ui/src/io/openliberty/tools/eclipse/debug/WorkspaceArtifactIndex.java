@@ -0,0 +1,429 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.debug;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
+import org.gradle.tooling.model.GradleModuleVersion;
+import org.gradle.tooling.model.gradle.GradlePublication;
+import org.gradle.tooling.model.gradle.ProjectPublications;
+
+import io.openliberty.tools.eclipse.Project;
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Index of the workspace projects that produce a given artifact, keyed by group:artifact:version coordinates.
+ *
+ * Maven projects are indexed from the m2e project registry and kept current through m2e project change events. Gradle projects
+ * are indexed from the publications reported by the Gradle tooling API through the {@link GradleConnectionPool}. Because reading
+ * them requires a Gradle build, a Gradle project is only read again after it is opened or one of its build files changes. The
+ * reads run in a background job, outside of the index lock, and the artifacts of each project are published at once when its
+ * read completes. A query for coordinates that are not indexed can wait for the pending reads for a bounded time. Only the
+ * queries made for Gradle projects wait, so that Maven projects are not delayed by unrelated Gradle builds.
+ */
+public class WorkspaceArtifactIndex implements IMavenProjectChangedListener, IResourceChangeListener {
+
+    /** Gradle build files whose changes can affect the coordinates of a project. */
+    public static final String[] GRADLE_BUILD_FILE_NAMES = new String[] { "build.gradle", "build.gradle.kts", "settings.gradle",
+            "settings.gradle.kts", "gradle.properties" };
+
+    /** Job family of the jobs scheduled by this class. */
+    public static final Object JOB_FAMILY = WorkspaceArtifactIndex.class;
+
+    /** Maximum time a query waits for the pending Gradle project reads. */
+    private static final long GRADLE_INDEX_WAIT_MS = TimeUnit.SECONDS.toMillis(30);
+
+    /** Single instance of this class. */
+    private static WorkspaceArtifactIndex instance;
+
+    /** Workspace projects keyed by artifact coordinates. */
+    private final Map<String, IProject> projectsByCoordinates = new ConcurrentHashMap<String, IProject>();
+
+    /** Artifact coordinates keyed by the name of the workspace project that produces them. */
+    private final Map<String, Set<String>> coordinatesByProject = new ConcurrentHashMap<String, Set<String>>();
+
+    /** Names of the Gradle projects that need to be read before the index is queried. */
+    private final Set<String> staleGradleProjects = ConcurrentHashMap.newKeySet();
+
+    /** True if the index was populated. */
+    private volatile boolean initialized;
+
+    /** Incremented when the index is cleared, so that reads that were in progress are not published. */
+    private volatile int generation;
+
+    /** Job that reads the publications of the stale Gradle projects. */
+    private final Job gradleIndexJob;
+
+    /**
+     * Constructor.
+     */
+    private WorkspaceArtifactIndex() {
+        gradleIndexJob = new Job("Indexing Gradle project publications") {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                indexStaleGradleProjects(monitor);
+                if (monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+
+                // Projects that became stale while this job ran are read by the next run.
+                if (!staleGradleProjects.isEmpty()) {
+                    schedule();
+                }
+
+                return Status.OK_STATUS;
+            }
+
+            @Override
+            public boolean belongsTo(Object family) {
+                return family == JOB_FAMILY;
+            }
+        };
+        gradleIndexJob.setSystem(true);
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized WorkspaceArtifactIndex getInstance() {
+        if (instance == null) {
+            instance = new WorkspaceArtifactIndex();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns the index key of the input artifact coordinates.
+     *
+     * @param groupId The group id.
+     * @param artifactId The artifact id.
+     * @param version The version.
+     *
+     * @return The index key of the input artifact coordinates.
+     */
+    public static String getCoordinates(String groupId, String artifactId, String version) {
+        return groupId + ":" + artifactId + ":" + version;
+    }
+
+    /**
+     * Returns the workspace project that produces the artifact with the input coordinates.
+     *
+     * @param groupId The group id.
+     * @param artifactId The artifact id.
+     * @param version The version.
+     * @param awaitGradleIndex True to wait, for a bounded time, for the pending Gradle project reads if the coordinates are not
+     *            indexed. False to return what is indexed so far.
+     *
+     * @return The workspace project that produces the artifact with the input coordinates, or null if there is none.
+     */
+    public IProject getProject(String groupId, String artifactId, String version, boolean awaitGradleIndex) {
+        initialize();
+
+        String coordinates = getCoordinates(groupId, artifactId, version);
+        IProject project = projectsByCoordinates.get(coordinates);
+        if (project == null && awaitGradleIndex && isGradleIndexPending()) {
+            awaitGradleIndex();
+            project = projectsByCoordinates.get(coordinates);
+        }
+
+        return (project != null && project.isAccessible()) ? project : null;
+    }
+
+    /**
+     * Removes all index entries. The index is populated again when it is next queried.
+     */
+    public synchronized void clear() {
+        generation++;
+        gradleIndexJob.cancel();
+        initialized = false;
+        projectsByCoordinates.clear();
+        coordinatesByProject.clear();
+        staleGradleProjects.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void mavenProjectChanged(List<MavenProjectChangedEvent> events, IProgressMonitor monitor) {
+        if (!initialized) {
+            return;
+        }
+
+        for (MavenProjectChangedEvent event : events) {
+            IMavenProjectFacade facade = event.getMavenProject();
+            if (facade != null) {
+                indexMavenProject(facade);
+            } else if (event.getOldMavenProject() != null) {
+                removeProject(event.getOldMavenProject().getProject().getName());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null || !initialized) {
+            return;
+        }
+
+        // Build files are at the root of the projects, so only the first two levels of the delta are inspected.
+        for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+            if (projectDelta.getResource().getType() != IResource.PROJECT) {
+                continue;
+            }
+
+            IProject project = (IProject) projectDelta.getResource();
+            if (projectDelta.getKind() == IResourceDelta.REMOVED || !project.isOpen()) {
+                staleGradleProjects.remove(project.getName());
+                removeProject(project.getName());
+                continue;
+            }
+
+            if (!isGradleProject(project)) {
+                continue;
+            }
+
+            if (projectDelta.getKind() == IResourceDelta.ADDED || (projectDelta.getFlags() & IResourceDelta.OPEN) != 0) {
+                staleGradleProjects.add(project.getName());
+                continue;
+            }
+
+            for (IResourceDelta fileDelta : projectDelta.getAffectedChildren()) {
+                if (fileDelta.getResource().getType() == IResource.FILE
+                        && Arrays.asList(GRADLE_BUILD_FILE_NAMES).contains(fileDelta.getResource().getName())) {
+                    staleGradleProjects.add(project.getName());
+                    break;
+                }
+            }
+        }
+
+        if (!staleGradleProjects.isEmpty()) {
+            gradleIndexJob.schedule();
+        }
+    }
+
+    /**
+     * Populates the index with the Maven projects registered with m2e, and marks the Gradle projects of the workspace to be read.
+     */
+    private synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        for (IMavenProjectFacade facade : MavenPlugin.getMavenProjectRegistry().getProjects()) {
+            indexMavenProject(facade);
+        }
+
+        for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+            if (isGradleProject(project)) {
+                staleGradleProjects.add(project.getName());
+            }
+        }
+
+        initialized = true;
+
+        if (!staleGradleProjects.isEmpty()) {
+            gradleIndexJob.schedule();
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Workspace artifact index initialized in " + (System.currentTimeMillis() - startTime)
+                    + " ms. Maven artifacts: " + projectsByCoordinates.size() + ". Gradle projects: " + staleGradleProjects);
+        }
+    }
+
+    /**
+     * Returns true if Gradle projects are waiting to be read, or are being read. False, otherwise.
+     *
+     * @return True if Gradle projects are waiting to be read, or are being read. False, otherwise.
+     */
+    private boolean isGradleIndexPending() {
+        return !staleGradleProjects.isEmpty() || gradleIndexJob.getState() != Job.NONE;
+    }
+
+    /**
+     * Waits for the pending Gradle project reads to complete, for a bounded time. The index lock is not held while waiting, so
+     * concurrent queries wait for the same reads instead of one another.
+     */
+    private void awaitGradleIndex() {
+        if (!staleGradleProjects.isEmpty()) {
+            gradleIndexJob.schedule();
+        }
+
+        try {
+            if (!gradleIndexJob.join(GRADLE_INDEX_WAIT_MS, null) && Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                        "Gradle project publications were not read within " + GRADLE_INDEX_WAIT_MS + " ms. Pending: " + staleGradleProjects);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads the publications of the Gradle projects that were added, opened or whose build files changed since they were last
+     * read. This runs in the Gradle index job, without holding the index lock.
+     *
+     * @param monitor The progress monitor.
+     */
+    private void indexStaleGradleProjects(IProgressMonitor monitor) {
+        int currentGeneration = generation;
+        List<String> projectNames = new ArrayList<String>(staleGradleProjects);
+        staleGradleProjects.removeAll(projectNames);
+
+        for (int i = 0; i < projectNames.size(); i++) {
+            if (monitor.isCanceled()) {
+                // Read the remaining projects on the next run.
+                staleGradleProjects.addAll(projectNames.subList(i, projectNames.size()));
+                return;
+            }
+
+            IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectNames.get(i));
+            if (project.isAccessible()) {
+                indexGradleProject(project, currentGeneration);
+            }
+        }
+    }
+
+    /**
+     * Indexes the artifact produced by the input Maven project.
+     *
+     * @param facade The m2e facade of the Maven project.
+     */
+    private void indexMavenProject(IMavenProjectFacade facade) {
+        ArtifactKey key = facade.getArtifactKey();
+        replaceProject(facade.getProject(),
+                Collections.singleton(getCoordinates(key.getGroupId(), key.getArtifactId(), key.getVersion())));
+    }
+
+    /**
+     * Indexes the artifacts published by the input Gradle project.
+     *
+     * @param project The Gradle project.
+     * @param readGeneration The index generation when the read started. The artifacts are not published if the index was cleared
+     *            since.
+     */
+    private void indexGradleProject(IProject project, int readGeneration) {
+        long startTime = System.currentTimeMillis();
+        Set<String> coordinates = new HashSet<String>();
+
+        try {
+            ProjectPublications publications = GradleConnectionPool.getInstance().getModel(project, ProjectPublications.class);
+            for (GradlePublication publication : publications.getPublications()) {
+                GradleModuleVersion id = publication.getId();
+                coordinates.add(getCoordinates(id.getGroup(), id.getName(), id.getVersion()));
+            }
+        } catch (Exception e) {
+            // Keep the entries read before. The project is read again when one of its build files changes.
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the publications of Gradle project " + project.getName(), e);
+            }
+            return;
+        }
+
+        synchronized (this) {
+            if (readGeneration != generation) {
+                return;
+            }
+            replaceProject(project, coordinates);
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Indexed Gradle project " + project.getName() + " in "
+                    + (System.currentTimeMillis() - startTime) + " ms. Artifacts: " + coordinates);
+        }
+    }
+
+    /**
+     * Replaces the artifact coordinates indexed for the input project.
+     *
+     * @param project The project.
+     * @param coordinates The coordinates of the artifacts the project produces.
+     */
+    private synchronized void replaceProject(IProject project, Set<String> coordinates) {
+        removeProject(project.getName());
+
+        for (String artifact : coordinates) {
+            projectsByCoordinates.put(artifact, project);
+        }
+        coordinatesByProject.put(project.getName(), coordinates);
+    }
+
+    /**
+     * Removes the artifact coordinates indexed for the input project.
+     *
+     * @param projectName The project name.
+     */
+    private synchronized void removeProject(String projectName) {
+        Set<String> coordinates = coordinatesByProject.remove(projectName);
+        if (coordinates == null) {
+            return;
+        }
+
+        for (String artifact : coordinates) {
+            IProject project = projectsByCoordinates.get(artifact);
+            if (project != null && project.getName().equals(projectName)) {
+                projectsByCoordinates.remove(artifact);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the input project is an open Gradle project that is not also a Maven project. False, otherwise. Maven
+     * projects are indexed from m2e.
+     *
+     * @param project The project.
+     *
+     * @return True if the input project is an open Gradle project that is not also a Maven project. False, otherwise.
+     */
+    private static boolean isGradleProject(IProject project) {
+        try {
+            return project.isOpen() && project.hasNature(Project.GRADLE_NATURE) && !project.hasNature(Project.MAVEN_NATURE);
+        } catch (CoreException e) {
+            return false;
+        }
+    }
+}
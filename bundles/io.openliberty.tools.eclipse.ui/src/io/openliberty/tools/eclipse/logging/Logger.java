@@ -49,6 +49,15 @@ public class Logger {
         LOGGER.log(new Status(Status.ERROR, BUNDLE.getSymbolicName(), msg, t));
     }
 
+    /**
+     * Writes an informational message to the log.
+     * 
+     * @param msg The message to write.
+     */
+    public static void logInfo(String msg) {
+        LOGGER.log(new Status(Status.INFO, BUNDLE.getSymbolicName(), msg));
+    }
+
     /**
      * Writes an error message to the log.
      * 
@@ -17,9 +17,6 @@ import org.eclipse.osgi.util.NLS;
  */
 public class Messages extends NLS {
 
-    /** DebugModeHandler */
-    public static String multiple_server_env;
-
     /** DevModeOperations */
     public static String start_no_project_found;
     public static String start_already_issued;
@@ -90,10 +87,33 @@ public class Messages extends NLS {
     public static String maven_exec_not_found;
     public static String gradle_exec_not_found;
 
+    /** LibertyToolsPreferencePage */
+    public static String mvnd_stop_failed;
+
     /** Project */
     public static String determine_java_project_error;
     public static String liberty_nature_add_error;
 
+    /** ShutdownCoordinator */
+    public static String process_tree_terminated;
+    public static String process_tree_memory_unknown;
+
+    /** InnerLoopLatencyTracker */
+    public static String inner_loop_latency_summary;
+
+    /** OrphanedServerDetector */
+    public static String orphaned_server_detected;
+    public static String orphaned_server_summary;
+    public static String orphaned_server_pid_unknown;
+    public static String orphaned_server_no_debug_port;
+    public static String orphaned_server_attach_error;
+    public static String orphaned_server_process_unknown;
+    public static String orphaned_server_terminated;
+
+    /** HotCodeReplaceMonitor */
+    public static String hot_code_replace_summary;
+    public static String hot_code_replace_rejected;
+
     static {
         NLS.initializeMessages("io.openliberty.tools.eclipse.messages.Messages", Messages.class);
     }
@@ -12,20 +12,24 @@
 *******************************************************************************/
 package io.openliberty.tools.eclipse.ui.dashboard;
 
+import org.eclipse.jface.viewers.ITableColorProvider;
 import org.eclipse.jface.viewers.ITableLabelProvider;
 import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PlatformUI;
 
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.OrphanedServerDetector;
 import io.openliberty.tools.eclipse.Project;
 import io.openliberty.tools.eclipse.utils.Utils;
 
 /**
  * Table label provider for entries in the table containing the dashboard content.
  */
-public class DashboardEntryLabelProvider extends LabelProvider implements ITableLabelProvider {
+public class DashboardEntryLabelProvider extends LabelProvider implements ITableLabelProvider, ITableColorProvider {
 
     /**
      * Image representing a Maven project.
@@ -95,6 +99,27 @@ public class DashboardEntryLabelProvider extends LabelProvider implements ITable
         return columnText;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Color getForeground(Object element, int columnIndex) {
+        // Projects with Liberty servers running without a dev mode session are highlighted.
+        if (element instanceof String && OrphanedServerDetector.getInstance().hasOrphanedServers((String) element)) {
+            return Display.getCurrent().getSystemColor(SWT.COLOR_DARK_RED);
+        }
+
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Color getBackground(Object element, int columnIndex) {
+        return null;
+    }
+
     @Override
     public void dispose() {
         if (gradleImg != null) {
@@ -14,6 +14,9 @@ package io.openliberty.tools.eclipse.ui.dashboard;
 
 import java.net.URL;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.debug.core.ILaunchManager;
@@ -28,16 +31,21 @@ import org.eclipse.jface.viewers.ArrayContentProvider;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
 import org.eclipse.ui.contexts.IContextService;
 import org.eclipse.ui.handlers.IHandlerService;
 import org.eclipse.ui.part.ViewPart;
 
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.InnerLoopLatencyTracker;
+import io.openliberty.tools.eclipse.OrphanedServerDetector;
 import io.openliberty.tools.eclipse.Project;
 import io.openliberty.tools.eclipse.WorkspaceProjectsModel;
+import io.openliberty.tools.eclipse.debug.HotCodeReplaceMonitor;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
 import io.openliberty.tools.eclipse.ui.launch.shortcuts.OpenGradleTestReportAction;
@@ -82,6 +90,8 @@ public class DashboardView extends ViewPart {
     public static final String APP_MENU_ACTION_VIEW_MVN_IT_REPORT = "View integration test report";
     public static final String APP_MENU_ACTION_VIEW_MVN_UT_REPORT = "View unit test report";
     public static final String APP_MENU_ACTION_VIEW_GRADLE_TEST_REPORT = "View test report";
+    public static final String APP_MENU_ACTION_ATTACH_ORPHANED_SERVER = "Attach debugger to running server";
+    public static final String APP_MENU_ACTION_TERMINATE_ORPHANED_SERVER = "Terminate running server";
     public static final String DASHBORD_TOOLBAR_ACTION_REFRESH = "refresh";
 
     /**
@@ -98,6 +108,8 @@ public class DashboardView extends ViewPart {
     private Action viewMavenITestReportsAction;
     private Action viewMavenUTestReportsAction;
     private Action viewGradleTestReportsAction;
+    private Action attachOrphanedServerAction;
+    private Action terminateOrphanedServerAction;
     private Action refreshAction;
 
     /**
@@ -132,6 +144,7 @@ public class DashboardView extends ViewPart {
         createActions();
         createContextMenu();
         addToolbarActions();
+        addEntryToolTip();
         getSite().setSelectionProvider(viewer);
     }
 
@@ -173,6 +186,28 @@ public class DashboardView extends ViewPart {
         getSite().registerContextMenu("io.openliberty.tools.eclipse.views.liberty.devmode.dashboard", menuMgr, viewer);
     }
 
+    /**
+     * Shows the Liberty servers running without a dev mode session and the inner loop latency recorded for a project when the mouse
+     * hovers over its entry in the dashboard.
+     */
+    private void addEntryToolTip() {
+        Table table = viewer.getTable();
+        table.addListener(SWT.MouseHover, event -> {
+            TableItem item = table.getItem(new Point(event.x, event.y));
+            String toolTip = null;
+            if (item != null) {
+                String orphanedServers = OrphanedServerDetector.getInstance().getSummary(item.getText());
+                String latency = InnerLoopLatencyTracker.getInstance().getSummary(item.getText());
+                String hotCodeReplace = HotCodeReplaceMonitor.getInstance().getSummary(item.getText());
+                toolTip = Stream.of(orphanedServers, latency, hotCodeReplace).filter(Objects::nonNull).collect(Collectors.joining(System.lineSeparator()));
+                if (toolTip.isEmpty()) {
+                    toolTip = null;
+                }
+            }
+            table.setToolTipText(toolTip);
+        });
+    }
+
     /**
      * Populates the toolbar.
      */
@@ -201,6 +236,11 @@ public class DashboardView extends ViewPart {
             mgr.add(stopAction);
             mgr.add(runTestAction);
 
+            if (OrphanedServerDetector.getInstance().hasOrphanedServers(projectName)) {
+                mgr.add(attachOrphanedServerAction);
+                mgr.add(terminateOrphanedServerAction);
+            }
+
             if (project.getBuildType() == Project.BuildType.MAVEN) {
                 mgr.add(viewMavenITestReportsAction);
                 mgr.add(viewMavenUTestReportsAction);
@@ -483,11 +523,32 @@ public class DashboardView extends ViewPart {
         ActionHandler gradleTestReportsHandler = new ActionHandler(viewGradleTestReportsAction);
         handlerService.activateHandler(viewGradleTestReportsAction.getActionDefinitionId(), gradleTestReportsHandler);
 
+        // Menu: Attach the debugger to the servers running without a dev mode session.
+        attachOrphanedServerAction = new Action(APP_MENU_ACTION_ATTACH_ORPHANED_SERVER) {
+            @Override
+            public void run() {
+                IProject iProject = devModeOps.getSelectedDashboardProject();
+                OrphanedServerDetector.getInstance().attachDebugger(iProject);
+            }
+        };
+        attachOrphanedServerAction.setImageDescriptor(ActionImg);
+
+        // Menu: Terminate the servers running without a dev mode session.
+        terminateOrphanedServerAction = new Action(APP_MENU_ACTION_TERMINATE_ORPHANED_SERVER) {
+            @Override
+            public void run() {
+                IProject iProject = devModeOps.getSelectedDashboardProject();
+                OrphanedServerDetector.getInstance().terminate(iProject);
+            }
+        };
+        terminateOrphanedServerAction.setImageDescriptor(ActionImg);
+
         // Toolbar: Refresh the project list.
         refreshAction = new Action(DASHBORD_TOOLBAR_ACTION_REFRESH) {
             @Override
             public void run() {
                 devModeOps.refreshDashboardView(true);
+                OrphanedServerDetector.getInstance().scheduleScan();
             }
         };
         refreshAction.setImageDescriptor(refreshImg);
@@ -516,6 +577,15 @@ public class DashboardView extends ViewPart {
         }
     }
 
+    /**
+     * Refreshes the labels of the dashboard entries without rebuilding the project list.
+     */
+    public void refreshEntries() {
+        if (viewer != null && !viewer.getControl().isDisposed()) {
+            viewer.refresh(true);
+        }
+    }
+
     public Table getTable() {
         return viewer.getTable();
     }
@@ -0,0 +1,251 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.launch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.ILaunchConfiguration;
+
+import io.openliberty.tools.eclipse.CommandBuilder;
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Gradle launch options that can be enabled per Liberty launch configuration. Each option is only passed to Gradle when the
+ * Gradle version of the project supports it. The version is read from the distribution URL in the project's Gradle wrapper
+ * properties.
+ *
+ * The configuration cache is not offered: the libertyDev task of the Liberty Gradle plugin is not compatible with it, so Gradle
+ * discards the cache entry on every run.
+ */
+public class GradleLaunchOptions {
+
+    /** Location of the Gradle wrapper properties file relative to the root of a Gradle build. */
+    public static final String WRAPPER_PROPERTIES_PATH = "gradle/wrapper/gradle-wrapper.properties";
+
+    /** Gradle wrapper property holding the URL of the Gradle distribution. */
+    public static final String DISTRIBUTION_URL_PROPERTY = "distributionUrl";
+
+    /** Maximum number of parent directories searched for the wrapper properties of a subproject. */
+    private static final int MAX_PARENT_DIRS = 5;
+
+    /** Pattern of the Gradle version in a distribution URL. For example: .../gradle-8.5-bin.zip. */
+    private static final Pattern DISTRIBUTION_VERSION_PATTERN = Pattern.compile("gradle-(\\d+)\\.(\\d+)[^/]*-(?:bin|all)\\.zip$");
+
+    /**
+     * Gradle launch options.
+     */
+    public static enum Option {
+
+        /** Reuses task outputs from previous builds. */
+        BUILD_CACHE(StartTab.PROJECT_GRADLE_BUILD_CACHE, "--build-cache", 3, 5),
+
+        /** Runs the tasks of independent projects in parallel. */
+        PARALLEL(StartTab.PROJECT_GRADLE_PARALLEL, "--parallel", 4, 0);
+
+        /** Launch configuration attribute that enables the option. */
+        private final String attribute;
+
+        /** Gradle command line argument that enables the option. */
+        private final String argument;
+
+        /** First Gradle major version that supports the option. */
+        private final int minMajor;
+
+        /** First Gradle minor version of the major version that supports the option. */
+        private final int minMinor;
+
+        private Option(String attribute, String argument, int minMajor, int minMinor) {
+            this.attribute = attribute;
+            this.argument = argument;
+            this.minMajor = minMajor;
+            this.minMinor = minMinor;
+        }
+
+        /**
+         * Returns the launch configuration attribute that enables the option.
+         *
+         * @return The launch configuration attribute that enables the option.
+         */
+        public String getAttribute() {
+            return attribute;
+        }
+
+        /**
+         * Returns the Gradle command line argument that enables the option.
+         *
+         * @return The Gradle command line argument that enables the option.
+         */
+        public String getArgument() {
+            return argument;
+        }
+
+        /**
+         * Returns true if the input Gradle version supports the option.
+         *
+         * @param version The Gradle major and minor version, or null if it is not known.
+         *
+         * @return True if the input Gradle version supports the option. False, otherwise.
+         */
+        public boolean isSupported(int[] version) {
+            if (version == null) {
+                return false;
+            }
+
+            return version[0] > minMajor || (version[0] == minMajor && version[1] >= minMinor);
+        }
+
+        /**
+         * Returns the first Gradle version that supports the option.
+         *
+         * @return The first Gradle version that supports the option.
+         */
+        public String getMinVersion() {
+            return minMajor + "." + minMinor;
+        }
+    }
+
+    /**
+     * Returns the Gradle version of the input project as declared in its Gradle wrapper properties. The project's directory is
+     * searched first, followed by its parent directories, so that subprojects of a multi-project build use the wrapper at the
+     * root of the build.
+     *
+     * @param projectPath The project's path.
+     *
+     * @return The Gradle major and minor version, or null if the wrapper properties or the version were not found.
+     */
+    public static int[] getWrapperVersion(String projectPath) {
+        if (projectPath == null) {
+            return null;
+        }
+
+        Path dir = Paths.get(projectPath);
+        for (int i = 0; dir != null && i <= MAX_PARENT_DIRS; i++, dir = dir.getParent()) {
+            Path wrapperProperties = dir.resolve(WRAPPER_PROPERTIES_PATH);
+            if (Files.isRegularFile(wrapperProperties)) {
+                return readDistributionVersion(wrapperProperties);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the Gradle arguments of the options enabled in the input configuration that the Gradle version of the input project
+     * supports, appended to the input start parameters. Options that are not supported are not passed to Gradle.
+     *
+     * @param configuration The launch configuration.
+     * @param projectPath The project's path.
+     * @param parms The start parameters.
+     *
+     * @return The start parameters followed by the arguments of the enabled and supported options.
+     *
+     * @throws CoreException
+     */
+    public static String addStartParms(ILaunchConfiguration configuration, String projectPath, String parms) throws CoreException {
+        StringBuilder startParms = new StringBuilder((parms == null) ? "" : parms.trim());
+        int[] version = null;
+        boolean versionRead = false;
+
+        for (Option option : Option.values()) {
+            if (!configuration.getAttribute(option.getAttribute(), false) || hasArgument(startParms, option.getArgument())) {
+                continue;
+            }
+
+            if (!versionRead) {
+                version = getWrapperVersion(projectPath);
+                versionRead = true;
+            }
+
+            if (option.isSupported(version)) {
+                appendArgument(startParms, option.getArgument());
+            } else if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "Gradle option " + option.getArgument() + " is not passed to project "
+                        + projectPath + ". It requires Gradle " + option.getMinVersion() + " or later. Wrapper version: "
+                        + ((version == null) ? "not found" : version[0] + "." + version[1]));
+            }
+        }
+
+        return startParms.toString();
+    }
+
+    /**
+     * Returns true if the input start parameters hold the input argument, with or without a value.
+     *
+     * @param startParms The start parameters.
+     * @param argument The argument name.
+     *
+     * @return True if the input start parameters hold the input argument. False, otherwise.
+     */
+    private static boolean hasArgument(CharSequence startParms, String argument) {
+        for (String token : CommandBuilder.getArgumentTokens(startParms.toString())) {
+            String value = CommandBuilder.getArgumentValue(token);
+            if (value.equals(argument) || value.startsWith(argument + "=")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Appends the input argument to the input start parameters.
+     *
+     * @param startParms The start parameters.
+     * @param argument The argument to append.
+     */
+    private static void appendArgument(StringBuilder startParms, String argument) {
+        if (startParms.length() > 0) {
+            startParms.append(' ');
+        }
+        startParms.append(argument);
+    }
+
+    /**
+     * Returns the Gradle version declared in the distribution URL of the input wrapper properties file.
+     *
+     * @param wrapperProperties The Gradle wrapper properties file.
+     *
+     * @return The Gradle major and minor version, or null if it was not found.
+     */
+    private static int[] readDistributionVersion(Path wrapperProperties) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(wrapperProperties)) {
+            properties.load(in);
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "Unable to read Gradle wrapper properties " + wrapperProperties, e);
+            }
+            return null;
+        }
+
+        String distributionUrl = properties.getProperty(DISTRIBUTION_URL_PROPERTY);
+        if (distributionUrl == null) {
+            return null;
+        }
+
+        Matcher matcher = DISTRIBUTION_VERSION_PATTERN.matcher(distributionUrl.trim());
+        if (!matcher.find()) {
+            return null;
+        }
+
+        return new int[] { Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)) };
+    }
+}
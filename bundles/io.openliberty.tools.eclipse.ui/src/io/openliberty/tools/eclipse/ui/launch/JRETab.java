@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2022, 2023 IBM Corporation and others.
+* Copyright (c) 2022, 2024 IBM Corporation and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -24,8 +24,6 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.debug.ui.launchConfigurations.JavaJRETab;
 import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
-import org.eclipse.jdt.launching.IVMInstall;
-import org.eclipse.jdt.launching.JavaRuntime;
 import org.eclipse.osgi.util.NLS;
 
 import io.openliberty.tools.eclipse.DevModeOperations;
@@ -92,17 +90,16 @@ public class JRETab extends JavaJRETab {
     }
 
     /**
-     * Resolves the java installation to use based on the configuration.
+     * Resolves the java installation to use based on the configuration. Resolved installations are cached until the VM installs
+     * change.
      */
     public static String resolveJavaHome(ILaunchConfiguration configuration) {
-        IVMInstall install = null;
         String keyValue = null;
 
         // The JRE_CONTAINER_KEY is set when using the configuration's execution environment
         // or an alternate JRE. If this is not set, the workspace default JRE is used.
         try {
-            ILaunchConfigurationWorkingCopy configWorkingCopy = configuration.getWorkingCopy();
-            keyValue = configWorkingCopy.getAttribute(IJavaLaunchConfigurationConstants.ATTR_JRE_CONTAINER_PATH, (String) null);
+            keyValue = configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_JRE_CONTAINER_PATH, (String) null);
         } catch (Exception e) {
             String msg = "Unable to resolve the Java installation path by using configuration." + configuration.getName()
                     + ". Using the workspace Java installation";
@@ -112,18 +109,12 @@ public class JRETab extends JavaJRETab {
             ErrorHandler.processWarningMessage(NLS.bind(Messages.java_resolution_error, configuration.getName()), e);
         }
 
-        if (keyValue != null) {
-            IPath javaPath = org.eclipse.core.runtime.Path.fromOSString(keyValue);
-            install = JavaRuntime.getVMInstall(javaPath);
-        } else {
-            install = JavaRuntime.getDefaultVMInstall();
-        }
-
-        return install.getInstallLocation().getAbsolutePath();
+        return JavaHomeCache.getInstance().getJavaHome(keyValue);
     }
 
     /**
-     * Returns the Java execution environment configured in the Java build path of the input project (.classpath).
+     * Returns the Java execution environment configured in the Java build path of the input project (.classpath). The result is
+     * cached until the classpath of a Java project changes.
      * 
      * @param iProject The project currently being processed.
      * 
@@ -133,6 +124,20 @@ public class JRETab extends JavaJRETab {
      * @throws Exception
      */
     public static String getDefaultJavaFromBuildPath(IProject iProject) throws Exception {
+        return JavaHomeCache.getInstance().getBuildPathJreContainer(iProject);
+    }
+
+    /**
+     * Reads the Java execution environment configured in the Java build path of the input project (.classpath).
+     * 
+     * @param iProject The project currently being processed.
+     * 
+     * @return the Java execution environment configured in the Java build path of the input project (.classpath). Null if the
+     *         required data is not found.
+     * 
+     * @throws Exception
+     */
+    static String readJreContainerFromBuildPath(IProject iProject) throws Exception {
         // There are cases where some modules of a multi-module project may not be categorized as Java
         // projects. If the project being processed is not marked as a Java project, find an associated
         // Java project to be able to determine what JRE installation should be associated with the
@@ -0,0 +1,236 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.launch;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.launching.IVMInstall;
+import org.eclipse.jdt.launching.IVMInstallChangedListener;
+import org.eclipse.jdt.launching.JavaRuntime;
+import org.eclipse.jdt.launching.PropertyChangeEvent;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Caches the Java installations resolved for Liberty launch configurations, keyed by the JRE container path they reference, and
+ * the JRE containers found in the Java build path of projects. Resolved Java installations are dropped when a VM install is
+ * added, removed or changed, or when the workspace default VM install changes. Build path JRE containers are dropped when the
+ * classpath of a Java project changes, or when a Java project is added, removed or closed.
+ */
+public class JavaHomeCache implements IVMInstallChangedListener, IElementChangedListener {
+
+    /** Key of the Java installation resolved for configurations that do not reference a JRE container. */
+    private static final String DEFAULT_VM_KEY = "";
+
+    /** Single instance of this class. */
+    private static JavaHomeCache instance;
+
+    /** Java installation paths keyed by JRE container path. */
+    private final Map<String, String> javaHomes = new ConcurrentHashMap<String, String>();
+
+    /** JRE container paths found in the Java build path, keyed by project name. Empty if the build path has none. */
+    private final Map<String, Optional<String>> buildPathContainers = new ConcurrentHashMap<String, Optional<String>>();
+
+    /** Incremented on each invalidation so that values resolved before an invalidation are not cached after it. */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructor.
+     */
+    private JavaHomeCache() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized JavaHomeCache getInstance() {
+        if (instance == null) {
+            instance = new JavaHomeCache();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns the path of the Java installation of the input JRE container path.
+     *
+     * @param jreContainerPath The JRE container path, or null to use the workspace default Java installation.
+     *
+     * @return The path of the Java installation.
+     */
+    public String getJavaHome(String jreContainerPath) {
+        String key = (jreContainerPath == null) ? DEFAULT_VM_KEY : jreContainerPath;
+        String javaHome = javaHomes.get(key);
+        if (javaHome != null) {
+            return javaHome;
+        }
+
+        long startGeneration = generation.get();
+        IVMInstall install = null;
+        if (jreContainerPath != null) {
+            IPath javaPath = org.eclipse.core.runtime.Path.fromOSString(jreContainerPath);
+            install = JavaRuntime.getVMInstall(javaPath);
+        } else {
+            install = JavaRuntime.getDefaultVMInstall();
+        }
+
+        javaHome = install.getInstallLocation().getAbsolutePath();
+        cache(javaHomes, key, javaHome, startGeneration);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_UI, "Resolved Java installation " + javaHome + " for JRE container " + key);
+        }
+
+        return javaHome;
+    }
+
+    /**
+     * Returns the JRE container path configured in the Java build path of the input project.
+     *
+     * @param iProject The project.
+     *
+     * @return The JRE container path configured in the Java build path of the input project. Null if the required data is not
+     *         found.
+     *
+     * @throws Exception
+     */
+    public String getBuildPathJreContainer(IProject iProject) throws Exception {
+        String projectName = iProject.getName();
+        Optional<String> container = buildPathContainers.get(projectName);
+        if (container != null) {
+            return container.orElse(null);
+        }
+
+        long startGeneration = generation.get();
+        container = Optional.ofNullable(JRETab.readJreContainerFromBuildPath(iProject));
+        cache(buildPathContainers, projectName, container, startGeneration);
+
+        return container.orElse(null);
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        javaHomes.clear();
+        buildPathContainers.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void defaultVMInstallChanged(IVMInstall previous, IVMInstall current) {
+        invalidateJavaHomes();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vmChanged(PropertyChangeEvent event) {
+        invalidateJavaHomes();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vmAdded(IVMInstall vm) {
+        invalidateJavaHomes();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vmRemoved(IVMInstall vm) {
+        invalidateJavaHomes();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        if (hasBuildPathChanged(event.getDelta())) {
+            generation.incrementAndGet();
+            buildPathContainers.clear();
+        }
+    }
+
+    /**
+     * Returns true if the input delta reports a Java project that was added, removed or closed, or whose classpath changed.
+     * Projects that are not Java projects use the build path of an associated Java project, so any such change drops all cached
+     * build path JRE containers.
+     *
+     * @param delta The Java element delta.
+     *
+     * @return True if the build path of a Java project may have changed. False, otherwise.
+     */
+    private boolean hasBuildPathChanged(IJavaElementDelta delta) {
+        IJavaElement element = delta.getElement();
+        if (element.getElementType() == IJavaElement.JAVA_MODEL) {
+            for (IJavaElementDelta child : delta.getAffectedChildren()) {
+                if (hasBuildPathChanged(child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        if (element.getElementType() == IJavaElement.JAVA_PROJECT) {
+            int flags = delta.getFlags();
+            return delta.getKind() == IJavaElementDelta.ADDED || delta.getKind() == IJavaElementDelta.REMOVED
+                    || (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+                            | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0;
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes the cached Java installation paths.
+     */
+    private void invalidateJavaHomes() {
+        generation.incrementAndGet();
+        javaHomes.clear();
+    }
+
+    /**
+     * Caches the input value unless the cache was invalidated since the value started to be resolved.
+     *
+     * @param map The cache.
+     * @param key The key.
+     * @param value The resolved value.
+     * @param startGeneration The generation at which the value started to be resolved.
+     */
+    private <T> void cache(Map<String, T> map, String key, T value, long startGeneration) {
+        map.put(key, value);
+        if (generation.get() != startGeneration) {
+            map.remove(key, value);
+        }
+    }
+}
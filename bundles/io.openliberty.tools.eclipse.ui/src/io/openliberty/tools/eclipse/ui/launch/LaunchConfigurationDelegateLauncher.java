@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022, 2023 IBM Corporation and others.
+ * Copyright (c) 2022, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -21,11 +21,9 @@ import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.model.LaunchConfigurationDelegate;
 import org.eclipse.osgi.util.NLS;
-import org.eclipse.swt.widgets.Display;
-import org.eclipse.ui.IWorkbench;
-import org.eclipse.ui.PlatformUI;
 
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.Project;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
 import io.openliberty.tools.eclipse.utils.ErrorHandler;
@@ -67,58 +65,54 @@ public class LaunchConfigurationDelegateLauncher extends LaunchConfigurationDele
         // Processing paths:
         // - Explorer-> Run As-> Run Configurations
         // - Dashboard-> project -> Start...
-        IWorkbench workbench = PlatformUI.getWorkbench();
-        Display display = workbench.getDisplay();
-
-        // Launch dev mode.
-        display.syncExec(new Runnable() {
-            public void run() {
-                try {
-                    validateProjectsMatch(configuration);
-
-                    String configProjectName = configuration.getAttribute(StartTab.PROJECT_NAME, (String) null);
-                    IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
-                    IProject configProject = root.getProject(configProjectName);
-
-                    launchDevMode(configProject, configuration, launch, mode);
-
-                } catch (Exception e) {
-                    String msg = "An error was detected when configuration was launched" + configuration.getName() + ".";
-                    if (Trace.isEnabled()) {
-                        Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
-                    }
-                    ErrorHandler.processErrorMessage(NLS.bind(Messages.launch_config_error, configuration.getName()), e, true);
-                    return;
-                }
+        // Only the selection lookup and the opening of the terminal run on the UI thread. Validation, command construction and Java
+        // installation resolution run on the calling launch thread so that the workbench remains responsive.
+        try {
+            IProject[] activeProject = new IProject[1];
+            Utils.runOnUIThread(() -> activeProject[0] = Utils.getActiveProject());
+            if (activeProject[0] != null) {
+                assertProjectsMatch(configuration, activeProject[0]);
             }
 
-            private void validateProjectsMatch(ILaunchConfiguration configuration) throws CoreException {
-                IProject activeProject = Utils.getActiveProject();
-                if (activeProject != null) {
-                    assertProjectsMatch(configuration, activeProject);
-                }
-            }
+            String configProjectName = configuration.getAttribute(StartTab.PROJECT_NAME, (String) null);
+            IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+            IProject configProject = root.getProject(configProjectName);
 
-            private void assertProjectsMatch(ILaunchConfiguration configuration, IProject selectedProject) throws CoreException {
-                String configProjectName = configuration.getAttribute(StartTab.PROJECT_NAME, (String) null);
-
-                if (!configProjectName.equals(selectedProject.getName())) {
-                    String configurationName = configuration.getName();
-                    String msg = "The selected  Run/Debug configuration '" + configurationName
-                            + "' cannot be used to run selected project '" + selectedProject.getName()
-                            + ", because the configuration is associated with project '" + configProjectName
-                            + "'. Create a new configuration, or use an existing configuration associated with the selected project.";
-                    throw new IllegalStateException(msg);
-                }
-            }
+            launchDevMode(configProject, configuration, launch, mode);
 
-        });
+        } catch (Exception e) {
+            String msg = "An error was detected when configuration was launched" + configuration.getName() + ".";
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+            }
+            ErrorHandler.processErrorMessage(NLS.bind(Messages.launch_config_error, configuration.getName()), e, true);
+        }
 
         if (Trace.isEnabled()) {
             Trace.getTracer().traceExit(Trace.TRACE_UI);
         }
     }
 
+    /**
+     * Verifies that the input configuration is associated with the input selected project.
+     * 
+     * @param configuration The configuration being launched.
+     * @param selectedProject The selected project.
+     * 
+     * @throws CoreException
+     */
+    private void assertProjectsMatch(ILaunchConfiguration configuration, IProject selectedProject) throws CoreException {
+        String configProjectName = configuration.getAttribute(StartTab.PROJECT_NAME, (String) null);
+
+        if (!configProjectName.equals(selectedProject.getName())) {
+            String configurationName = configuration.getName();
+            String msg = "The selected  Run/Debug configuration '" + configurationName + "' cannot be used to run selected project '"
+                    + selectedProject.getName() + ", because the configuration is associated with project '" + configProjectName
+                    + "'. Create a new configuration, or use an existing configuration associated with the selected project.";
+            throw new IllegalStateException(msg);
+        }
+    }
+
     /**
      * Starts dev mode
      * 
@@ -156,6 +150,12 @@ public class LaunchConfigurationDelegateLauncher extends LaunchConfigurationDele
         String configParms = configuration.getAttribute(StartTab.PROJECT_START_PARM, (String) null);
         String javaHomePath = JRETab.resolveJavaHome(configuration);
 
+        // Add the Gradle options enabled in the configuration that the project's Gradle version supports.
+        Project project = devModeOps.getProjectModel().getProject(iProject.getName());
+        if (project != null && project.getBuildType() == Project.BuildType.GRADLE) {
+            configParms = GradleLaunchOptions.addStartParms(configuration, project.getPath(), configParms);
+        }
+
         // Process the action.
         if (runInContainer) {
             devModeOps.startInContainer(iProject, configParms, javaHomePath, launch, mode);
@@ -0,0 +1,378 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.launch;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchConfigurationListener;
+import org.eclipse.debug.core.ILaunchConfigurationType;
+import org.eclipse.debug.core.ILaunchManager;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher.RuntimeEnv;
+
+/**
+ * In-memory index of the Liberty launch configurations, keyed by project name and runtime environment. The index is populated
+ * from the launch manager on first use and is then kept current through launch configuration change notifications, so finding
+ * the configuration that a project ran last does not read the attributes of every saved configuration. Run times are read from
+ * the {@link LaunchRunTimeJournal}, or from the configuration itself for configurations that earlier versions saved them in.
+ */
+public class LaunchConfigurationIndex implements ILaunchConfigurationListener {
+
+    /** Single instance of this class. */
+    private static LaunchConfigurationIndex instance;
+
+    /** Indexed configurations keyed by project name. */
+    private final Map<String, ProjectConfigurations> configsByProject = new HashMap<String, ProjectConfigurations>();
+
+    /** Names of the projects of the indexed configurations, keyed by configuration. */
+    private final Map<ILaunchConfiguration, String> projectNames = new HashMap<ILaunchConfiguration, String>();
+
+    /** True if the index is populated from the launch manager and listens to it for changes. */
+    private final boolean managed;
+
+    /** True if the index was populated. */
+    private boolean initialized;
+
+    /**
+     * Constructor.
+     */
+    private LaunchConfigurationIndex() {
+        managed = true;
+    }
+
+    /**
+     * Constructor. Creates an index of the input launch configurations that is not populated from, nor registered with, the
+     * launch manager. It is kept current by calling its launch configuration listener methods.
+     *
+     * @param configurations The launch configurations to index.
+     */
+    public LaunchConfigurationIndex(ILaunchConfiguration... configurations) {
+        managed = false;
+        for (ILaunchConfiguration configuration : configurations) {
+            update(configuration);
+        }
+        initialized = true;
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized LaunchConfigurationIndex getInstance() {
+        if (instance == null) {
+            instance = new LaunchConfigurationIndex();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns the Liberty launch configuration of the input project that ran last in the input runtime environment.
+     *
+     * @param projectName The project name.
+     * @param runtimeEnv The runtime environment. UNKNOWN matches configurations of all runtime environments.
+     *
+     * @return The launch configuration that ran last, or null if the project has no configuration for the runtime environment.
+     *
+     * @throws CoreException
+     */
+    public synchronized ILaunchConfiguration getLastRunConfiguration(String projectName, RuntimeEnv runtimeEnv) throws CoreException {
+        initialize();
+
+        ProjectConfigurations projectConfigs = configsByProject.get(projectName);
+        return (projectConfigs == null) ? null : projectConfigs.getLastRun(runtimeEnv);
+    }
+
+    /**
+     * Returns the Liberty launch configurations of the input project for the input runtime environment.
+     *
+     * @param projectName The project name.
+     * @param runtimeEnv The runtime environment. UNKNOWN matches configurations of all runtime environments.
+     *
+     * @return The launch configurations of the project for the runtime environment, in the order in which they were indexed.
+     *
+     * @throws CoreException
+     */
+    public synchronized List<ILaunchConfiguration> getConfigurations(String projectName, RuntimeEnv runtimeEnv) throws CoreException {
+        initialize();
+
+        ProjectConfigurations projectConfigs = configsByProject.get(projectName);
+        return (projectConfigs == null) ? new ArrayList<ILaunchConfiguration>() : projectConfigs.get(runtimeEnv);
+    }
+
+    /**
+     * Stops listening for launch configuration changes and empties the index. The index is populated again on next use.
+     */
+    public synchronized void dispose() {
+        if (initialized && managed) {
+            DebugPlugin.getDefault().getLaunchManager().removeLaunchConfigurationListener(this);
+        }
+
+        initialized = false;
+        configsByProject.clear();
+        projectNames.clear();
+    }
+
+    /**
+     * Indexes the input launch configuration again, for example after its run time was recorded.
+     *
+     * @param configuration The launch configuration.
+     */
+    synchronized void refresh(ILaunchConfiguration configuration) {
+        if (initialized) {
+            update(configuration);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void launchConfigurationAdded(ILaunchConfiguration configuration) {
+        // A renamed or moved configuration keeps the run time recorded under its previous location.
+        if (managed) {
+            ILaunchConfiguration movedFrom = DebugPlugin.getDefault().getLaunchManager().getMovedFrom(configuration);
+            if (movedFrom != null) {
+                LaunchRunTimeJournal.getInstance().moveRunTime(movedFrom, configuration);
+            }
+        }
+
+        update(configuration);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void launchConfigurationChanged(ILaunchConfiguration configuration) {
+        update(configuration);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void launchConfigurationRemoved(ILaunchConfiguration configuration) {
+        if (managed && DebugPlugin.getDefault().getLaunchManager().getMovedTo(configuration) == null) {
+            LaunchRunTimeJournal.getInstance().removeRunTime(configuration);
+        }
+
+        remove(configuration);
+    }
+
+    /**
+     * Populates the index with the saved Liberty launch configurations and starts listening for changes.
+     *
+     * @throws CoreException
+     */
+    private void initialize() throws CoreException {
+        if (initialized || !managed) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        ILaunchManager iLaunchMgr = DebugPlugin.getDefault().getLaunchManager();
+        iLaunchMgr.addLaunchConfigurationListener(this);
+
+        ILaunchConfigurationType iLaunchConfigType = iLaunchMgr
+                .getLaunchConfigurationType(LaunchConfigurationDelegateLauncher.LAUNCH_CONFIG_TYPE_ID);
+        ILaunchConfiguration[] configurations = iLaunchMgr.getLaunchConfigurations(iLaunchConfigType);
+        LaunchRunTimeJournal.getInstance().retainRunTimes(configurations);
+        for (ILaunchConfiguration configuration : configurations) {
+            update(configuration);
+        }
+
+        initialized = true;
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_UI, "Indexed " + configurations.length + " launch configurations in "
+                    + (System.currentTimeMillis() - startTime) + " ms.");
+        }
+    }
+
+    /**
+     * Indexes the input launch configuration, or removes it from the index if it no longer belongs to a project.
+     *
+     * @param configuration The launch configuration.
+     */
+    private void update(ILaunchConfiguration configuration) {
+        // Working copies are indexed when they are saved.
+        if (configuration.isWorkingCopy()) {
+            return;
+        }
+
+        remove(configuration);
+
+        try {
+            if (!configuration.exists() || !LaunchConfigurationDelegateLauncher.LAUNCH_CONFIG_TYPE_ID
+                    .equals(configuration.getType().getIdentifier())) {
+                return;
+            }
+
+            String projectName = configuration.getAttribute(StartTab.PROJECT_NAME, "");
+            if (projectName.isEmpty()) {
+                return;
+            }
+
+            RuntimeEnv runtimeEnv = configuration.getAttribute(StartTab.PROJECT_RUN_IN_CONTAINER, false) ? RuntimeEnv.CONTAINER
+                    : RuntimeEnv.LOCAL;
+            long runTime = LaunchRunTimeJournal.getInstance().getRunTime(configuration,
+                    parseRunTime(configuration.getAttribute(StartTab.PROJECT_RUN_TIME, "0")));
+
+            configsByProject.computeIfAbsent(projectName, name -> new ProjectConfigurations()).put(configuration, runtimeEnv, runTime);
+            projectNames.put(configuration, projectName);
+        } catch (CoreException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "Unable to index launch configuration " + configuration.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Removes the input launch configuration from the index.
+     *
+     * @param configuration The launch configuration.
+     */
+    private void remove(ILaunchConfiguration configuration) {
+        String projectName = projectNames.remove(configuration);
+        if (projectName == null) {
+            return;
+        }
+
+        ProjectConfigurations projectConfigs = configsByProject.get(projectName);
+        if (projectConfigs != null && projectConfigs.remove(configuration)) {
+            configsByProject.remove(projectName);
+        }
+    }
+
+    /**
+     * Returns the run time stored in a launch configuration.
+     *
+     * @param runTime The run time attribute value.
+     *
+     * @return The run time, or 0 if it is not a number.
+     */
+    private static long parseRunTime(String runTime) {
+        try {
+            return Long.parseLong(runTime);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * The launch configurations of a project, with the one that ran last in each runtime environment.
+     */
+    private static class ProjectConfigurations {
+
+        /** Runtime environments keyed by configuration, in the order in which the configurations were indexed. */
+        private final Map<ILaunchConfiguration, RuntimeEnv> runtimeEnvs = new LinkedHashMap<ILaunchConfiguration, RuntimeEnv>();
+
+        /** Run times keyed by configuration. */
+        private final Map<ILaunchConfiguration, Long> runTimes = new HashMap<ILaunchConfiguration, Long>();
+
+        /** The configuration that ran last in each runtime environment, including UNKNOWN for all environments. */
+        private final Map<RuntimeEnv, ILaunchConfiguration> lastRun = new EnumMap<RuntimeEnv, ILaunchConfiguration>(RuntimeEnv.class);
+
+        /**
+         * Adds the input configuration.
+         *
+         * @param configuration The launch configuration.
+         * @param runtimeEnv The runtime environment of the configuration.
+         * @param runTime The time at which the configuration last ran.
+         */
+        void put(ILaunchConfiguration configuration, RuntimeEnv runtimeEnv, long runTime) {
+            runtimeEnvs.put(configuration, runtimeEnv);
+            runTimes.put(configuration, runTime);
+            updateLastRun(configuration);
+        }
+
+        /**
+         * Removes the input configuration.
+         *
+         * @param configuration The launch configuration.
+         *
+         * @return True if no configuration is left. False, otherwise.
+         */
+        boolean remove(ILaunchConfiguration configuration) {
+            RuntimeEnv runtimeEnv = runtimeEnvs.remove(configuration);
+            runTimes.remove(configuration);
+
+            // The configuration that ran last before the removed one is only searched for when the removed one had run last.
+            if (configuration.equals(lastRun.get(runtimeEnv)) || configuration.equals(lastRun.get(RuntimeEnv.UNKNOWN))) {
+                lastRun.clear();
+                for (ILaunchConfiguration remaining : runtimeEnvs.keySet()) {
+                    updateLastRun(remaining);
+                }
+            }
+
+            return runtimeEnvs.isEmpty();
+        }
+
+        /**
+         * Records the input configuration as the one that ran last in its runtime environment if it did not run before the current
+         * one. Of the configurations that ran at the same time, the one indexed last is recorded.
+         *
+         * @param configuration The launch configuration.
+         */
+        private void updateLastRun(ILaunchConfiguration configuration) {
+            long runTime = runTimes.get(configuration);
+
+            for (RuntimeEnv env : new RuntimeEnv[] { runtimeEnvs.get(configuration), RuntimeEnv.UNKNOWN }) {
+                ILaunchConfiguration current = lastRun.get(env);
+                if (current == null || runTime >= runTimes.get(current)) {
+                    lastRun.put(env, configuration);
+                }
+            }
+        }
+
+        /**
+         * Returns the configuration that ran last in the input runtime environment.
+         *
+         * @param runtimeEnv The runtime environment.
+         *
+         * @return The configuration that ran last in the input runtime environment, or null if there is none.
+         */
+        ILaunchConfiguration getLastRun(RuntimeEnv runtimeEnv) {
+            return lastRun.get(runtimeEnv);
+        }
+
+        /**
+         * Returns the configurations of the input runtime environment.
+         *
+         * @param runtimeEnv The runtime environment. UNKNOWN matches configurations of all runtime environments.
+         *
+         * @return The configurations of the input runtime environment, in the order in which they were indexed.
+         */
+        List<ILaunchConfiguration> get(RuntimeEnv runtimeEnv) {
+            List<ILaunchConfiguration> configurations = new ArrayList<ILaunchConfiguration>();
+            for (Map.Entry<ILaunchConfiguration, RuntimeEnv> entry : runtimeEnvs.entrySet()) {
+                if (runtimeEnv == RuntimeEnv.UNKNOWN || runtimeEnv == entry.getValue()) {
+                    configurations.add(entry.getKey());
+                }
+            }
+
+            return configurations;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.launch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.ILaunchConfiguration;
+
+import io.openliberty.tools.eclipse.LibertyDevPlugin;
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Journal of the times at which Liberty launch configurations ran. Run times are recorded in memory when a configuration is
+ * launched and are written in batches by a background job to a small journal file in the plugin state area. The launch
+ * configurations themselves are not saved, so launching does not rewrite their files. Entries are keyed by the memento of the
+ * configuration, which identifies its location, and follow the configuration when it is renamed or moved.
+ */
+public class LaunchRunTimeJournal {
+
+    /** Family used to identify the job that writes the recorded run times. */
+    public static final Object JOB_FAMILY = LaunchRunTimeJournal.class;
+
+    /** Name of the journal file in the plugin state area. */
+    public static final String JOURNAL_FILE_NAME = "launch-run-times.properties";
+
+    /** Time to wait after a run time is recorded before it is written, so that run times recorded close together are batched. */
+    private static final long FLUSH_DELAY_MS = 2000;
+
+    /** Single instance of this class. */
+    private static LaunchRunTimeJournal instance;
+
+    /** Run times keyed by launch configuration memento. */
+    private final Map<String, Long> runTimes = new ConcurrentHashMap<String, Long>();
+
+    /** The job that writes the recorded run times. */
+    private final FlushJob flushJob = new FlushJob();
+
+    /** True if the journal file was read. */
+    private boolean loaded;
+
+    /** True if the run times changed since the journal file was last written. */
+    private volatile boolean dirty;
+
+    /**
+     * Constructor.
+     */
+    private LaunchRunTimeJournal() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized LaunchRunTimeJournal getInstance() {
+        if (instance == null) {
+            instance = new LaunchRunTimeJournal();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Records the current time as the time at which the input configuration ran. The run time is written in the background.
+     *
+     * @param configuration The launch configuration.
+     */
+    public void recordRunTime(ILaunchConfiguration configuration) {
+        String key = getKey(configuration);
+        if (key == null) {
+            return;
+        }
+
+        load();
+        runTimes.put(key, System.currentTimeMillis());
+        changed();
+        LaunchConfigurationIndex.getInstance().refresh(configuration);
+    }
+
+    /**
+     * Returns the time at which the input configuration ran last.
+     *
+     * @param configuration The launch configuration.
+     * @param savedRunTime The run time saved in the launch configuration by earlier versions, which saved it in the configuration
+     *        itself.
+     *
+     * @return The later of the recorded run time and the saved one.
+     */
+    public long getRunTime(ILaunchConfiguration configuration, long savedRunTime) {
+        String key = getKey(configuration);
+        if (key == null) {
+            return savedRunTime;
+        }
+
+        load();
+        Long runTime = runTimes.get(key);
+        return (runTime == null) ? savedRunTime : Math.max(runTime, savedRunTime);
+    }
+
+    /**
+     * Moves the run time of a configuration that was renamed or moved to its new location.
+     *
+     * @param from The launch configuration at its previous location.
+     * @param to The launch configuration at its new location.
+     */
+    public void moveRunTime(ILaunchConfiguration from, ILaunchConfiguration to) {
+        String fromKey = getKey(from);
+        String toKey = getKey(to);
+        if (fromKey == null || toKey == null) {
+            return;
+        }
+
+        load();
+        Long runTime = runTimes.remove(fromKey);
+        if (runTime != null) {
+            runTimes.merge(toKey, runTime, Math::max);
+            changed();
+        }
+    }
+
+    /**
+     * Removes the run time of a configuration that was deleted.
+     *
+     * @param configuration The launch configuration.
+     */
+    public void removeRunTime(ILaunchConfiguration configuration) {
+        String key = getKey(configuration);
+        if (key == null) {
+            return;
+        }
+
+        load();
+        if (runTimes.remove(key) != null) {
+            changed();
+        }
+    }
+
+    /**
+     * Removes the run times of the configurations that are not in the input set, for example the ones that were deleted while the
+     * plugin was not active.
+     *
+     * @param configurations The existing launch configurations.
+     */
+    public void retainRunTimes(ILaunchConfiguration[] configurations) {
+        Set<String> keys = new HashSet<String>();
+        for (ILaunchConfiguration configuration : configurations) {
+            String key = getKey(configuration);
+            if (key == null) {
+                // Keep all entries rather than drop the run time of a configuration that could not be identified.
+                return;
+            }
+            keys.add(key);
+        }
+
+        load();
+        if (runTimes.keySet().retainAll(keys)) {
+            changed();
+        }
+    }
+
+    /**
+     * Cancels the scheduled background write and writes the recorded run times right away.
+     */
+    public void close() {
+        Job.getJobManager().cancel(JOB_FAMILY);
+        flush();
+    }
+
+    /**
+     * Returns the journal key of the input configuration.
+     *
+     * @param configuration The launch configuration.
+     *
+     * @return The memento of the configuration, or null if it could not be computed.
+     */
+    private static String getKey(ILaunchConfiguration configuration) {
+        try {
+            return configuration.getMemento();
+        } catch (CoreException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "Unable to retrieve the memento of launch configuration " + configuration.getName(),
+                        e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Marks the run times as changed and schedules their write.
+     */
+    private void changed() {
+        dirty = true;
+        flushJob.schedule(FLUSH_DELAY_MS);
+    }
+
+    /**
+     * Reads the run times that previous sessions recorded.
+     */
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+
+        loaded = true;
+
+        Path journalPath = getJournalPath();
+        if (journalPath == null || !Files.exists(journalPath)) {
+            return;
+        }
+
+        Properties journal = new Properties();
+        try (InputStream in = Files.newInputStream(journalPath)) {
+            journal.load(in);
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "Unable to read launch run time journal " + journalPath, e);
+            }
+            return;
+        }
+
+        for (String key : journal.stringPropertyNames()) {
+            try {
+                runTimes.merge(key, Long.parseLong(journal.getProperty(key)), Math::max);
+            } catch (NumberFormatException e) {
+                // Ignore the entry.
+            }
+        }
+    }
+
+    /**
+     * Writes the recorded run times to the journal file if they changed since it was last written.
+     */
+    private synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+
+        dirty = false;
+        long startTime = System.currentTimeMillis();
+        Map<String, Long> snapshot = new HashMap<String, Long>(runTimes);
+        if (!writeJournal(snapshot)) {
+            dirty = true;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_UI,
+                    "Wrote " + snapshot.size() + " launch run times in " + (System.currentTimeMillis() - startTime) + " ms.");
+        }
+    }
+
+    /**
+     * Replaces the content of the journal file with the input run times. The file is deleted if there are none.
+     *
+     * @param runTimes The run times keyed by launch configuration memento.
+     *
+     * @return True if the journal file holds the input run times, or if there is no plugin state area to write it to. False,
+     *         otherwise.
+     */
+    private static boolean writeJournal(Map<String, Long> runTimes) {
+        Path journalPath = getJournalPath();
+        if (journalPath == null) {
+            return true;
+        }
+
+        try {
+            if (runTimes.isEmpty()) {
+                Files.deleteIfExists(journalPath);
+                return true;
+            }
+
+            Properties journal = new Properties();
+            for (Map.Entry<String, Long> entry : runTimes.entrySet()) {
+                journal.setProperty(entry.getKey(), String.valueOf(entry.getValue()));
+            }
+
+            Path tempPath = journalPath.resolveSibling(JOURNAL_FILE_NAME + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempPath)) {
+                journal.store(out, null);
+            }
+            Files.move(tempPath, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "Unable to write launch run time journal " + journalPath, e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns the path of the journal file.
+     *
+     * @return The path of the journal file, or null if the plugin is not active.
+     */
+    private static Path getJournalPath() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return (plugin == null) ? null : plugin.getStateLocation().append(JOURNAL_FILE_NAME).toFile().toPath();
+    }
+
+    /**
+     * Writes the recorded run times in the background.
+     */
+    private class FlushJob extends Job {
+
+        FlushJob() {
+            super("Liberty launch run times");
+            setSystem(true);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean belongsTo(Object family) {
+            return JOB_FAMILY == family;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            flush();
+            return Status.OK_STATUS;
+        }
+    }
+}
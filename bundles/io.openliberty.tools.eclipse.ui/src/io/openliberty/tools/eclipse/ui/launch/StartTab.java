@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022, 2023 IBM Corporation and others.
+ * Copyright (c) 2022, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -12,6 +12,9 @@
  *******************************************************************************/
 package io.openliberty.tools.eclipse.ui.launch;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.debug.core.ILaunchConfiguration;
@@ -39,6 +42,7 @@ import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.dialogs.PreferencesUtil;
 
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.Project;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
 import io.openliberty.tools.eclipse.ui.dashboard.DashboardView;
@@ -62,6 +66,12 @@ public class StartTab extends AbstractLaunchConfigurationTab {
     /** Configuration map key with a value stating whether or not the associated project ran in a container. */
     public static final String PROJECT_RUN_IN_CONTAINER = "io.openliberty.tools.eclipse.launch.project.container.run";
 
+    /** Configuration map key with a value stating whether or not Gradle dev mode runs with the build cache. */
+    public static final String PROJECT_GRADLE_BUILD_CACHE = "io.openliberty.tools.eclipse.launch.gradle.build.cache";
+
+    /** Configuration map key with a value stating whether or not Gradle dev mode runs tasks in parallel. */
+    public static final String PROJECT_GRADLE_PARALLEL = "io.openliberty.tools.eclipse.launch.gradle.parallel";
+
     /** Main preference page ID. */
     public static final String MAIN_PREFERENCE_PAGE_ID = "io.openliberty.tools.eclipse.ui.preferences.page";
 
@@ -85,6 +95,10 @@ public class StartTab extends AbstractLaunchConfigurationTab {
     /** Holds the run in container check box. */
     private Button runInContainerCheckBox;
 
+    /** Holds the Gradle option check boxes. */
+    private Map<GradleLaunchOptions.Option, Button> gradleOptionCheckBoxes = new EnumMap<GradleLaunchOptions.Option, Button>(
+            GradleLaunchOptions.Option.class);
+
     /** DevModeOperations instance. */
     private DevModeOperations devModeOps = DevModeOperations.getInstance();
 
@@ -113,6 +127,10 @@ public class StartTab extends AbstractLaunchConfigurationTab {
         createInputParmText(parmsGroupComposite);
         createRunInContainerButton(parmsGroupComposite);
 
+        // Gradle options group composite.
+        Composite gradleGroupComposite = createGroupComposite(mainComposite, "Gradle options", 1);
+        createGradleOptionButtons(gradleGroupComposite);
+
         createLabelWithPreferenceLink(mainComposite);
     }
 
@@ -136,6 +154,10 @@ public class StartTab extends AbstractLaunchConfigurationTab {
 
         configuration.setAttribute(PROJECT_RUN_IN_CONTAINER, false);
 
+        for (GradleLaunchOptions.Option option : GradleLaunchOptions.Option.values()) {
+            configuration.setAttribute(option.getAttribute(), false);
+        }
+
         if (Trace.isEnabled()) {
             Trace.getTracer().traceExit(Trace.TRACE_UI);
         }
@@ -161,6 +183,8 @@ public class StartTab extends AbstractLaunchConfigurationTab {
             runInContainerCheckBox.setSelection(runInContainer);
 
             String projectName = configuration.getAttribute(PROJECT_NAME, (String) null);
+            initializeGradleOptions(configuration, projectName);
+
             if (projectName == null) {
                 super.setErrorMessage(
                         "A project must be selected in order to provide a context to associate the run configuration with.  Either use a tree view like Package Explorer or have an editor window.");
@@ -243,6 +267,10 @@ public class StartTab extends AbstractLaunchConfigurationTab {
 
         configuration.setAttribute(PROJECT_START_PARM, startParamStr);
 
+        for (Map.Entry<GradleLaunchOptions.Option, Button> entry : gradleOptionCheckBoxes.entrySet()) {
+            configuration.setAttribute(entry.getKey().getAttribute(), entry.getValue().getSelection());
+        }
+
         if (Trace.isEnabled()) {
             Trace.getTracer().trace(Trace.TRACE_UI, "In performApply with project name = " + projectNameLabel.getText() + ", text = "
                     + startParamStr + ", runInContainer = " + runInContainerBool);
@@ -399,6 +427,75 @@ public class StartTab extends AbstractLaunchConfigurationTab {
         GridDataFactory.swtDefaults().applyTo(emptyColumnLabel);
     }
 
+    /**
+     * Creates the check boxes that enable the Gradle options.
+     * 
+     * @param parent The parent composite.
+     */
+    private void createGradleOptionButtons(Composite parent) {
+        createGradleOptionButton(parent, GradleLaunchOptions.Option.BUILD_CACHE, "Use the Gradle &build cache");
+        createGradleOptionButton(parent, GradleLaunchOptions.Option.PARALLEL, "Run Gradle tasks in para&llel");
+    }
+
+    /**
+     * Creates the check box that enables the input Gradle option.
+     * 
+     * @param parent The parent composite.
+     * @param option The Gradle option.
+     * @param text The check box text.
+     */
+    private void createGradleOptionButton(Composite parent, GradleLaunchOptions.Option option, String text) {
+        Button checkBox = new Button(parent, SWT.CHECK);
+        checkBox.setText(text);
+        checkBox.setSelection(false);
+        checkBox.setFont(font);
+        checkBox.addSelectionListener(new SelectionAdapter() {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void widgetSelected(SelectionEvent event) {
+                setDirty(true);
+                updateLaunchConfigurationDialog();
+            }
+        });
+        GridDataFactory.swtDefaults().indent(20, 0).applyTo(checkBox);
+        gradleOptionCheckBoxes.put(option, checkBox);
+    }
+
+    /**
+     * Initializes the Gradle option check boxes. Options are only enabled if the associated project is a Gradle project whose
+     * Gradle wrapper version supports them.
+     * 
+     * @param configuration The launch configuration.
+     * @param projectName The name of the project associated with the configuration.
+     * 
+     * @throws CoreException
+     */
+    private void initializeGradleOptions(ILaunchConfiguration configuration, String projectName) throws CoreException {
+        int[] version = null;
+        Project project = (projectName == null) ? null : devModeOps.getProjectModel().getProject(projectName);
+        boolean isGradle = project != null && project.getBuildType() == Project.BuildType.GRADLE;
+        if (isGradle) {
+            version = GradleLaunchOptions.getWrapperVersion(project.getPath());
+        }
+
+        for (Map.Entry<GradleLaunchOptions.Option, Button> entry : gradleOptionCheckBoxes.entrySet()) {
+            GradleLaunchOptions.Option option = entry.getKey();
+            Button checkBox = entry.getValue();
+            checkBox.setSelection(configuration.getAttribute(option.getAttribute(), false));
+            checkBox.setEnabled(option.isSupported(version));
+            if (!isGradle) {
+                checkBox.setToolTipText("Only applies to Gradle projects.");
+            } else if (!option.isSupported(version)) {
+                checkBox.setToolTipText("Requires a Gradle wrapper with Gradle " + option.getMinVersion() + " or later.");
+            } else {
+                checkBox.setToolTipText(option.getArgument());
+            }
+        }
+    }
+
     /**
      * Returns the default start parameters.
      * 
@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2022 IBM Corporation and others.
+* Copyright (c) 2022, 2024 IBM Corporation and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -17,13 +17,28 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
 import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionListener;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.Button;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
 import org.eclipse.ui.preferences.ScopedPreferenceStore;
 
+import io.openliberty.tools.eclipse.CommandBuilder;
+import io.openliberty.tools.eclipse.DependencyPrefetcher;
+import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.debug.DebugModeHandler;
+import io.openliberty.tools.eclipse.messages.Messages;
+import io.openliberty.tools.eclipse.utils.ErrorHandler;
 import io.openliberty.tools.eclipse.utils.LibertyPrefDirectoryFieldEditor;
 import io.openliberty.tools.eclipse.utils.Utils;
 
@@ -31,6 +46,7 @@ public class LibertyToolsPreferencePage extends FieldEditorPreferencePage implem
 
     LibertyPrefDirectoryFieldEditor mvnInstallFE;
     LibertyPrefDirectoryFieldEditor gradleInstallFE;
+    LibertyPrefDirectoryFieldEditor mvndInstallFE;
 
     public LibertyToolsPreferencePage() {
 
@@ -40,14 +56,52 @@ public class LibertyToolsPreferencePage extends FieldEditorPreferencePage implem
     @Override
     public void createFieldEditors() {
 
-        mvnInstallFE = new LibertyPrefDirectoryFieldEditor("MVNPATH", "&Maven Install Location:", getFieldEditorParent());
-        gradleInstallFE = new LibertyPrefDirectoryFieldEditor("GRADLEPATH", "&Gradle Install Location:", getFieldEditorParent());
+        mvnInstallFE = new LibertyPrefDirectoryFieldEditor(CommandBuilder.MVN_PATH_PREFERENCE, "&Maven Install Location:", getFieldEditorParent());
+        gradleInstallFE = new LibertyPrefDirectoryFieldEditor(CommandBuilder.GRADLE_PATH_PREFERENCE, "&Gradle Install Location:", getFieldEditorParent());
 
         addField(mvnInstallFE);
         addField(gradleInstallFE);
+        addField(new BooleanFieldEditor(DebugModeHandler.PREF_STEP_INTO_LIBERTY_RUNTIME,
+                "&Step into Liberty runtime classes while debugging", getFieldEditorParent()));
+        addField(new BooleanFieldEditor(CommandBuilder.MVND_ENABLED_PREFERENCE,
+                "Use the Maven &Daemon (mvnd) to run Maven commands other than dev mode", getFieldEditorParent()));
+        mvndInstallFE = new LibertyPrefDirectoryFieldEditor(CommandBuilder.MVND_PATH_PREFERENCE, "Maven Daemon &Install Location:",
+                getFieldEditorParent());
+        addField(mvndInstallFE);
+        addField(new BooleanFieldEditor(CommandBuilder.MVND_STOP_ON_EXIT_PREFERENCE, "Stop the Maven daemons when the workbench e&xits",
+                getFieldEditorParent()));
+
+        addField(new BooleanFieldEditor(DependencyPrefetcher.PREFETCH_PREFERENCE,
+                "&Prefetch the dependencies of Liberty projects in the background", getFieldEditorParent()));
+        addField(new BooleanFieldEditor(DependencyPrefetcher.OFFLINE_START_PREFERENCE,
+                "Start dev mode &offline after the dependencies are prefetched (restart dev mode after adding dependencies)",
+                getFieldEditorParent()));
+
+        // The daemons keep running after the Maven goals complete so that the next Maven command starts warm.
+        Button stopDaemonsButton = new Button(getFieldEditorParent(), SWT.PUSH);
+        stopDaemonsButton.setText("Stop Maven Daemons");
+        stopDaemonsButton.setLayoutData(new GridData(SWT.BEGINNING, SWT.CENTER, false, false, 3, 1));
+        stopDaemonsButton.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> stopMavenDaemons()));
 
     }
 
+    /**
+     * Stops the Maven daemons in the background.
+     */
+    private void stopMavenDaemons() {
+        Job job = new Job("Stopping Maven daemons") {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                if (!DevModeOperations.getInstance().stopMavenDaemons()) {
+                    ErrorHandler.processErrorMessage(Messages.mvnd_stop_failed, true);
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setUser(true);
+        job.schedule();
+    }
+
     @Override
     public void init(IWorkbench workbench) {
         // second parameter is typically the plug-in id
@@ -59,29 +113,23 @@ public class LibertyToolsPreferencePage extends FieldEditorPreferencePage implem
     @Override
     public void propertyChange(PropertyChangeEvent event) {
         // Will be called upon any preference update
-        // Must check the validation of both fields in order to output
+        // Must check the validation of all install location fields in order to output
         // the correct error message if needed
         //
-        boolean isMvn;
-        boolean installMvnLocValid = false;
-        boolean installGradleLocValid = false;
-
-        String eventProp = event.getProperty();
         if (event.getProperty().equals("field_editor_value")) {
-            // field for which validation is required
-            if (event.getSource() == mvnInstallFE) {
-                // validate mvn loc
-                isMvn = true;
-                installMvnLocValid = doValidation(isMvn, mvnInstallFE.getStringValue());
-                installGradleLocValid = doValidation(false, gradleInstallFE.getStringValue());
-            } else {
-                // validate gradle loc
-                isMvn = false;
-                installGradleLocValid = doValidation(isMvn, gradleInstallFE.getStringValue());
-                installMvnLocValid = doValidation(true, mvnInstallFE.getStringValue());
+            // Only the install location fields require validation.
+            Object source = event.getSource();
+            if (source != mvnInstallFE && source != gradleInstallFE && source != mvndInstallFE) {
+                super.propertyChange(event);
+                return;
             }
 
-            if (installMvnLocValid && installGradleLocValid) {
+            boolean installMvnLocValid = doValidation(Utils.isWindows() ? "mvn.cmd" : "mvn", mvnInstallFE.getStringValue());
+            boolean installGradleLocValid = doValidation(Utils.isWindows() ? "gradle.bat" : "gradle",
+                    gradleInstallFE.getStringValue());
+            boolean installMvndLocValid = doValidation(Utils.isWindows() ? "mvnd.cmd" : "mvnd", mvndInstallFE.getStringValue());
+
+            if (installMvnLocValid && installGradleLocValid && installMvndLocValid) {
                 setValid(true);
                 setErrorMessage(null);
                 super.performApply();
@@ -92,27 +140,24 @@ public class LibertyToolsPreferencePage extends FieldEditorPreferencePage implem
                 setValid(false);
                 if (!installMvnLocValid && !installGradleLocValid) {
                     setErrorMessage("Install locations must contain mvn and gradle executables");
-                } else if (!installMvnLocValid && installGradleLocValid) {
+                } else if (!installMvnLocValid) {
                     setErrorMessage("Install location must contain a bin directory containing a mvn executable");
-                } else {
+                } else if (!installGradleLocValid) {
                     setErrorMessage("Install location must contain a bin directory containing a gradle executable");
+                } else {
+                    setErrorMessage("Maven Daemon install location must contain a bin directory containing a mvnd executable");
                 }
             }
         }
     }
 
-    private boolean doValidation(boolean ismvn, String installLoc) {
+    private boolean doValidation(String execName, String installLoc) {
         if (installLoc.equals("")) {
             // an empty field is ok
             return true;
         } else {
-            if (ismvn) {
-                Path mvnCmd = Paths.get(installLoc + File.separator + "bin" + File.separator, Utils.isWindows() ? "mvn.cmd" : "mvn");
-                return Files.exists(mvnCmd);
-            } else {
-                Path mvnCmd = Paths.get(installLoc + File.separator + "bin" + File.separator, Utils.isWindows() ? "gradle.bat" : "gradle");
-                return Files.exists(mvnCmd);
-            }
+            Path cmd = Paths.get(installLoc + File.separator + "bin" + File.separator, execName);
+            return Files.exists(cmd);
         }
     }
 }
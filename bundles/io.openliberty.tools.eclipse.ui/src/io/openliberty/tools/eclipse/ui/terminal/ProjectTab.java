@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2022, 2023 IBM Corporation and others.
+* Copyright (c) 2022, 2024 IBM Corporation and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -13,14 +13,22 @@
 package io.openliberty.tools.eclipse.ui.terminal;
 
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.swt.custom.CTabItem;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.tm.internal.terminal.provisional.api.ITerminalConnector;
+import org.eclipse.tm.terminal.connector.process.ProcessConnector;
 import org.eclipse.tm.terminal.view.core.TerminalServiceFactory;
 import org.eclipse.tm.terminal.view.core.interfaces.ITerminalService;
 import org.eclipse.tm.terminal.view.core.interfaces.constants.ITerminalsConnectorConstants;
@@ -31,6 +39,7 @@ import org.eclipse.ui.IViewPart;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.PlatformUI;
 
+import io.openliberty.tools.eclipse.OrphanedServerDetector;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.ui.dashboard.DashboardView;
 import io.openliberty.tools.eclipse.ui.launch.StartTab;
@@ -49,6 +58,22 @@ public class ProjectTab {
      */
     private ITerminalConnector connector;
 
+    /** The process started by the terminal connector. It is the root of the dev mode process tree. */
+    private ProcessHandle rootProcess;
+
+    /** Interval at which the descendants of the root process are recorded. */
+    private static final long DESCENDANT_TRACKING_INTERVAL_MS = 5000;
+
+    /**
+     * Descendants of the root process seen while dev mode runs. Processes whose parent exits are reparented and can no longer be
+     * found through the root process, as is the case of the Liberty server process once the build tool process that started it
+     * ends.
+     */
+    private final Set<ProcessHandle> trackedDescendants = ConcurrentHashMap.newKeySet();
+
+    /** Job that periodically records the descendants of the root process. */
+    private Job descendantTrackingJob;
+
     /** Terminal view tab item associated with the running application project. */
     private CTabItem projectTab;
 
@@ -104,6 +129,118 @@ public class ProjectTab {
         return connector;
     }
 
+    /**
+     * Returns the handle of the process started by the terminal connector associated with this terminal. This is the shell
+     * process under which dev mode runs. The handle is tracked from the time the terminal is opened, so it remains available
+     * after the connector is disconnected.
+     * 
+     * @return The handle of the process started by the terminal connector, or null if it could not be obtained.
+     */
+    public ProcessHandle getProcessHandle() {
+        if (rootProcess == null) {
+            rootProcess = resolveProcessHandle();
+        }
+
+        return rootProcess;
+    }
+
+    /**
+     * Obtains the handle of the process started by the terminal connector.
+     * 
+     * @return The handle of the process started by the terminal connector, or null if it could not be obtained.
+     */
+    private ProcessHandle resolveProcessHandle() {
+        if (connector == null) {
+            return null;
+        }
+
+        ProcessConnector processConnector = connector.getAdapter(ProcessConnector.class);
+        if (processConnector == null) {
+            return null;
+        }
+
+        Process process = processConnector.getProcess();
+        if (process == null) {
+            return null;
+        }
+
+        try {
+            return process.toHandle();
+        } catch (UnsupportedOperationException uoe) {
+            // The process tree is left unresolved. Dev mode is then only ended through the exit command.
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI,
+                        "Unable to obtain the process handle for project " + projectName + ". Process: " + process, uoe);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the dev mode process tree: the descendants of the root process that are still alive, including those that were
+     * reparented after they were recorded, followed by the root process itself.
+     * 
+     * @return The dev mode process tree. Empty if the root process could not be obtained.
+     */
+    public List<ProcessHandle> getProcessTree() {
+        ProcessHandle root = getProcessHandle();
+        if (root == null) {
+            return new ArrayList<ProcessHandle>();
+        }
+
+        trackDescendants(root);
+        List<ProcessHandle> tree = new ArrayList<ProcessHandle>();
+        for (ProcessHandle descendant : trackedDescendants) {
+            if (descendant.isAlive()) {
+                tree.add(descendant);
+            }
+        }
+        tree.add(root);
+
+        return tree;
+    }
+
+    /**
+     * Records the current descendants of the input root process and forgets those that are no longer alive.
+     * 
+     * @param root The root process.
+     */
+    private void trackDescendants(ProcessHandle root) {
+        trackedDescendants.removeIf(descendant -> !descendant.isAlive());
+        List<ProcessHandle> newDescendants = new ArrayList<ProcessHandle>();
+        root.descendants().filter(trackedDescendants::add).forEach(newDescendants::add);
+
+        // Record the new processes so that the servers they start can be recognized if the IDE ends while they run.
+        if (!newDescendants.isEmpty()) {
+            OrphanedServerDetector.getInstance().recordLaunchedProcesses(newDescendants);
+        }
+    }
+
+    /**
+     * Starts recording the descendants of the root process periodically, until the root process ends or this tab is no longer
+     * in the started state.
+     * 
+     * @param root The root process.
+     */
+    private void startDescendantTracking(ProcessHandle root) {
+        descendantTrackingJob = new Job("Liberty dev mode process tracking: " + projectName) {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                if (monitor.isCanceled() || state != State.STARTED || !root.isAlive()) {
+                    return Status.OK_STATUS;
+                }
+
+                trackDescendants(root);
+                schedule(DESCENDANT_TRACKING_INTERVAL_MS);
+
+                return Status.OK_STATUS;
+            }
+        };
+        descendantTrackingJob.setSystem(true);
+        descendantTrackingJob.schedule();
+    }
+
     /**
      * Launches a terminal and runs the input command.
      *
@@ -131,9 +268,21 @@ public class ProjectTab {
                     // Register a terminal tab disposed listener.
                     terminalService.addTerminalTabListener(tabListener);
 
+                    // Track the root of the dev mode process tree so that it can be terminated if dev mode does not exit.
+                    ProcessHandle process = getProcessHandle();
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, "Terminal process for project " + projectName + ": "
+                                + ((process != null) ? process.pid() : "unknown"));
+                    }
+
                     // Update the state.
                     setState(State.STARTED);
 
+                    if (process != null) {
+                        OrphanedServerDetector.getInstance().recordLaunchedProcesses(Collections.singletonList(process));
+                        startDescendantTracking(process);
+                    }
+
                     // Save the project name in the project tab item object. This is needed to be
                     // able to reliably identify this project tab item during cleanup.
                     projectTab.setData(StartTab.PROJECT_NAME, projectName);
@@ -272,12 +421,12 @@ public class ProjectTab {
      * @return The tab's title text.
      */
     public String getTitle() {
-        String title = null;
+        String[] title = new String[1];
         if (projectTab != null) {
-            title = projectTab.getText();
+            Utils.runOnUIThread(() -> title[0] = projectTab.getText());
         }
 
-        return title;
+        return title[0];
     }
 
     /**
@@ -302,13 +451,19 @@ public class ProjectTab {
      * Performs cleanup.
      */
     public void cleanup() {
-        // Remove the registered listener from the calling service.
-        terminalService.removeTerminalTabListener(tabListener);
-
-        // Dispose of the liberty image associated with this tab.
-        if (libertyImage != null) {
-            libertyImage.dispose();
+        if (descendantTrackingJob != null) {
+            descendantTrackingJob.cancel();
         }
+
+        Utils.runOnUIThread(() -> {
+            // Remove the registered listener from the calling service.
+            terminalService.removeTerminalTabListener(tabListener);
+
+            // Dispose of the liberty image associated with this tab.
+            if (libertyImage != null) {
+                libertyImage.dispose();
+            }
+        });
     }
 
     /**
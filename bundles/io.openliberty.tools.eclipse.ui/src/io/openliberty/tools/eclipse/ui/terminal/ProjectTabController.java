@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2022, 2023 IBM Corporation and others.
+* Copyright (c) 2022, 2024 IBM Corporation and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -14,11 +14,10 @@ package io.openliberty.tools.eclipse.ui.terminal;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 import org.eclipse.swt.custom.CTabFolder;
 import org.eclipse.swt.custom.CTabFolder2Listener;
@@ -32,7 +31,7 @@ import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 
-import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.debug.DebugPortAllocator;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.ui.terminal.ProjectTab.State;
 import io.openliberty.tools.eclipse.utils.Utils;
@@ -89,9 +88,12 @@ public class ProjectTabController {
      * @param envs The environment properties to be set on the terminal.
      */
     public void runOnTerminal(String projectName, String projectPath, String command, List<String> envs) {
-        ProjectTab projectTab = new ProjectTab(projectName);
-        projectTabMap.put(projectName, projectTab);
-        projectTab.runCommand(projectPath, command, envs);
+        // The terminal is opened on the UI thread.
+        Utils.runOnUIThread(() -> {
+            ProjectTab projectTab = new ProjectTab(projectName);
+            projectTabMap.put(projectName, projectTab);
+            projectTab.runCommand(projectPath, command, envs);
+        });
     }
 
     /**
@@ -251,18 +253,27 @@ public class ProjectTabController {
     }
 
     /**
-     * Exits Liberty dev mode running on all active terminal tabs in the view.
+     * Exits Liberty dev mode running on all active terminal tabs in the view. The exit command is sent to all tabs at once, and
+     * the process trees of the sessions that do not exit within {@link ShutdownCoordinator#SHUTDOWN_TIMEOUT_SECONDS} are
+     * terminated in the background.
      */
     public void processTerminalViewCleanup() {
-        for (Map.Entry<String, ProjectTab> entry : projectTabMap.entrySet()) {
-            String projectName = entry.getKey();
-            ProjectTab projectTab = entry.getValue();
-            exitDevModeOnTerminalTab(projectName, projectTab);
-        }
+        processTerminalViewCleanup(ShutdownCoordinator.SHUTDOWN_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * Exits Liberty dev mode running on all active terminal tabs in the view. The exit command is sent to all tabs at once, and
+     * the process trees of the sessions that do not exit within the input timeout are terminated in the background.
+     * 
+     * @param timeoutSeconds The time allowed for all sessions to exit.
+     */
+    public void processTerminalViewCleanup(long timeoutSeconds) {
+        ShutdownCoordinator.getInstance().shutdown(new HashMap<String, ProjectTab>(projectTabMap), timeoutSeconds);
     }
 
     /**
-     * Exits dev mode processing running on a terminal tab.
+     * Exits dev mode processing running on a terminal tab. If dev mode does not exit within
+     * {@link ShutdownCoordinator#SHUTDOWN_TIMEOUT_SECONDS}, its process tree is terminated in the background.
      * 
      * @param projectName The name of the project associated with the dev mode process.
      * @param projectTab The project tab object representing the terminal tab where dev mode is running.
@@ -273,23 +284,13 @@ public class ProjectTabController {
         }
 
         if (projectTab != null) {
-            try {
-                // Run the exit command on the terminal. This will trigger dev mode cleanup processing.
-                projectTab.writeToStream(DevModeOperations.DEVMODE_COMMAND_EXIT.getBytes(), true);
-
-                // Wait for the command issued to take effect. This also handles some cases where
-                // the terminal tab/view is terminated while dev mode is starting, but the command
-                // is not processed until dev mode finishes starting. On Mac or Linux, a
-                // runtime shutdown hook mechanism will make sure that dev mode cleanup is processed in
-                // "all" cases.
-                // Note that this is a best effort approach workaround for Windows where the runtime
-                // shutdown hooks are not called.
-                TimeUnit.MILLISECONDS.sleep(100);
-            } catch (Exception e) {
-                if (Trace.isEnabled()) {
-                    Trace.getTracer().trace(Trace.TRACE_UI, "Failed to exit dev mode associated with project " + projectName, e);
-                }
-            }
+            // Run the exit command on the terminal. This will trigger dev mode cleanup processing. The coordinator waits briefly
+            // for the command to be written. This also handles some cases where the terminal tab/view is terminated while dev mode
+            // is starting, but the command is not processed until dev mode finishes starting. On Mac or Linux, a runtime shutdown
+            // hook mechanism will make sure that dev mode cleanup is processed in "all" cases. On Windows, where the runtime
+            // shutdown hooks are not called, the process tree is terminated if dev mode does not exit in time.
+            ShutdownCoordinator.getInstance().shutdown(Collections.singletonMap(projectName, projectTab),
+                    ShutdownCoordinator.SHUTDOWN_TIMEOUT_SECONDS);
         }
 
         if (Trace.isEnabled()) {
@@ -334,6 +335,9 @@ public class ProjectTabController {
         }
         projectTerminalListenerMap.remove(projectName);
 
+        // The session ended. Its debug port can be leased to other sessions.
+        DebugPortAllocator.getInstance().release(projectName);
+
         if (Trace.isEnabled()) {
             Trace.getTracer().traceExit(Trace.TRACE_UI,
                     Utils.objectsToString(projectName, projectTabMap.size(), projectTerminalListenerMap.size()));
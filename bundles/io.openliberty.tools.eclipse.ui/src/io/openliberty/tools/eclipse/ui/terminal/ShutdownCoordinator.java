@@ -0,0 +1,232 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.terminal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.osgi.util.NLS;
+
+import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.logging.Logger;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.messages.Messages;
+import io.openliberty.tools.eclipse.utils.ProcessTreeTerminator;
+import io.openliberty.tools.eclipse.utils.ProcessTreeTerminator.TerminationReport;
+
+/**
+ * Coordinates the shutdown of dev mode sessions running on terminal tabs. The exit command is sent to all sessions at once, and
+ * all sessions are then awaited together against a single deadline. The process trees of sessions that did not exit by the
+ * deadline are terminated.
+ */
+public class ShutdownCoordinator {
+
+    /** The time allowed for all sessions being shut down together to exit before their process trees are terminated. */
+    public static final long SHUTDOWN_TIMEOUT_SECONDS = 20;
+
+    /** The time allowed for the sessions still running when the workbench exits to exit before their process trees are terminated. */
+    public static final long EXIT_SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    /** The maximum time the workbench exit waits for the sessions to shut down, including the termination of their processes. */
+    public static final long MAX_EXIT_SECONDS = EXIT_SHUTDOWN_TIMEOUT_SECONDS
+            + TimeUnit.MILLISECONDS.toSeconds(ProcessTreeTerminator.GRACEFUL_TERMINATION_TIMEOUT_MS) + 2;
+
+    /** The time allowed for the exit command to be written to the terminals before control is returned to the caller. */
+    private static final long EXIT_COMMAND_WRITE_TIMEOUT_MS = 100;
+
+    /** Single instance of this class. */
+    private static ShutdownCoordinator instance;
+
+    /** Shutdowns in progress, mapped to the process trees they monitor keyed by project name. */
+    private final Map<CompletableFuture<Void>, Map<String, List<ProcessHandle>>> inFlightShutdowns = new ConcurrentHashMap<>();
+
+    /** Names of the projects whose sessions are being shut down. */
+    private final Set<String> projectsShuttingDown = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     */
+    private ShutdownCoordinator() {
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static synchronized ShutdownCoordinator getInstance() {
+        if (instance == null) {
+            instance = new ShutdownCoordinator();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Sends the exit command to the dev mode sessions running on the input terminal tabs and monitors their process trees. This
+     * method returns once the exit command was written to all terminals (or briefly after, if a write is slow). The returned future
+     * completes when all processes exited, or when the deadline passed and the remaining processes were terminated.
+     *
+     * @param sessions The terminal tabs keyed by project name.
+     * @param timeoutSeconds The time allowed for all sessions to exit.
+     *
+     * @return A future that completes when the shutdown of all input sessions is complete.
+     */
+    public CompletableFuture<Void> shutdown(Map<String, ProjectTab> sessions, long timeoutSeconds) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_UI, new Object[] { sessions.keySet(), timeoutSeconds });
+        }
+
+        List<CompletableFuture<Void>> exitCommandWrites = new ArrayList<CompletableFuture<Void>>();
+        Map<String, List<ProcessHandle>> processTrees = new HashMap<String, List<ProcessHandle>>();
+
+        for (Map.Entry<String, ProjectTab> entry : sessions.entrySet()) {
+            String projectName = entry.getKey();
+            ProjectTab projectTab = entry.getValue();
+            if (projectTab == null || !projectsShuttingDown.add(projectName)) {
+                continue;
+            }
+
+            // Take a snapshot of the process tree before the exit command is sent. Once the root process exits, its descendants
+            // can no longer be found through it. The snapshot includes the descendants recorded while dev mode ran.
+            processTrees.put(projectName, projectTab.getProcessTree());
+
+            exitCommandWrites.add(CompletableFuture.runAsync(() -> {
+                try {
+                    projectTab.writeToStream(DevModeOperations.DEVMODE_COMMAND_EXIT.getBytes(), true);
+                } catch (Exception e) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, "Failed to exit dev mode associated with project " + projectName, e);
+                    }
+                }
+            }));
+        }
+
+        // Give the exit command a chance to reach the terminals before the caller proceeds. This is needed when the terminals are
+        // about to be disposed.
+        try {
+            CompletableFuture.allOf(exitCommandWrites.toArray(new CompletableFuture[exitCommandWrites.size()]))
+                    .get(EXIT_COMMAND_WRITE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "The exit command was not written to all terminals within "
+                        + EXIT_COMMAND_WRITE_TIMEOUT_MS + " ms. Projects: " + processTrees.keySet());
+            }
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "Error while writing the exit command. Projects: " + processTrees.keySet(), e);
+            }
+        }
+
+        CompletableFuture<Void> shutdown = terminateOnTimeout(processTrees, timeoutSeconds);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_UI, processTrees);
+        }
+
+        return shutdown;
+    }
+
+    /**
+     * Waits for the input process trees, whose dev mode sessions were already asked to exit, to end. The processes that are still
+     * alive when the timeout expires are terminated. Callers must have added the input projects to the projects being shut down.
+     *
+     * @param processTrees The process trees keyed by project name, as returned by
+     *            {@link ProcessTreeTerminator#getProcessTree(ProcessHandle)}.
+     * @param timeoutSeconds The time allowed for all processes to end.
+     *
+     * @return A future that completes when all processes ended, or when the remaining processes were terminated.
+     */
+    private CompletableFuture<Void> terminateOnTimeout(Map<String, List<ProcessHandle>> processTrees, long timeoutSeconds) {
+        CompletableFuture<?>[] processExits = processTrees.values().stream().flatMap(List::stream).map(ProcessHandle::onExit)
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture<Void> shutdown = CompletableFuture.allOf(processExits).orTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .handleAsync((result, throwable) -> {
+                    if (throwable != null) {
+                        for (Map.Entry<String, List<ProcessHandle>> entry : processTrees.entrySet()) {
+                            terminateProcessTree(entry.getKey(), entry.getValue(), timeoutSeconds);
+                        }
+                    }
+                    projectsShuttingDown.removeAll(processTrees.keySet());
+                    return null;
+                });
+
+        inFlightShutdowns.put(shutdown, processTrees);
+        shutdown.whenComplete((result, throwable) -> inFlightShutdowns.remove(shutdown));
+
+        return shutdown;
+    }
+
+    /**
+     * Returns a future that completes when all shutdowns in progress are complete.
+     *
+     * @return A future that completes when all shutdowns in progress are complete.
+     */
+    public CompletableFuture<Void> getShutdowns() {
+        List<CompletableFuture<Void>> shutdowns = new ArrayList<CompletableFuture<Void>>(inFlightShutdowns.keySet());
+        return CompletableFuture.allOf(shutdowns.toArray(new CompletableFuture[shutdowns.size()]));
+    }
+
+    /**
+     * Shortens the deadline of the shutdowns in progress to the input timeout. The process trees of the sessions that did not
+     * exit by the new deadline are terminated. This is needed when the workbench exits, so that sessions already being shut down
+     * with a longer deadline do not outlive the workbench.
+     *
+     * @param timeoutSeconds The time allowed for the sessions being shut down to exit.
+     */
+    public void shortenShutdowns(long timeoutSeconds) {
+        List<Map<String, List<ProcessHandle>>> processTreeGroups = new ArrayList<Map<String, List<ProcessHandle>>>(
+                inFlightShutdowns.values());
+        for (Map<String, List<ProcessHandle>> processTrees : processTreeGroups) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "Shortening the shutdown deadline of projects " + processTrees.keySet() + " to "
+                        + timeoutSeconds + " seconds.");
+            }
+
+            terminateOnTimeout(processTrees, timeoutSeconds);
+        }
+    }
+
+    /**
+     * Terminates the processes of the input tree that are still alive and reports the resources reclaimed.
+     *
+     * @param projectName The name of the project associated with the process tree.
+     * @param processTree The process tree.
+     * @param timeoutSeconds The timeout that expired.
+     */
+    private void terminateProcessTree(String projectName, List<ProcessHandle> processTree, long timeoutSeconds) {
+        if (processTree.stream().noneMatch(ProcessHandle::isAlive)) {
+            return;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_UI, "The dev mode session for project " + projectName + " did not exit within "
+                    + timeoutSeconds + " seconds. Terminating processes: " + processTree);
+        }
+
+        TerminationReport report = ProcessTreeTerminator.terminate(processTree, ProcessTreeTerminator.GRACEFUL_TERMINATION_TIMEOUT_MS);
+        if (report.getProcessCount() > 0) {
+            String memory = (report.getResidentMemoryKb() >= 0) ? Long.toString(report.getResidentMemoryKb() / 1024)
+                    : Messages.process_tree_memory_unknown;
+            Logger.logInfo(NLS.bind(Messages.process_tree_terminated, new Object[] { report.getProcessCount(), projectName, memory }));
+        }
+    }
+}
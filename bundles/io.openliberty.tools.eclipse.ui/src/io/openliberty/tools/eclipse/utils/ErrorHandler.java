@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2022, 2023 IBM Corporation and others.
+* Copyright (c) 2022, 2024 IBM Corporation and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -52,10 +52,12 @@ public class ErrorHandler {
         Logger.logError(message, throwable);
 
         if (displayDialog) {
-            Shell shell = Display.getCurrent().getActiveShell();
-            String reason = appendSuffix(throwable.getMessage(), SUFFIX_MSG);
-            Status status = new Status(IStatus.ERROR, LibertyDevPlugin.PLUGIN_ID, reason);
-            ErrorDialog.openError(shell, TITLE, message, status);
+            Utils.runOnUIThread(() -> {
+                Shell shell = Display.getCurrent().getActiveShell();
+                String reason = appendSuffix(throwable.getMessage(), SUFFIX_MSG);
+                Status status = new Status(IStatus.ERROR, LibertyDevPlugin.PLUGIN_ID, reason);
+                ErrorDialog.openError(shell, TITLE, message, status);
+            });
         }
     }
 
@@ -78,10 +80,12 @@ public class ErrorHandler {
         Logger.logError(message);
 
         if (displayDialog) {
-            Shell shell = Display.getCurrent().getActiveShell();
-            String updatedMessage = appendSuffix(message, SUFFIX_MSG);
-            MessageDialog dialog = new MessageDialog(shell, TITLE, null, updatedMessage, MessageDialog.ERROR, new String[] { "OK" }, 0);
-            dialog.open();
+            Utils.runOnUIThread(() -> {
+                Shell shell = Display.getCurrent().getActiveShell();
+                String updatedMessage = appendSuffix(message, SUFFIX_MSG);
+                MessageDialog dialog = new MessageDialog(shell, TITLE, null, updatedMessage, MessageDialog.ERROR, new String[] { "OK" }, 0);
+                dialog.open();
+            });
         }
     }
 
@@ -95,9 +99,11 @@ public class ErrorHandler {
     public static void rawErrorMessageDialog(String message) {
         Logger.logError(message);
 
-        Shell shell = Display.getCurrent().getActiveShell();
-        MessageDialog dialog = new MessageDialog(shell, TITLE, null, message, MessageDialog.ERROR, new String[] { "OK" }, 0);
-        dialog.open();
+        Utils.runOnUIThread(() -> {
+            Shell shell = Display.getCurrent().getActiveShell();
+            MessageDialog dialog = new MessageDialog(shell, TITLE, null, message, MessageDialog.ERROR, new String[] { "OK" }, 0);
+            dialog.open();
+        });
     }
 
     /**
@@ -111,16 +117,18 @@ public class ErrorHandler {
      * @return The index number representing the button that the user selected.
      */
     public static Integer processWarningMessage(String message, boolean displayDialog, String[] buttonLabels, int defaultButton) {
-        Integer response = null;
+        Integer[] response = new Integer[1];
         Logger.logError(message);
 
         if (displayDialog) {
-            Shell shell = Display.getCurrent().getActiveShell();
-            MessageDialog dialog = new MessageDialog(shell, TITLE, null, message, MessageDialog.WARNING, buttonLabels, defaultButton);
-            response = Integer.valueOf(dialog.open());
+            Utils.runOnUIThread(() -> {
+                Shell shell = Display.getCurrent().getActiveShell();
+                MessageDialog dialog = new MessageDialog(shell, TITLE, null, message, MessageDialog.WARNING, buttonLabels, defaultButton);
+                response[0] = Integer.valueOf(dialog.open());
+            });
         }
 
-        return response;
+        return response[0];
 
     }
 
@@ -146,10 +154,12 @@ public class ErrorHandler {
         Logger.logWarning(message, throwable);
 
         if (displayDialog) {
-            Shell shell = Display.getCurrent().getActiveShell();
-            String reason = appendSuffix(throwable.getMessage(), SUFFIX_MSG);
-            Status status = new Status(IStatus.WARNING, LibertyDevPlugin.PLUGIN_ID, reason);
-            ErrorDialog.openError(shell, TITLE, message, status);
+            Utils.runOnUIThread(() -> {
+                Shell shell = Display.getCurrent().getActiveShell();
+                String reason = appendSuffix(throwable.getMessage(), SUFFIX_MSG);
+                Status status = new Status(IStatus.WARNING, LibertyDevPlugin.PLUGIN_ID, reason);
+                ErrorDialog.openError(shell, TITLE, message, status);
+            });
         }
     }
 
@@ -172,10 +182,12 @@ public class ErrorHandler {
         Logger.logWarning(message);
 
         if (displayDialog) {
-            Shell shell = Display.getCurrent().getActiveShell();
-            String updatedMessage = appendSuffix(message, SUFFIX_MSG);
-            MessageDialog dialog = new MessageDialog(shell, TITLE, null, updatedMessage, MessageDialog.WARNING, new String[] { "OK" }, 0);
-            dialog.open();
+            Utils.runOnUIThread(() -> {
+                Shell shell = Display.getCurrent().getActiveShell();
+                String updatedMessage = appendSuffix(message, SUFFIX_MSG);
+                MessageDialog dialog = new MessageDialog(shell, TITLE, null, updatedMessage, MessageDialog.WARNING, new String[] { "OK" }, 0);
+                dialog.open();
+            });
         }
     }
 
@@ -189,10 +201,12 @@ public class ErrorHandler {
         Logger.logWarning(message);
 
         if (displayDialog) {
-            Shell shell = Display.getCurrent().getActiveShell();
-            LibertyToolsMessageDialog ltdialog = new LibertyToolsMessageDialog(shell, TITLE, null, message, MessageDialog.ERROR,
-                    new String[] { "OK" }, 0);
-            ltdialog.open();
+            Utils.runOnUIThread(() -> {
+                Shell shell = Display.getCurrent().getActiveShell();
+                LibertyToolsMessageDialog ltdialog = new LibertyToolsMessageDialog(shell, TITLE, null, message, MessageDialog.ERROR,
+                        new String[] { "OK" }, 0);
+                ltdialog.open();
+            });
         }
     }
 
@@ -0,0 +1,144 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size latency histogram. Recorded values are placed in buckets whose upper bounds grow geometrically, so the memory
+ * footprint does not depend on the number of samples recorded, and percentile values are accurate to within the width of the
+ * bucket in which they fall (roughly 20%).
+ */
+public class LatencyHistogram {
+
+    /** Upper bound (inclusive) of the first bucket in milliseconds. */
+    private static final long FIRST_BUCKET_UPPER_BOUND_MS = 10;
+
+    /** Growth factor between the upper bounds of consecutive buckets. */
+    private static final double BUCKET_GROWTH_FACTOR = 1.2;
+
+    /** Number of buckets. The last bucket holds all values greater than the bound of the bucket before it. */
+    private static final int BUCKET_COUNT = 64;
+
+    /** Bucket upper bounds in milliseconds. */
+    private static final long[] BUCKET_UPPER_BOUNDS = new long[BUCKET_COUNT];
+
+    static {
+        double bound = FIRST_BUCKET_UPPER_BOUND_MS;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            BUCKET_UPPER_BOUNDS[i] = Math.round(bound);
+            bound *= BUCKET_GROWTH_FACTOR;
+        }
+        BUCKET_UPPER_BOUNDS[BUCKET_COUNT - 1] = Long.MAX_VALUE;
+    }
+
+    /** Sample counts per bucket. */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /** Total number of samples recorded. */
+    private final AtomicLong count = new AtomicLong();
+
+    /** Largest value recorded. */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency value.
+     *
+     * @param latencyMillis The latency in milliseconds. Negative values are recorded as zero.
+     */
+    public void record(long latencyMillis) {
+        long value = Math.max(0, latencyMillis);
+        buckets.incrementAndGet(getBucketIndex(value));
+        count.incrementAndGet();
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of samples recorded.
+     *
+     * @return The number of samples recorded.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return The largest value recorded in milliseconds, or zero if no values were recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the approximate value below which the specified percentage of the recorded samples fall. The value returned is the
+     * upper bound of the bucket containing the requested percentile, capped by the largest value recorded.
+     *
+     * @param percentile The percentile to compute (0 < percentile <= 100).
+     *
+     * @return The approximate percentile value in milliseconds, or zero if no values were recorded.
+     */
+    public long getPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil((percentile / 100.0) * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(BUCKET_UPPER_BOUNDS[i], max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    /**
+     * Discards all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Returns the index of the bucket that holds the input value.
+     *
+     * @param value The value to place.
+     *
+     * @return The index of the bucket that holds the input value.
+     */
+    private static int getBucketIndex(long value) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (value <= BUCKET_UPPER_BOUNDS[i]) {
+                return i;
+            }
+        }
+
+        return BUCKET_COUNT - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "count: " + getCount() + ". p50: " + getPercentile(50) + ". p95: " + getPercentile(95) + ". p99: " + getPercentile(99)
+                + ". max: " + getMax();
+    }
+}
@@ -0,0 +1,292 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Runs external processes (i.e. build tool invocations) asynchronously. The combined standard output and error of the process is
+ * drained concurrently with its execution into a bounded ring buffer, so a process producing large amounts of output never blocks
+ * on a full pipe, and only the most recent output is retained.
+ */
+public class ProcessRunner {
+
+    /** Default number of output bytes retained. */
+    public static final int DEFAULT_OUTPUT_CAPACITY = 64 * 1024;
+
+    /** Size of the buffer used to read process output. */
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+    /** The process builder. */
+    private final ProcessBuilder processBuilder;
+
+    /** The number of output bytes retained. */
+    private final int outputCapacity;
+
+    /**
+     * Constructor.
+     *
+     * @param command The command and its arguments. Each entry is passed to the process as a single argument.
+     * @param workingDir The working directory of the process.
+     * @param env Environment variables to set on the process in addition to the ones inherited. It may be null.
+     * @param outputCapacity The number of output bytes retained.
+     */
+    public ProcessRunner(List<String> command, File workingDir, Map<String, String> env, int outputCapacity) {
+        this.processBuilder = new ProcessBuilder(command);
+        this.processBuilder.directory(workingDir);
+        this.processBuilder.redirectErrorStream(true);
+        if (env != null) {
+            this.processBuilder.environment().putAll(env);
+        }
+        this.outputCapacity = outputCapacity;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param command The command and its arguments. Each entry is passed to the process as a single argument.
+     * @param workingDir The working directory of the process.
+     * @param env Environment variables to set on the process in addition to the ones inherited. It may be null.
+     */
+    public ProcessRunner(List<String> command, File workingDir, Map<String, String> env) {
+        this(command, workingDir, env, DEFAULT_OUTPUT_CAPACITY);
+    }
+
+    /**
+     * Starts the process.
+     *
+     * @return The execution representing the started process.
+     *
+     * @throws IOException If the process could not be started.
+     */
+    public Execution start() throws IOException {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_UTILS, new Object[] { processBuilder.command(), processBuilder.directory() });
+        }
+
+        Process process = processBuilder.start();
+        Execution execution = new Execution(process, outputCapacity);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_UTILS, process);
+        }
+
+        return execution;
+    }
+
+    /**
+     * A started process.
+     */
+    public static class Execution {
+
+        /** The process. */
+        private final Process process;
+
+        /** Retains the most recent output of the process. */
+        private final OutputRingBuffer output;
+
+        /** Completes when the process output was fully drained. */
+        private final CompletableFuture<Void> drained = new CompletableFuture<Void>();
+
+        /** Completes when the process exited and its output was fully drained. */
+        private final CompletableFuture<Result> completion;
+
+        /**
+         * Constructor.
+         *
+         * @param process The started process.
+         * @param outputCapacity The number of output bytes retained.
+         */
+        private Execution(Process process, int outputCapacity) {
+            this.process = process;
+            this.output = new OutputRingBuffer(outputCapacity);
+
+            Thread drainer = new Thread(this::drainOutput, "Liberty Tools process output drainer: " + process.pid());
+            drainer.setDaemon(true);
+            drainer.start();
+
+            this.completion = process.onExit().thenCombine(drained, (p, v) -> new Result(p.exitValue(), output.toString(),
+                    output.getTotalBytes() > output.getCapacity()));
+        }
+
+        /**
+         * Reads the process output until the end of the stream is reached.
+         */
+        private void drainOutput() {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            try (InputStream in = process.getInputStream()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                // The stream is closed when the process is destroyed.
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_UTILS, "Process output stream closed. Process: " + process, e);
+                }
+            } finally {
+                drained.complete(null);
+            }
+        }
+
+        /**
+         * Returns the future that completes when the process exited and its output was fully drained.
+         *
+         * @return The future that completes when the process exited and its output was fully drained.
+         */
+        public CompletableFuture<Result> getCompletion() {
+            return completion;
+        }
+
+        /**
+         * Returns the process.
+         *
+         * @return The process.
+         */
+        public Process getProcess() {
+            return process;
+        }
+
+        /**
+         * Returns the most recent output produced so far.
+         *
+         * @return The most recent output produced so far.
+         */
+        public String getOutput() {
+            return output.toString();
+        }
+
+        /**
+         * Terminates the process and its descendants.
+         */
+        public void destroy() {
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+        }
+    }
+
+    /**
+     * The outcome of a completed process.
+     */
+    public static class Result {
+
+        /** The process exit value. */
+        private final int exitValue;
+
+        /** The most recent output of the process. */
+        private final String output;
+
+        /** Indicates whether or not older output was discarded. */
+        private final boolean outputTruncated;
+
+        private Result(int exitValue, String output, boolean outputTruncated) {
+            this.exitValue = exitValue;
+            this.output = output;
+            this.outputTruncated = outputTruncated;
+        }
+
+        /**
+         * Returns the process exit value.
+         *
+         * @return The process exit value.
+         */
+        public int getExitValue() {
+            return exitValue;
+        }
+
+        /**
+         * Returns the most recent output of the process.
+         *
+         * @return The most recent output of the process.
+         */
+        public String getOutput() {
+            return output;
+        }
+
+        /**
+         * Returns true if older output was discarded because the output exceeded the retained capacity. False, otherwise.
+         *
+         * @return True if older output was discarded. False, otherwise.
+         */
+        public boolean isOutputTruncated() {
+            return outputTruncated;
+        }
+
+        @Override
+        public String toString() {
+            return "exitValue: " + exitValue + ". outputTruncated: " + outputTruncated;
+        }
+    }
+
+    /**
+     * Fixed capacity byte buffer that overwrites the oldest content when full.
+     */
+    private static class OutputRingBuffer {
+
+        /** Buffer content. */
+        private final byte[] buffer;
+
+        /** Position at which the next byte is written. */
+        private int next;
+
+        /** Total number of bytes written. */
+        private long totalBytes;
+
+        OutputRingBuffer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        synchronized void write(byte[] bytes, int offset, int length) {
+            // Only the trailing bytes that fit are kept.
+            if (length > buffer.length) {
+                offset += length - buffer.length;
+                totalBytes += length - buffer.length;
+                length = buffer.length;
+            }
+
+            int firstChunk = Math.min(length, buffer.length - next);
+            System.arraycopy(bytes, offset, buffer, next, firstChunk);
+            System.arraycopy(bytes, offset + firstChunk, buffer, 0, length - firstChunk);
+            next = (next + length) % buffer.length;
+            totalBytes += length;
+        }
+
+        int getCapacity() {
+            return buffer.length;
+        }
+
+        synchronized long getTotalBytes() {
+            return totalBytes;
+        }
+
+        @Override
+        public synchronized String toString() {
+            if (totalBytes < buffer.length) {
+                return new String(buffer, 0, next, Charset.defaultCharset());
+            }
+
+            byte[] ordered = new byte[buffer.length];
+            System.arraycopy(buffer, next, ordered, 0, buffer.length - next);
+            System.arraycopy(buffer, 0, ordered, buffer.length - next, next);
+            return new String(ordered, Charset.defaultCharset());
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*******************************************************************************
+* Copyright (c) 2024 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Terminates process trees. Graceful termination is requested first, and the processes that are still alive after the graceful
+ * termination timeout are forcibly terminated.
+ */
+public class ProcessTreeTerminator {
+
+    /** The time allowed for processes to end after graceful termination was requested. */
+    public static final long GRACEFUL_TERMINATION_TIMEOUT_MS = 5000;
+
+    /** The time allowed for processes to end after forcible termination was requested. */
+    private static final long FORCIBLE_TERMINATION_TIMEOUT_MS = 2000;
+
+    /** Linux process status file entry reporting the resident set size. */
+    private static final String PROC_STATUS_RSS_ENTRY = "VmRSS:";
+
+    /**
+     * Returns the input process and its descendants, with descendants listed first. The descendants of a process can no longer be
+     * found through it once it exits, so callers needing to terminate the tree after the root process may have ended should take
+     * this snapshot in advance.
+     *
+     * @param root The root process handle.
+     *
+     * @return The input process and its descendants, or an empty list if the input process is null.
+     */
+    public static List<ProcessHandle> getProcessTree(ProcessHandle root) {
+        List<ProcessHandle> tree = new ArrayList<ProcessHandle>();
+        if (root != null) {
+            root.descendants().forEach(tree::add);
+            tree.add(root);
+        }
+
+        return tree;
+    }
+
+    /**
+     * Terminates the processes in the input list that are still alive.
+     *
+     * @param processes The processes to terminate, as returned by {@link #getProcessTree(ProcessHandle)}.
+     * @param gracefulTimeoutMs The time allowed for processes to end after graceful termination was requested.
+     *
+     * @return A report of the processes terminated.
+     */
+    public static TerminationReport terminate(List<ProcessHandle> processes, long gracefulTimeoutMs) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_UTILS, new Object[] { processes, gracefulTimeoutMs });
+        }
+
+        List<ProcessHandle> alive = processes.stream().filter(ProcessHandle::isAlive).collect(Collectors.toList());
+
+        // Measure the memory in use before the processes go away.
+        Map<ProcessHandle, Long> residentMemory = new HashMap<ProcessHandle, Long>();
+        for (ProcessHandle process : alive) {
+            residentMemory.put(process, getResidentMemoryKb(process));
+        }
+
+        for (ProcessHandle process : alive) {
+            boolean requested = process.supportsNormalTermination() ? process.destroy() : process.destroyForcibly();
+            if (!requested && Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UTILS, "Termination request was not accepted by process " + process.pid());
+            }
+        }
+        awaitExit(alive, gracefulTimeoutMs);
+
+        List<ProcessHandle> remaining = alive.stream().filter(ProcessHandle::isAlive).collect(Collectors.toList());
+        if (!remaining.isEmpty()) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UTILS,
+                        "Processes did not end within " + gracefulTimeoutMs + " ms. Terminating them forcibly: " + remaining);
+            }
+            remaining.forEach(ProcessHandle::destroyForcibly);
+            awaitExit(remaining, FORCIBLE_TERMINATION_TIMEOUT_MS);
+        }
+
+        int processCount = 0;
+        long residentMemoryKb = 0;
+        boolean residentMemoryKnown = false;
+        for (ProcessHandle process : alive) {
+            if (!process.isAlive()) {
+                processCount++;
+                long rss = residentMemory.get(process);
+                if (rss >= 0) {
+                    residentMemoryKb += rss;
+                    residentMemoryKnown = true;
+                }
+            }
+        }
+
+        TerminationReport report = new TerminationReport(processCount, residentMemoryKnown ? residentMemoryKb : -1);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_UTILS, report);
+        }
+
+        return report;
+    }
+
+    /**
+     * Returns the resident memory of the input process. This information is only available on platforms exposing the
+     * /proc/&lt;pid&gt;/status file (i.e. Linux).
+     *
+     * @param process The process.
+     *
+     * @return The resident memory of the input process in kilobytes, or -1 if it could not be determined.
+     */
+    public static long getResidentMemoryKb(ProcessHandle process) {
+        Path statusPath = Paths.get("/proc", Long.toString(process.pid()), "status");
+        if (!Files.isReadable(statusPath)) {
+            return -1;
+        }
+
+        try {
+            for (String line : Files.readAllLines(statusPath)) {
+                if (line.startsWith(PROC_STATUS_RSS_ENTRY)) {
+                    // Format: "VmRSS:	  123456 kB"
+                    String value = line.substring(PROC_STATUS_RSS_ENTRY.length()).trim().split("\\s+")[0];
+                    return Long.parseLong(value);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UTILS, "Unable to read the resident memory of process " + process.pid(), e);
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Waits for the input processes to end.
+     *
+     * @param processes The processes.
+     * @param timeoutMs The maximum time to wait.
+     */
+    private static void awaitExit(List<ProcessHandle> processes, long timeoutMs) {
+        CompletableFuture<?>[] exits = processes.stream().map(ProcessHandle::onExit).toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(exits).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Timed out. The caller checks which processes are still alive.
+        }
+    }
+
+    /**
+     * The outcome of a process tree termination.
+     */
+    public static class TerminationReport {
+
+        /** The number of processes terminated. */
+        private final int processCount;
+
+        /** The resident memory reclaimed in kilobytes, or -1 if unknown. */
+        private final long residentMemoryKb;
+
+        TerminationReport(int processCount, long residentMemoryKb) {
+            this.processCount = processCount;
+            this.residentMemoryKb = residentMemoryKb;
+        }
+
+        /**
+         * Returns the number of processes terminated.
+         *
+         * @return The number of processes terminated.
+         */
+        public int getProcessCount() {
+            return processCount;
+        }
+
+        /**
+         * Returns the resident memory reclaimed.
+         *
+         * @return The resident memory reclaimed in kilobytes, or -1 if it could not be determined on this platform.
+         */
+        public long getResidentMemoryKb() {
+            return residentMemoryKb;
+        }
+
+        @Override
+        public String toString() {
+            return "processCount: " + processCount + ". residentMemoryKb: " + residentMemoryKb;
+        }
+    }
+}
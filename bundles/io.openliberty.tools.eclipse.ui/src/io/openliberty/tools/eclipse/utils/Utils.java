@@ -16,6 +16,9 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -24,6 +27,7 @@ import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.ISelectionService;
@@ -42,6 +46,9 @@ import io.openliberty.tools.eclipse.logging.Trace;
  */
 public class Utils {
 
+    /** Interval at which UI events are processed while the UI thread waits for work to complete. */
+    private static final long UI_EVENT_POLL_INTERVAL_MS = 20;
+
     /**
      * Returns true if the underlying OS is windows. False, otherwise.
      *
@@ -273,4 +280,69 @@ public class Utils {
 
         return cause;
     }
+
+    /**
+     * Runs the input runnable on the UI thread and waits for it to complete. If the caller is running on the UI thread, the runnable
+     * is run right away.
+     * 
+     * @param runnable The runnable to run.
+     */
+    public static void runOnUIThread(Runnable runnable) {
+        if (Display.getCurrent() != null) {
+            runnable.run();
+            return;
+        }
+
+        // The display is gone once the workbench has shut down. There is no UI left to update.
+        Display display = PlatformUI.isWorkbenchRunning() ? PlatformUI.getWorkbench().getDisplay() : null;
+        if (display == null || display.isDisposed()) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UTILS, "The workbench display is not available. UI work skipped: " + runnable);
+            }
+            return;
+        }
+
+        display.syncExec(runnable);
+    }
+
+    /**
+     * Waits for the input future to complete. If the caller is running on the UI thread, UI events are processed while waiting, so
+     * that work waiting on the UI thread (i.e. {@link #runOnUIThread(Runnable)}) can complete.
+     * 
+     * @param future The future to wait for.
+     * @param timeout The maximum time to wait.
+     * @param unit The time unit of the timeout argument.
+     * 
+     * @return True if the future completed. False, otherwise.
+     */
+    public static boolean await(CompletableFuture<?> future, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        Display display = Display.getCurrent();
+
+        try {
+            if (display == null || display.isDisposed()) {
+                future.get(timeout, unit);
+                return true;
+            }
+
+            while (!future.isDone() && System.nanoTime() < deadline) {
+                if (!display.readAndDispatch()) {
+                    try {
+                        future.get(UI_EVENT_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                    } catch (TimeoutException e) {
+                        // Process UI events again.
+                    }
+                }
+            }
+            return future.isDone();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UTILS, "The wait ended before the work completed.", e);
+            }
+        }
+
+        return future.isDone();
+    }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2022, 2023 IBM Corporation and others.
+* Copyright (c) 2022, 2024 IBM Corporation and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -63,6 +63,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.launching.JavaRuntime;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.TreeItem;
@@ -79,6 +80,7 @@ import org.junit.jupiter.api.Test;
 
 import io.openliberty.tools.eclipse.CommandBuilder;
 import io.openliberty.tools.eclipse.CommandBuilder.CommandNotFoundException;
+import io.openliberty.tools.eclipse.debug.DebugModeHandler;
 import io.openliberty.tools.eclipse.test.it.utils.DisabledOnMac;
 import io.openliberty.tools.eclipse.test.it.utils.LibertyPluginTestUtils;
 import io.openliberty.tools.eclipse.test.it.utils.SWTBotPluginOperations;
@@ -462,6 +464,48 @@ public class LibertyPluginSWTBotMavenTest extends AbstractLibertyPluginSWTBotTes
         LibertyPluginTestUtils.validateLibertyServerStopped(projectPath.toAbsolutePath().toString() + "/target/liberty");
     }
 
+    /**
+     * Tests that the Liberty step filters are in effect on the debug target attached by the debug action, after JDT applied the
+     * step filters of the workspace to it.
+     */
+    @Test
+    public void testDashboardDebugActionStepFilters() throws Exception {
+        // Start dev mode.
+        launchDashboardAction(MVN_APP_NAME, DashboardView.APP_MENU_ACTION_DEBUG);
+        goGlobal("Terminal");
+
+        try {
+            // Validate application is up and running.
+            LibertyPluginTestUtils.validateApplicationOutcome(MVN_APP_NAME, true,
+                    projectPath.toAbsolutePath().toString() + "/target/liberty");
+
+            // If there are issues with the workspace, close the error dialog.
+            pressWorkspaceErrorDialogProceedButton(bot);
+
+            IJavaDebugTarget debugTarget = LibertyPluginTestUtils.waitForJavaDebugTarget(120);
+            Assertions.assertNotNull(debugTarget, "The debugger was not attached to the server JVM.");
+
+            // The filters are added once the creation event of the target was dispatched. Allow for the dispatch to complete.
+            List<String> stepFilters = null;
+            for (int i = 0; i < 10; i++) {
+                stepFilters = Arrays.asList(debugTarget.getStepFilters());
+                if (stepFilters.containsAll(Arrays.asList(DebugModeHandler.LIBERTY_STEP_FILTERS))) {
+                    break;
+                }
+                Thread.sleep(1000);
+            }
+
+            Assertions.assertTrue(stepFilters.containsAll(Arrays.asList(DebugModeHandler.LIBERTY_STEP_FILTERS)),
+                    "The Liberty step filters are not in effect on debug target " + debugTarget + ". Step filters: " + stepFilters);
+        } finally {
+            // Stop dev mode.
+            launchDashboardAction(MVN_APP_NAME, DashboardView.APP_MENU_ACTION_STOP);
+
+            // Validate application stopped.
+            LibertyPluginTestUtils.validateLibertyServerStopped(projectPath.toAbsolutePath().toString() + "/target/liberty");
+        }
+    }
+
     /**
      * Tests the start with parameters menu action on a dashboard listed application.
      */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022, 2023 IBM Corporation and others.
+ * Copyright (c) 2022, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -35,6 +35,9 @@ import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.model.IDebugTarget;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PlatformUI;
@@ -429,6 +432,32 @@ public class LibertyPluginTestUtils {
         return iProject;
     }
 
+    /**
+     * Waits for a Java debug target attached to a running JVM to be registered with the launch manager.
+     * 
+     * @param timeoutSeconds The maximum time to wait.
+     * 
+     * @return The Java debug target, or null if none was registered within the input time.
+     */
+    public static IJavaDebugTarget waitForJavaDebugTarget(int timeoutSeconds) {
+        for (int i = 0; i < timeoutSeconds; i++) {
+            for (IDebugTarget debugTarget : DebugPlugin.getDefault().getLaunchManager().getDebugTargets()) {
+                if (debugTarget instanceof IJavaDebugTarget && !debugTarget.isTerminated()) {
+                    return (IJavaDebugTarget) debugTarget;
+                }
+            }
+
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Returns the Java installation configured on the project's build path (.classpath file).
      * 
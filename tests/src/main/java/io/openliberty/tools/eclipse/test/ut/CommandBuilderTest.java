@@ -15,15 +15,30 @@ package io.openliberty.tools.eclipse.test.ut;
 
 import static io.openliberty.tools.eclipse.test.it.utils.SWTBotPluginOperations.unsetBuildCmdPathInPreferences;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.swtbot.eclipse.finder.SWTWorkbenchBot;
 import org.junit.jupiter.api.Test;
 
 import io.openliberty.tools.eclipse.CommandBuilder;
+import io.openliberty.tools.eclipse.CommandResolutionCache;
 
 public class CommandBuilderTest {
 
@@ -59,6 +74,136 @@ public class CommandBuilderTest {
 		assertEquals(mvnPath.toAbsolutePath().resolve(mvnName()) + " -a 123", retVal, "Wrong cmd line");
 	}
 
+	/**
+	 * Tests that a resolved command is cached for the same project, build type, preference values and PATH, and resolved again
+	 * when any of them differs or the cached command no longer exists
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	public void testCmdResolutionCacheHitAndMiss() throws Exception {
+		CommandResolutionCache cache = new CommandResolutionCache();
+		Path cmd = Files.createTempFile("mvn", null);
+		AtomicInteger resolutions = new AtomicInteger();
+		Supplier<String> resolver = () -> {
+			resolutions.incrementAndGet();
+			return cmd.toString();
+		};
+		List<String> prefs = Arrays.asList("/opt/maven", "");
+
+		try {
+			assertEquals(cmd.toString(), cache.getCommand("/p1", true, prefs, "/bin", resolver), "Wrong command");
+			assertEquals(cmd.toString(), cache.getCommand("/p1", true, prefs, "/bin", resolver), "Wrong command");
+			assertEquals(1, resolutions.get(), "The second resolution was not a cache hit");
+
+			cache.getCommand("/p2", true, prefs, "/bin", resolver);
+			assertEquals(2, resolutions.get(), "A different project path was a cache hit");
+			cache.getCommand("/p1", false, prefs, "/bin", resolver);
+			assertEquals(3, resolutions.get(), "A different build type was a cache hit");
+			cache.getCommand("/p1", true, Arrays.asList("/opt/maven2", ""), "/bin", resolver);
+			assertEquals(4, resolutions.get(), "Different preference values were a cache hit");
+			cache.getCommand("/p1", true, prefs, "/usr/bin:/bin", resolver);
+			assertEquals(5, resolutions.get(), "A different PATH was a cache hit");
+
+			cache.getCommand("/p1", true, prefs, "/bin", resolver);
+			assertEquals(5, resolutions.get(), "The cached command was resolved again");
+		} finally {
+			Files.delete(cmd);
+		}
+
+		cache.getCommand("/p1", true, prefs, "/bin", resolver);
+		assertEquals(6, resolutions.get(), "A cached command that no longer exists was returned");
+	}
+
+	/**
+	 * Tests that the resolved commands are dropped when a build command preference changes or a wrapper file is added or removed,
+	 * and kept on other changes
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	public void testCmdResolutionCacheInvalidation() throws Exception {
+		CommandResolutionCache cache = new CommandResolutionCache();
+		Path cmd = Files.createTempFile("mvn", null);
+		AtomicInteger resolutions = new AtomicInteger();
+		Supplier<String> resolver = () -> {
+			resolutions.incrementAndGet();
+			return cmd.toString();
+		};
+		List<String> prefs = Arrays.asList("", "");
+
+		try {
+			cache.getCommand("/p1", true, prefs, "/bin", resolver);
+
+			cache.propertyChange(new PropertyChangeEvent(this, "UNRELATED_PREFERENCE", "a", "b"));
+			cache.resourceChanged(fileDelta("pom.xml", IResourceDelta.ADDED));
+			cache.resourceChanged(fileDelta("mvnw", IResourceDelta.CHANGED));
+			cache.getCommand("/p1", true, prefs, "/bin", resolver);
+			assertEquals(1, resolutions.get(), "An unrelated change dropped the cached command");
+
+			cache.propertyChange(new PropertyChangeEvent(this, CommandBuilder.MVN_PATH_PREFERENCE, "", "/opt/maven"));
+			cache.getCommand("/p1", true, prefs, "/bin", resolver);
+			assertEquals(2, resolutions.get(), "A Maven preference change did not drop the cached command");
+
+			cache.propertyChange(new PropertyChangeEvent(this, CommandBuilder.GRADLE_PATH_PREFERENCE, "", "/opt/gradle"));
+			cache.getCommand("/p1", true, prefs, "/bin", resolver);
+			assertEquals(3, resolutions.get(), "A Gradle preference change did not drop the cached command");
+
+			cache.resourceChanged(fileDelta("mvnw", IResourceDelta.ADDED));
+			cache.getCommand("/p1", true, prefs, "/bin", resolver);
+			assertEquals(4, resolutions.get(), "An added wrapper did not drop the cached command");
+
+			cache.resourceChanged(fileDelta("gradlew", IResourceDelta.REMOVED));
+			cache.getCommand("/p1", true, prefs, "/bin", resolver);
+			assertEquals(5, resolutions.get(), "A removed wrapper did not drop the cached command");
+		} finally {
+			Files.delete(cmd);
+		}
+	}
+
+	/**
+	 * Tests that start parameters are split into the arguments the shell passes to the build command, keeping quoted arguments
+	 * with spaces whole
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	public void testCmdBuilderArgumentTokens() throws Exception {
+		String parms = "-DdebugPort=7777  -Dmsg=\"a b  c\" \"-Dpath=/x y/z\" -o";
+		List<String> tokens = CommandBuilder.getArgumentTokens(parms);
+		assertEquals(Arrays.asList("-DdebugPort=7777", "-Dmsg=\"a b  c\"", "\"-Dpath=/x y/z\"", "-o"), tokens, "Wrong tokens");
+		assertEquals("-Dmsg=a b  c", CommandBuilder.getArgumentValue(tokens.get(1)), "Wrong argument value");
+		assertEquals("-Dpath=/x y/z", CommandBuilder.getArgumentValue(tokens.get(2)), "Wrong argument value");
+		assertEquals(0, CommandBuilder.getArgumentTokens("  ").size(), "Wrong tokens");
+	}
+
+	/**
+	 * Returns a workspace change event whose delta holds a single file.
+	 * 
+	 * @param fileName The file name.
+	 * @param kind The kind of change to the file.
+	 * 
+	 * @return A workspace change event whose delta holds a single file.
+	 * 
+	 * @throws Exception
+	 */
+	private IResourceChangeEvent fileDelta(String fileName, int kind) throws Exception {
+		IResource file = mock(IResource.class);
+		when(file.getType()).thenReturn(IResource.FILE);
+		when(file.getName()).thenReturn(fileName);
+		IResourceDelta fileDelta = mock(IResourceDelta.class);
+		when(fileDelta.getResource()).thenReturn(file);
+		when(fileDelta.getKind()).thenReturn(kind);
+
+		IResourceDelta rootDelta = mock(IResourceDelta.class);
+		doAnswer(invocation -> ((IResourceDeltaVisitor) invocation.getArgument(0)).visit(fileDelta)).when(rootDelta)
+				.accept(any(IResourceDeltaVisitor.class));
+		IResourceChangeEvent event = mock(IResourceChangeEvent.class);
+		when(event.getDelta()).thenReturn(rootDelta);
+
+		return event;
+	}
+
 	/**
 	 * @return 	A platform-dependent path very unlikely to be used, with an empty element
 	 */
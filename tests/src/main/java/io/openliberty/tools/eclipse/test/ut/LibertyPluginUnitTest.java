@@ -21,13 +21,22 @@ import static org.mockito.Mockito.when;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchConfigurationType;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -36,10 +45,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 
+import io.openliberty.tools.eclipse.DependencyPrefetcher;
+import io.openliberty.tools.eclipse.MavenReactorGraph;
+import io.openliberty.tools.eclipse.MavenReactorGraph.Module;
+import io.openliberty.tools.eclipse.Project.BuildType;
+import io.openliberty.tools.eclipse.ServerDirectoryIndex;
+import io.openliberty.tools.eclipse.ServerDirectoryIndex.ServerEntry;
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher;
 import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher.RuntimeEnv;
 import io.openliberty.tools.eclipse.debug.DebugModeHandler;
-import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationHelper;
+import io.openliberty.tools.eclipse.debug.DebugPortAllocator;
+import io.openliberty.tools.eclipse.ui.launch.GradleLaunchOptions;
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationIndex;
 import io.openliberty.tools.eclipse.ui.launch.StartTab;
+import io.openliberty.tools.eclipse.utils.LatencyHistogram;
 
 /**
  * Unit tests.
@@ -94,27 +113,238 @@ public class LibertyPluginUnitTest {
     @Test
     public void testReadingDebugPortFromServerEnv() throws Exception {
 
-        DebugModeHandler debugModeHelper = new DebugModeHandler(null);
         try {
             // Test1 . No debug port entry.
             File serverEnv1 = createFile("server.env1", "");
-            String port = debugModeHelper.readDebugPortFromServerEnv(serverEnv1);
+            String port = DebugModeHandler.readDebugPortFromServerEnv(serverEnv1);
             Assertions.assertTrue(port == null, "The resulting list should have returned null as there is debug port entry in file.");
 
             // Test2 . Single port entry.
             File serverEnv2 = createFile("server.env2", "WLP_DEBUG_ADDRESS=1111");
-            String port2 = debugModeHelper.readDebugPortFromServerEnv(serverEnv2);
+            String port2 = DebugModeHandler.readDebugPortFromServerEnv(serverEnv2);
             Assertions.assertTrue(port2.equals("1111"), "The resulting list should have returned port 1111. Instead it returned: " + port2);
 
             // Test1 . Multiple port entries.
             File serverEnv3 = createFile("server.env3", "WLP_DEBUG_ADDRESS=1111", "WLP_DEBUG_ADDRESS=2222", "WLP_DEBUG_ADDRESS=3333");
-            String port3 = debugModeHelper.readDebugPortFromServerEnv(serverEnv3);
+            String port3 = DebugModeHandler.readDebugPortFromServerEnv(serverEnv3);
             Assertions.assertTrue(port3.equals("3333"), "The resulting list should have returned port 3333. Instead it returned: " + port3);
         } finally {
 
         }
     }
 
+    /**
+     * Tests that the server directory index finds the servers and their debug port, and that queries see server.env updates and
+     * new servers right away, before the watch service reports them.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testServerDirectoryIndex() throws Exception {
+        Path serversPath = Files.createTempDirectory("servers");
+        ServerDirectoryIndex index = new ServerDirectoryIndex();
+        try {
+            Path serverPath = Files.createDirectories(serversPath.resolve("defaultServer"));
+            Files.createDirectories(serversPath.resolve(".pid"));
+            Path serverEnvPath = serverPath.resolve("server.env");
+            Files.write(serverEnvPath, Arrays.asList("WLP_DEBUG_ADDRESS=1111"));
+
+            Collection<ServerEntry> servers = index.getServers(serversPath);
+            Assertions.assertEquals(1, servers.size(), "Unexpected servers: " + servers);
+            Assertions.assertEquals("defaultServer", servers.iterator().next().getServerName(), "Unexpected server name.");
+            Assertions.assertEquals("1111", servers.iterator().next().getDebugPort(), "Unexpected debug port.");
+
+            // The modification times are moved forward explicitly so that the updates are detected on file systems with a coarse
+            // time resolution.
+            long lastModified = servers.iterator().next().getServerEnvLastModified();
+            Files.write(serverEnvPath, Arrays.asList("WLP_DEBUG_ADDRESS=1111", "WLP_DEBUG_ADDRESS=2222"));
+            Files.setLastModifiedTime(serverEnvPath, FileTime.fromMillis(lastModified + 2000));
+            ServerEntry server = index.getServers(serversPath).iterator().next();
+            Assertions.assertEquals("2222", server.getDebugPort(), "The server.env update was not read.");
+            Assertions.assertEquals(lastModified + 2000, server.getServerEnvLastModified(), "Unexpected server.env time.");
+
+            long serversLastModified = serversPath.toFile().lastModified();
+            Files.createDirectories(serversPath.resolve("otherServer"));
+            Files.setLastModifiedTime(serversPath, FileTime.fromMillis(serversLastModified + 2000));
+            Set<String> serverNames = new HashSet<String>();
+            index.getServers(serversPath).forEach(entry -> serverNames.add(entry.getServerName()));
+            Assertions.assertEquals(keys("defaultServer", "otherServer"), serverNames, "The new server was not found.");
+        } finally {
+            index.close();
+            try (Stream<Path> paths = Files.walk(serversPath)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Tests that the latency histogram reports percentiles within the resolution of its buckets.
+     */
+    @Test
+    public void testLatencyHistogramPercentiles() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.getPercentile(50), "An empty histogram should report zero.");
+
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        Assertions.assertEquals(1000, histogram.getCount(), "Unexpected sample count.");
+        Assertions.assertEquals(1000, histogram.getMax(), "Unexpected max value.");
+
+        long p50 = histogram.getPercentile(50);
+        long p95 = histogram.getPercentile(95);
+        long p99 = histogram.getPercentile(99);
+        Assertions.assertTrue(p50 >= 500 && p50 <= 600, "Unexpected p50 value: " + p50);
+        Assertions.assertTrue(p95 >= 950 && p95 <= 1000, "Unexpected p95 value: " + p95);
+        Assertions.assertTrue(p99 >= 990 && p99 <= 1000, "Unexpected p99 value: " + p99);
+
+        histogram.reset();
+        Assertions.assertEquals(0, histogram.getCount(), "The histogram should be empty after reset.");
+    }
+
+    /**
+     * Tests that debug ports are leased to a single project at a time, and that released ports are not handed out again right away.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testDebugPortAllocatorLeases() throws Exception {
+        DebugPortAllocator allocator = new DebugPortAllocator(28400, 3);
+
+        int port1 = allocator.lease("project1");
+        int port2 = allocator.lease("project2");
+        Assertions.assertNotEquals(port1, port2, "The same port was leased to two projects.");
+        Assertions.assertEquals(port1, allocator.getLeasedPort("project1"), "Unexpected port leased to project1.");
+
+        allocator.release("project1");
+        Assertions.assertNull(allocator.getLeasedPort("project1"), "The port leased to project1 was not released.");
+
+        int port3 = allocator.lease("project3");
+        Assertions.assertNotEquals(port1, port3, "A released port was handed out again before the rest of the range.");
+        Assertions.assertNotEquals(port2, port3, "The same port was leased to two projects.");
+
+        allocator.lease("project1", port1);
+        Assertions.assertThrows(Exception.class, () -> allocator.lease("project4"), "A port was leased from an exhausted range.");
+    }
+
+    /**
+     * Tests that the Liberty step filters are added after the workspace step filters without duplicates.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMergeStepFilters() throws Exception {
+        String[] workspaceFilters = new String[] { "java.lang.ClassLoader", "com.ibm.ws.*" };
+        String[] merged = DebugModeHandler.mergeStepFilters(workspaceFilters, DebugModeHandler.LIBERTY_STEP_FILTERS);
+
+        Assertions.assertEquals("java.lang.ClassLoader", merged[0], "The workspace step filters were not kept first.");
+        Assertions.assertEquals(DebugModeHandler.LIBERTY_STEP_FILTERS.length + 1, merged.length, "Unexpected number of step filters.");
+        Assertions.assertTrue(Arrays.asList(merged).containsAll(Arrays.asList(DebugModeHandler.LIBERTY_STEP_FILTERS)),
+                "Liberty step filters are missing.");
+
+        Assertions.assertArrayEquals(DebugModeHandler.LIBERTY_STEP_FILTERS,
+                DebugModeHandler.mergeStepFilters(null, DebugModeHandler.LIBERTY_STEP_FILTERS), "Unexpected step filters.");
+    }
+
+    /**
+     * Tests that the Gradle version is read from the wrapper properties of a build, that Gradle options are only added to the
+     * start parameters when that version supports them, and that the configuration cache is run with its problems reported as
+     * warnings.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGradleLaunchOptions() throws Exception {
+        Path buildPath = Files.createTempDirectory("gradleBuild");
+        try {
+            Path subprojectPath = Files.createDirectories(buildPath.resolve("server"));
+            Assertions.assertNull(GradleLaunchOptions.getWrapperVersion(subprojectPath.toString()), "No wrapper should be found.");
+
+            Path wrapperPath = Files.createDirectories(buildPath.resolve("gradle").resolve("wrapper"));
+            Files.write(wrapperPath.resolve("gradle-wrapper.properties"),
+                    Arrays.asList("distributionUrl=https\\://services.gradle.org/distributions/gradle-3.5.1-bin.zip"));
+            int[] version = GradleLaunchOptions.getWrapperVersion(subprojectPath.toString());
+            Assertions.assertArrayEquals(new int[] { 3, 5 }, version, "Unexpected Gradle version.");
+
+            ILaunchConfiguration config = mock(ILaunchConfiguration.class);
+            when(config.getAttribute(anyString(), anyBoolean())).thenReturn(true);
+            Assertions.assertEquals("-DhotTests=true --build-cache",
+                    GradleLaunchOptions.addStartParms(config, subprojectPath.toString(), "-DhotTests=true"),
+                    "Parallel execution is not supported by Gradle 3.5.");
+
+            Files.write(wrapperPath.resolve("gradle-wrapper.properties"),
+                    Arrays.asList("distributionUrl=https\\://services.gradle.org/distributions/gradle-8.5-all.zip"));
+            Assertions.assertEquals("--build-cache --parallel", GradleLaunchOptions.addStartParms(config, subprojectPath.toString(), ""),
+                    "Unexpected start parameters.");
+            Assertions.assertEquals("--parallel --build-cache",
+                    GradleLaunchOptions.addStartParms(config, subprojectPath.toString(), "--parallel"),
+                    "An option already in the start parameters should not be repeated.");
+        } finally {
+            try (Stream<Path> paths = Files.walk(buildPath)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Tests that the start parameters of a nested server module point to the aggregator at the top of the reactor, and that the
+     * thread count follows the width of the modules the server module depends on.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMavenReactorGraphStartParameters() throws Exception {
+        Path rootPath = Paths.get("reactor").toAbsolutePath();
+        List<Module> modules = Arrays.asList(
+                new Module(rootPath, "g:root", Arrays.asList("lib1", "lib2", "apps", "other/pom.xml"), keys()),
+                new Module(rootPath.resolve("apps"), "g:apps", Arrays.asList("server"), keys("g:root")),
+                new Module(rootPath.resolve("lib1"), "g:lib1", Collections.emptyList(), keys("g:root")),
+                new Module(rootPath.resolve("lib2"), "g:lib2", Collections.emptyList(), keys("g:root", "g:lib1")),
+                new Module(rootPath.resolve("other"), "g:other", Collections.emptyList(), keys("g:root")),
+                new Module(rootPath.resolve("apps").resolve("server"), "g:server", Collections.emptyList(),
+                        keys("g:apps", "g:lib1", "g:lib2", "org.external:lib")));
+        MavenReactorGraph.Graph graph = new MavenReactorGraph.Graph(modules);
+
+        Assertions.assertEquals("-f ../../pom.xml -am -pl apps/server -T 2",
+                graph.getStartParameters(rootPath.resolve("apps").resolve("server"), 8), "Unexpected nested module parameters.");
+        Assertions.assertEquals("-f ../../pom.xml -am -pl apps/server",
+                graph.getStartParameters(rootPath.resolve("apps").resolve("server"), 1), "Unexpected single core parameters.");
+        Assertions.assertEquals("-f ../pom.xml -am -pl other", graph.getStartParameters(rootPath.resolve("other"), 8),
+                "Unexpected module parameters.");
+        Assertions.assertNull(graph.getStartParameters(rootPath, 8), "The top aggregator is not a module of a reactor.");
+    }
+
+    /**
+     * Returns a set with the input keys.
+     *
+     * @param keys The keys.
+     *
+     * @return A set with the input keys.
+     */
+    private Set<String> keys(String... keys) {
+        return new HashSet<String>(Arrays.asList(keys));
+    }
+
+    /**
+     * Tests that the artifacts reported by a dependency prefetch are counted: downloaded artifacts for Maven, and distinct resolved
+     * files for Gradle.
+     */
+    @Test
+    public void testDependencyPrefetchArtifactCount() throws Exception {
+        String mavenOutput = String.join("\n", "[INFO] Downloading from central: https://repo/a/a-1.0.pom",
+                "[INFO] Downloaded from central: https://repo/a/a-1.0.pom (2 kB at 3 kB/s)",
+                "[INFO] Downloaded from central: https://repo/a/a-1.0.jar (20 kB at 30 kB/s)", "[INFO] BUILD SUCCESS");
+        Assertions.assertEquals(2, DependencyPrefetcher.countArtifacts(BuildType.MAVEN, mavenOutput), "Unexpected Maven count.");
+
+        String prefix = DependencyPrefetcher.GRADLE_PREFETCHED_FILE_PREFIX;
+        String gradleOutput = String.join("\n", "> Task :" + DependencyPrefetcher.GRADLE_PREFETCH_TASK,
+                prefix + "/cache/jakarta.jakartaee-api-10.0.0.jar", prefix + "/cache/jakarta.servlet-api-6.0.0.jar\r",
+                prefix + "/cache/microprofile-6.0.pom", prefix + "/cache/jakarta.jakartaee-api-10.0.0.jar", "",
+                "BUILD SUCCESSFUL in 1s");
+        Assertions.assertEquals(3, DependencyPrefetcher.countArtifacts(BuildType.GRADLE, gradleOutput), "Unexpected Gradle count.");
+    }
+
     /**
      * Tests that run configurations are filtered correctly based on the project, run environment.
      * 
@@ -122,12 +352,10 @@ public class LibertyPluginUnitTest {
      */
     @Test
     public void testConfigFiltering() throws Exception {
-        LaunchConfigurationHelper launchConfigHelper = LaunchConfigurationHelper.getInstance();
-        List<ILaunchConfiguration> rawCfgList = getDefaultConfigurationList();
+        LaunchConfigurationIndex index = getDefaultConfigurationIndex();
 
         // Test 1. Normal run.
-        List<ILaunchConfiguration> filteredListDev = launchConfigHelper
-                .filterLaunchConfigurations(rawCfgList.toArray(new ILaunchConfiguration[rawCfgList.size()]), "project1", RuntimeEnv.LOCAL);
+        List<ILaunchConfiguration> filteredListDev = index.getConfigurations("project1", RuntimeEnv.LOCAL);
         Assertions.assertTrue(filteredListDev.size() == 3,
                 "The resulting list should have contained 3 entries. List size: " + filteredListDev.size());
         Assertions.assertTrue(filteredListDev.get(0).getAttribute(StartTab.PROJECT_RUN_IN_CONTAINER, true) == false,
@@ -138,8 +366,7 @@ public class LibertyPluginUnitTest {
                 "The run in container value associated with config entry[2] was not false.");
 
         // test 2. Container run.
-        List<ILaunchConfiguration> filteredListDevc = launchConfigHelper.filterLaunchConfigurations(
-                rawCfgList.toArray(new ILaunchConfiguration[rawCfgList.size()]), "project1", RuntimeEnv.CONTAINER);
+        List<ILaunchConfiguration> filteredListDevc = index.getConfigurations("project1", RuntimeEnv.CONTAINER);
         Assertions.assertTrue(filteredListDevc.size() == 3,
                 "The resulting list should have contained 3 entries. Found: " + filteredListDevc.size() + ". List: " + filteredListDevc);
         Assertions.assertTrue(filteredListDevc.get(0).getAttribute(StartTab.PROJECT_RUN_IN_CONTAINER, false) == true,
@@ -157,15 +384,13 @@ public class LibertyPluginUnitTest {
      */
     @Test
     public void testRetrieveLastRunConfig() throws Exception {
-        LaunchConfigurationHelper launchConfigHelper = LaunchConfigurationHelper.getInstance();
-        List<ILaunchConfiguration> rawCfgList = getDefaultConfigurationList();
-        List<ILaunchConfiguration> filteredListDev = launchConfigHelper
-                .filterLaunchConfigurations(rawCfgList.toArray(new ILaunchConfiguration[rawCfgList.size()]), "project1", RuntimeEnv.LOCAL);
+        LaunchConfigurationIndex index = getDefaultConfigurationIndex();
+        List<ILaunchConfiguration> filteredListDev = index.getConfigurations("project1", RuntimeEnv.LOCAL);
         Assertions.assertTrue(filteredListDev.size() == 3,
                 "The resulting list should have contained 3 entries. List size: " + filteredListDev.size());
 
         // Test 1. Normal run.
-        ILaunchConfiguration lastRunConfigDev = launchConfigHelper.getLastRunConfiguration(filteredListDev);
+        ILaunchConfiguration lastRunConfigDev = index.getLastRunConfiguration("project1", RuntimeEnv.LOCAL);
 
         String cfgNameFoundDev = lastRunConfigDev.getName();
         String expectedCfgNameDev = "test2";
@@ -178,12 +403,11 @@ public class LibertyPluginUnitTest {
                 "The configuration found does not contain the expected value of " + expectedTimeDev + ". Time found: " + timeFoundDev);
 
         // Test 2. Container run.
-        List<ILaunchConfiguration> filteredListDevc = launchConfigHelper.filterLaunchConfigurations(
-                rawCfgList.toArray(new ILaunchConfiguration[rawCfgList.size()]), "project1", RuntimeEnv.CONTAINER);
+        List<ILaunchConfiguration> filteredListDevc = index.getConfigurations("project1", RuntimeEnv.CONTAINER);
         Assertions.assertTrue(filteredListDevc.size() == 3,
                 "The resulting list should have contained 3 entries. List size: " + filteredListDevc.size());
 
-        ILaunchConfiguration lastRunConfigDevc = launchConfigHelper.getLastRunConfiguration(filteredListDevc);
+        ILaunchConfiguration lastRunConfigDevc = index.getLastRunConfiguration("project1", RuntimeEnv.CONTAINER);
 
         String cfgNameFoundDevc = lastRunConfigDevc.getName();
         String expectedCfgNameDevc = "test6";
@@ -196,12 +420,11 @@ public class LibertyPluginUnitTest {
                 "The configuration found does not contain the expected value of " + expectedTimeDevc + ". Time found: " + timeFoundDevc);
 
         // Test 3: Normal run. Configurations with equal minimum time. Configuration with max time expected.
-        List<ILaunchConfiguration> filteredListT3Dev = launchConfigHelper
-                .filterLaunchConfigurations(rawCfgList.toArray(new ILaunchConfiguration[rawCfgList.size()]), "project2", RuntimeEnv.LOCAL);
+        List<ILaunchConfiguration> filteredListT3Dev = index.getConfigurations("project2", RuntimeEnv.LOCAL);
         Assertions.assertTrue(filteredListT3Dev.size() == 3,
                 "The resulting list should have contained 3 entries. List size: " + filteredListT3Dev.size());
 
-        ILaunchConfiguration lastRunConfigT3Dev = launchConfigHelper.getLastRunConfiguration(filteredListT3Dev);
+        ILaunchConfiguration lastRunConfigT3Dev = index.getLastRunConfiguration("project2", RuntimeEnv.LOCAL);
 
         String cfgNameFoundT3Dev = lastRunConfigT3Dev.getName();
         String expectedCfgNameT3Dev = "test11";
@@ -209,13 +432,12 @@ public class LibertyPluginUnitTest {
                 + " was not returned. Configuration returned:: " + cfgNameFoundT3Dev);
 
         // Test 4: Container run. Configurations with equal max time. One of the max times is returned.
-        // In this particular case, is the second entry after the entries are sorted.
-        List<ILaunchConfiguration> filteredListT4Devc = launchConfigHelper.filterLaunchConfigurations(
-                rawCfgList.toArray(new ILaunchConfiguration[rawCfgList.size()]), "project3", RuntimeEnv.CONTAINER);
+        // In this particular case, is the one of them that was indexed last.
+        List<ILaunchConfiguration> filteredListT4Devc = index.getConfigurations("project3", RuntimeEnv.CONTAINER);
         Assertions.assertTrue(filteredListT4Devc.size() == 3,
                 "The resulting list should have contained 3 entries. List size: " + filteredListT4Devc.size());
 
-        ILaunchConfiguration lastRunConfigT4Devc = launchConfigHelper.getLastRunConfiguration(filteredListT4Devc);
+        ILaunchConfiguration lastRunConfigT4Devc = index.getLastRunConfiguration("project3", RuntimeEnv.CONTAINER);
 
         String cfgNameFoundT4Devc = lastRunConfigT4Devc.getName();
         String expectedCfgNameT4Devc = "test16";
@@ -224,12 +446,11 @@ public class LibertyPluginUnitTest {
 
         // Test 5: This is the start... case where we do not really know the runtime environment to be used to run dev mode.
         // In this case, it is expected that the configuration that ran last irrespective of runtime environment should be returned.
-        List<ILaunchConfiguration> filteredListT5Dev = launchConfigHelper.filterLaunchConfigurations(
-                rawCfgList.toArray(new ILaunchConfiguration[rawCfgList.size()]), "project1", RuntimeEnv.UNKNOWN);
+        List<ILaunchConfiguration> filteredListT5Dev = index.getConfigurations("project1", RuntimeEnv.UNKNOWN);
         Assertions.assertTrue(filteredListT5Dev.size() == 6,
                 "The resulting list should have contained 6 entries. List size: " + filteredListT5Dev.size());
 
-        ILaunchConfiguration lastRunConfigT5Dev = launchConfigHelper.getLastRunConfiguration(filteredListT5Dev);
+        ILaunchConfiguration lastRunConfigT5Dev = index.getLastRunConfiguration("project1", RuntimeEnv.UNKNOWN);
 
         String cfgNameFoundT5Dev = lastRunConfigT5Dev.getName();
         String expectedCfgNameT5Dev = "test6";
@@ -237,6 +458,122 @@ public class LibertyPluginUnitTest {
                 + " was not returned. Configuration returned:: " + cfgNameFoundT5Dev);
     }
 
+    /**
+     * Tests that the launch configuration index is kept current as launch configurations are added, changed, removed, and renamed.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testConfigIndexEvents() throws Exception {
+        LaunchConfigurationIndex index = getDefaultConfigurationIndex();
+
+        // Test 1. Added configuration that ran last.
+        ILaunchConfiguration added = mockLaunchConfiguration(Map.of("name", "test7", StartTab.PROJECT_NAME, "project1",
+                StartTab.PROJECT_RUN_TIME, "1000000000007", StartTab.PROJECT_RUN_IN_CONTAINER, false));
+        index.launchConfigurationAdded(added);
+        Assertions.assertEquals(4, index.getConfigurations("project1", RuntimeEnv.LOCAL).size(), "Unexpected local configurations.");
+        Assertions.assertEquals("test7", index.getLastRunConfiguration("project1", RuntimeEnv.LOCAL).getName(),
+                "Unexpected local configuration that ran last.");
+        Assertions.assertEquals("test7", index.getLastRunConfiguration("project1", RuntimeEnv.UNKNOWN).getName(),
+                "Unexpected configuration that ran last.");
+
+        // Test 2. Changed configuration that moved to the other runtime environment.
+        when(added.getAttribute(eq(StartTab.PROJECT_RUN_IN_CONTAINER), anyBoolean())).thenReturn(true);
+        index.launchConfigurationChanged(added);
+        Assertions.assertEquals("test2", index.getLastRunConfiguration("project1", RuntimeEnv.LOCAL).getName(),
+                "Unexpected local configuration that ran last.");
+        Assertions.assertEquals("test7", index.getLastRunConfiguration("project1", RuntimeEnv.CONTAINER).getName(),
+                "Unexpected container configuration that ran last.");
+
+        // Test 3. Changed configuration that moved to another project.
+        when(added.getAttribute(eq(StartTab.PROJECT_NAME), anyString())).thenReturn("project4");
+        index.launchConfigurationChanged(added);
+        Assertions.assertEquals("test6", index.getLastRunConfiguration("project1", RuntimeEnv.CONTAINER).getName(),
+                "Unexpected container configuration that ran last.");
+        Assertions.assertEquals("test7", index.getLastRunConfiguration("project4", RuntimeEnv.CONTAINER).getName(),
+                "Unexpected container configuration that ran last.");
+
+        // Test 4. Removed configuration that ran last. The one that ran before it is returned.
+        index.launchConfigurationRemoved(index.getLastRunConfiguration("project1", RuntimeEnv.LOCAL));
+        Assertions.assertEquals(2, index.getConfigurations("project1", RuntimeEnv.LOCAL).size(), "Unexpected local configurations.");
+        Assertions.assertEquals("test3", index.getLastRunConfiguration("project1", RuntimeEnv.LOCAL).getName(),
+                "Unexpected local configuration that ran last.");
+
+        // Test 5. Removed last configuration of a project.
+        index.launchConfigurationRemoved(added);
+        Assertions.assertNull(index.getLastRunConfiguration("project4", RuntimeEnv.UNKNOWN), "Unexpected configuration that ran last.");
+        Assertions.assertTrue(index.getConfigurations("project4", RuntimeEnv.UNKNOWN).isEmpty(), "Unexpected configurations.");
+
+        // Test 6. Renamed configuration. The launch manager reports the configuration under its new name as added, and then the one
+        // under its old name as removed.
+        ILaunchConfiguration original = index.getLastRunConfiguration("project1", RuntimeEnv.CONTAINER);
+        ILaunchConfiguration renamed = mockLaunchConfiguration(Map.of("name", "test6-renamed", StartTab.PROJECT_NAME, "project1",
+                StartTab.PROJECT_RUN_TIME, "1000000000006", StartTab.PROJECT_RUN_IN_CONTAINER, true));
+        index.launchConfigurationAdded(renamed);
+        index.launchConfigurationRemoved(original);
+        Assertions.assertEquals(3, index.getConfigurations("project1", RuntimeEnv.CONTAINER).size(),
+                "Unexpected container configurations.");
+        Assertions.assertEquals("test6-renamed", index.getLastRunConfiguration("project1", RuntimeEnv.CONTAINER).getName(),
+                "Unexpected container configuration that ran last.");
+
+        // Test 7. Working copies are not indexed.
+        ILaunchConfiguration workingCopy = mockLaunchConfiguration(Map.of("name", "test8", StartTab.PROJECT_NAME, "project1",
+                StartTab.PROJECT_RUN_TIME, "1000000000008", StartTab.PROJECT_RUN_IN_CONTAINER, true));
+        when(workingCopy.isWorkingCopy()).thenReturn(true);
+        index.launchConfigurationAdded(workingCopy);
+        Assertions.assertEquals("test6-renamed", index.getLastRunConfiguration("project1", RuntimeEnv.CONTAINER).getName(),
+                "Unexpected container configuration that ran last.");
+    }
+
+    /**
+     * Tests that the launch configuration that ran last is found regardless of the order in which the configurations are indexed,
+     * and that the order of the configurations of a project is the order in which they were indexed.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testConfigIndexLastRunOrdering() throws Exception {
+        List<ILaunchConfiguration> configs = getDefaultConfigurationList();
+        Collections.reverse(configs);
+        LaunchConfigurationIndex index = new LaunchConfigurationIndex(configs.toArray(new ILaunchConfiguration[configs.size()]));
+
+        Assertions.assertEquals("test2", index.getLastRunConfiguration("project1", RuntimeEnv.LOCAL).getName(),
+                "Unexpected local configuration that ran last.");
+        Assertions.assertEquals("test6", index.getLastRunConfiguration("project1", RuntimeEnv.CONTAINER).getName(),
+                "Unexpected container configuration that ran last.");
+        Assertions.assertEquals("test11", index.getLastRunConfiguration("project2", RuntimeEnv.LOCAL).getName(),
+                "Unexpected local configuration that ran last.");
+        Assertions.assertEquals("test15", index.getLastRunConfiguration("project3", RuntimeEnv.CONTAINER).getName(),
+                "Unexpected container configuration that ran last.");
+        Assertions.assertNull(index.getLastRunConfiguration("project2", RuntimeEnv.CONTAINER),
+                "Unexpected container configuration that ran last.");
+
+        List<String> names = new ArrayList<String>();
+        for (ILaunchConfiguration config : index.getConfigurations("project1", RuntimeEnv.LOCAL)) {
+            names.add(config.getName());
+        }
+        Assertions.assertEquals(Arrays.asList("test3", "test2", "test1"), names, "Unexpected local configurations.");
+
+        // A configuration that ran at the same time as the one that ran last is returned once it is indexed again.
+        ILaunchConfiguration test16 = index.getConfigurations("project3", RuntimeEnv.CONTAINER).get(1);
+        Assertions.assertEquals("test16", test16.getName(), "Unexpected container configuration.");
+        index.launchConfigurationChanged(test16);
+        Assertions.assertEquals("test16", index.getLastRunConfiguration("project3", RuntimeEnv.CONTAINER).getName(),
+                "Unexpected container configuration that ran last.");
+    }
+
+    /**
+     * Returns an index of the default launch configurations.
+     * 
+     * @return An index of the default launch configurations.
+     * 
+     * @throws CoreException
+     */
+    private LaunchConfigurationIndex getDefaultConfigurationIndex() throws CoreException {
+        List<ILaunchConfiguration> configs = getDefaultConfigurationList();
+        return new LaunchConfigurationIndex(configs.toArray(new ILaunchConfiguration[configs.size()]));
+    }
+
     /**
      * Returns a list of launch configurations.
      * 
@@ -286,8 +623,13 @@ public class LibertyPluginUnitTest {
      * @throws CoreException
      */
     public static ILaunchConfiguration mockLaunchConfiguration(Map<String, Object> attributes) throws CoreException {
+        ILaunchConfigurationType type = mock(ILaunchConfigurationType.class);
+        when(type.getIdentifier()).thenReturn(LaunchConfigurationDelegateLauncher.LAUNCH_CONFIG_TYPE_ID);
+
         ILaunchConfiguration config = mock(ILaunchConfiguration.class);
         when(config.getName()).thenReturn((String) attributes.get("name"));
+        when(config.exists()).thenReturn(true);
+        when(config.getType()).thenReturn(type);
         when(config.getAttribute(eq(StartTab.PROJECT_NAME), anyString())).thenReturn(((String) attributes.get(StartTab.PROJECT_NAME)));
         when(config.getAttribute(eq(StartTab.PROJECT_RUN_TIME), anyString()))
                 .thenReturn(((String) attributes.get(StartTab.PROJECT_RUN_TIME)));